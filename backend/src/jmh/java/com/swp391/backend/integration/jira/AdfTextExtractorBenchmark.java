@@ -0,0 +1,112 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.integration.jira.dto.JiraFields;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh đọc {@code fields.description} (ADF) thành plain text:
+ * <ul>
+ * <li>{@code treeWalk}: cách cũ – Jackson dựng Map/List rồi duyệt đệ quy</li>
+ * <li>{@code streaming}: {@link AdfDescriptionDeserializer} trên token stream</li>
+ * </ul>
+ * Chạy: {@code mvn -Pjmh test-compile exec:exec -Djmh.args=AdfTextExtractorBenchmark}
+ * – profile {@code jmh} bật sẵn {@code -prof gc}, xem {@code gc.alloc.rate.norm} (byte/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdfTextExtractorBenchmark {
+
+    /** Số paragraph của description – ~20 KB JSON với 200. */
+    @Param({ "10", "200" })
+    public int paragraphs;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("{\"summary\":\"Benchmark\",\"description\":{\"type\":\"doc\",\"version\":1,\"content\":[");
+        for (int i = 0; i < paragraphs; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append("{\"type\":\"paragraph\",\"content\":[")
+                    .append("{\"type\":\"text\",\"text\":\"Paragraph ").append(i).append(" as a user I want \",")
+                    .append("\"marks\":[{\"type\":\"strong\"},{\"type\":\"link\",\"attrs\":{\"href\":\"https://example.com/")
+                    .append(i).append("\"}}]},")
+                    .append("{\"type\":\"mention\",\"attrs\":{\"id\":\"557058:").append(i).append("\",\"text\":\"@dev\"}},")
+                    .append("{\"type\":\"text\",\"text\":\" to see the sprint burndown chart.\"}]}");
+        }
+        sb.append("]}}");
+        json = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String treeWalk() throws Exception {
+        return extractPlainText(mapper.readValue(json, LegacyFields.class).description);
+    }
+
+    @Benchmark
+    public String streaming() throws Exception {
+        return mapper.readValue(json, JiraFields.class).getDescription();
+    }
+
+    // ── Cài đặt cũ (trước AdfTextExtractor), giữ lại làm mốc so sánh ─────────
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LegacyFields {
+        public String summary;
+        public Object description;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String extractPlainText(Object description) {
+        if (description == null)
+            return null;
+        if (description instanceof String s)
+            return s.isBlank() ? null : s;
+        if (description instanceof Map<?, ?> map) {
+            StringBuilder sb = new StringBuilder();
+            traverseAdf((Map<String, Object>) map, sb);
+            String result = sb.toString().trim();
+            return result.isEmpty() ? null : result;
+        }
+        return description.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void traverseAdf(Map<String, Object> node, StringBuilder sb) {
+        Object type = node.get("type");
+        Object text = node.get("text");
+
+        if ("text".equals(type) && text instanceof String textStr) {
+            sb.append(textStr);
+        }
+
+        Object content = node.get("content");
+        if (content instanceof List<?> contentList) {
+            for (Object child : contentList) {
+                if (child instanceof Map<?, ?> childMap) {
+                    traverseAdf((Map<String, Object>) childMap, sb);
+                }
+            }
+            if (type instanceof String t && switch (t) {
+                case "paragraph", "heading", "bulletList", "orderedList",
+                        "listItem", "blockquote", "codeBlock" ->
+                    true;
+                default -> false;
+            })
+                sb.append("\n");
+        }
+    }
+}
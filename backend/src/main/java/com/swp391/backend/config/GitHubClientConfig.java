@@ -0,0 +1,169 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình cho tầng gọi GitHub REST API ({@code GitHubClient}).
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code github.client}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * github.client.cache-max-bytes=67108864
+ * github.client.commit-cache-dir=/var/cache/swp391/github-commits
+ * github.client.rate-limit-reserve=50
+ * github.client.rate-limit-pace-below=1000
+ * github.client.rate-limit-max-wait-seconds=3900
+ * github.client.rate-limit-interactive-max-wait-seconds=10
+ * github.client.rate-limit-max-retries=3
+ * github.client.connect-timeout-seconds=5
+ * github.client.read-timeout-seconds=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.client")
+public class GitHubClientConfig {
+
+    // ── Conditional request cache (ETag) ──────────────────────────────────────
+
+    /**
+     * Dung lượng tối đa (byte, xấp xỉ theo số ký tự) của cache ETag + body trong RAM.
+     * Vượt ngưỡng → loại entry ít dùng nhất (LRU). 0 → tắt cache.
+     * Mặc định: 64 MB.
+     */
+    private long cacheMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Thư mục lưu vĩnh viễn chi tiết commit ({@code GET /commits/{sha}} là bất biến).
+     * Để trống → tắt cache đĩa.
+     * Mặc định: {@code ${java.io.tmpdir}/swp391-github-commits}.
+     */
+    private String commitCacheDir = System.getProperty("java.io.tmpdir") + "/swp391-github-commits";
+
+    // ── Rate-limit scheduler ──────────────────────────────────────────────────
+
+    /**
+     * Số request chừa lại trong quota của mỗi token. Khi {@code X-RateLimit-Remaining}
+     * xuống tới ngưỡng này, request mới sẽ chờ tới {@code X-RateLimit-Reset}.
+     * Mặc định: 50.
+     */
+    private int rateLimitReserve = 50;
+
+    /**
+     * Khi quota còn lại thấp hơn ngưỡng này, request được giãn đều để phần còn lại
+     * đủ dùng tới thời điểm reset thay vì dùng hết ngay rồi đứng chờ.
+     * Mặc định: 1000.
+     */
+    private int rateLimitPaceBelow = 1000;
+
+    /**
+     * Thời gian chờ tối đa (giây) cho một request của việc nền (sync theo lịch, sync
+     * {@code async=true}). Nếu phải chờ lâu hơn (VD reset quá xa) thì request thất bại
+     * với lỗi rate limit như trước.
+     * Mặc định: 3900 (65 phút — một cửa sổ quota của GitHub).
+     */
+    private long rateLimitMaxWaitSeconds = 3900;
+
+    /**
+     * Thời gian chờ tối đa (giây) khi có người đang chờ response (API của người dùng,
+     * sync đồng bộ, webhook). Phải chờ lâu hơn → 429 kèm {@code Retry-After} thay vì
+     * giữ thread.
+     * Mặc định: 10.
+     */
+    private long rateLimitInteractiveMaxWaitSeconds = 10;
+
+    /**
+     * Số lần thử lại tối đa khi GitHub trả 403/429 do rate limit.
+     * Mặc định: 3.
+     */
+    private int rateLimitMaxRetries = 3;
+
+    // ── HTTP connection ───────────────────────────────────────────────────────
+
+    /**
+     * Thời gian (giây) chờ mở kết nối TCP + TLS tới GitHub. Mặc định: 5.
+     */
+    private long connectTimeoutSeconds = 5;
+
+    /**
+     * Thời gian (giây) chờ response của một request; quá hạn → lỗi thay vì treo
+     * thread. Mặc định: 30.
+     */
+    private long readTimeoutSeconds = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public long getCacheMaxBytes() {
+        return cacheMaxBytes;
+    }
+
+    public void setCacheMaxBytes(long cacheMaxBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    public String getCommitCacheDir() {
+        return commitCacheDir;
+    }
+
+    public void setCommitCacheDir(String commitCacheDir) {
+        this.commitCacheDir = commitCacheDir;
+    }
+
+    public int getRateLimitReserve() {
+        return rateLimitReserve;
+    }
+
+    public void setRateLimitReserve(int rateLimitReserve) {
+        this.rateLimitReserve = rateLimitReserve;
+    }
+
+    public int getRateLimitPaceBelow() {
+        return rateLimitPaceBelow;
+    }
+
+    public void setRateLimitPaceBelow(int rateLimitPaceBelow) {
+        this.rateLimitPaceBelow = rateLimitPaceBelow;
+    }
+
+    public long getRateLimitMaxWaitSeconds() {
+        return rateLimitMaxWaitSeconds;
+    }
+
+    public void setRateLimitMaxWaitSeconds(long rateLimitMaxWaitSeconds) {
+        this.rateLimitMaxWaitSeconds = rateLimitMaxWaitSeconds;
+    }
+
+    public long getRateLimitInteractiveMaxWaitSeconds() {
+        return rateLimitInteractiveMaxWaitSeconds;
+    }
+
+    public void setRateLimitInteractiveMaxWaitSeconds(long rateLimitInteractiveMaxWaitSeconds) {
+        this.rateLimitInteractiveMaxWaitSeconds = rateLimitInteractiveMaxWaitSeconds;
+    }
+
+    public int getRateLimitMaxRetries() {
+        return rateLimitMaxRetries;
+    }
+
+    public void setRateLimitMaxRetries(int rateLimitMaxRetries) {
+        this.rateLimitMaxRetries = rateLimitMaxRetries;
+    }
+
+    public long getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(long connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public long getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public void setReadTimeoutSeconds(long readTimeoutSeconds) {
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+}
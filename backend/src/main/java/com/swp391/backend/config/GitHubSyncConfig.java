@@ -0,0 +1,94 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình cho luồng đồng bộ commit từ GitHub.
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code github.sync}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * github.sync.incremental-overlap-hours=48
+ * github.sync.detail-concurrency-per-token=8
+ * github.sync.write-batch-size=500
+ * github.sync.retry-budget=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "github.sync")
+public class GitHubSyncConfig {
+
+    // ── Incremental sync ──────────────────────────────────────────────────────
+
+    /**
+     * Khoảng lùi (giờ) trừ vào watermark trước khi truyền {@code since=} cho GitHub.
+     * <p>
+     * GitHub lọc {@code since} theo committer date, trong khi commit có thể được
+     * push muộn hơn thời điểm commit ở local. Khoảng lùi này giúp không bỏ sót
+     * các commit đó; commit trùng sẽ được upsert theo SHA nên không bị nhân đôi.
+     * Mặc định: 72 (3 ngày).
+     */
+    private int incrementalOverlapHours = 72;
+
+    // ── Commit detail fetch ───────────────────────────────────────────────────
+
+    /**
+     * Số request {@code GET /commits/{sha}} chạy đồng thời tối đa cho mỗi token.
+     * Mặc định: 8.
+     */
+    private int detailConcurrencyPerToken = 8;
+
+    // ── DB write ──────────────────────────────────────────────────────────────
+
+    /**
+     * Số câu lệnh gom vào một JDBC batch khi upsert GitCommit.
+     * Mặc định: 500.
+     */
+    private int writeBatchSize = 500;
+
+    // ── Retry budget ──────────────────────────────────────────────────────────
+
+    /**
+     * Tổng số lần retry (lỗi tạm thời / 5xx) cho phép trong một lượt sync, mọi
+     * request của lượt đó cộng lại. Hết budget → lỗi tiếp theo làm hỏng lượt sync
+     * thay vì tiếp tục dội request vào provider đang gặp sự cố. Mặc định: 30.
+     */
+    private int retryBudget = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public int getIncrementalOverlapHours() {
+        return incrementalOverlapHours;
+    }
+
+    public void setIncrementalOverlapHours(int incrementalOverlapHours) {
+        this.incrementalOverlapHours = incrementalOverlapHours;
+    }
+
+    public int getDetailConcurrencyPerToken() {
+        return detailConcurrencyPerToken;
+    }
+
+    public void setDetailConcurrencyPerToken(int detailConcurrencyPerToken) {
+        this.detailConcurrencyPerToken = detailConcurrencyPerToken;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    public void setRetryBudget(int retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+}
@@ -0,0 +1,70 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình cho tầng gọi Jira REST API ({@code JiraClient}).
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code jira.client}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * jira.client.metadata-cache-ttl-seconds=600
+ * jira.client.connect-timeout-seconds=5
+ * jira.client.read-timeout-seconds=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jira.client")
+public class JiraClientConfig {
+
+    // ── Metadata cache ────────────────────────────────────────────────────────
+
+    /**
+     * Thời gian (giây) giữ board/sprint/version/label của project trong RAM trước khi
+     * hỏi lại Jira. Người dùng vẫn có thể ép tải lại bằng {@code refresh=true}.
+     * 0 → tắt cache. Mặc định: 300.
+     */
+    private long metadataCacheTtlSeconds = 300;
+
+    // ── HTTP connection ───────────────────────────────────────────────────────
+
+    /**
+     * Thời gian (giây) chờ mở kết nối TCP + TLS tới Jira. Mặc định: 5.
+     */
+    private long connectTimeoutSeconds = 5;
+
+    /**
+     * Thời gian (giây) chờ response của một request; quá hạn → lỗi thay vì treo
+     * thread. Mặc định: 30.
+     */
+    private long readTimeoutSeconds = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public long getMetadataCacheTtlSeconds() {
+        return metadataCacheTtlSeconds;
+    }
+
+    public void setMetadataCacheTtlSeconds(long metadataCacheTtlSeconds) {
+        this.metadataCacheTtlSeconds = metadataCacheTtlSeconds;
+    }
+
+    public long getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(long connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public long getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public void setReadTimeoutSeconds(long readTimeoutSeconds) {
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+}
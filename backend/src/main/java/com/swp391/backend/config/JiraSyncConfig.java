@@ -0,0 +1,79 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình cho luồng đồng bộ issue từ Jira.
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code jira.sync}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * jira.sync.incremental-overlap-minutes=30
+ * jira.sync.fetch-pipeline-depth=4
+ * jira.sync.retry-budget=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jira.sync")
+public class JiraSyncConfig {
+
+    // ── Incremental sync ──────────────────────────────────────────────────────
+
+    /**
+     * Khoảng lùi (phút) trừ vào thời điểm kết thúc lần sync SUCCESS gần nhất trước
+     * khi đưa vào {@code updated >= "-Nm"}.
+     * <p>
+     * Bù cho issue được sửa trong lúc lần sync trước đang chạy và độ lệch đồng hồ
+     * giữa server với Jira. Issue trùng được upsert theo issue key nên không bị nhân đôi.
+     * Mặc định: 10.
+     */
+    private int incrementalOverlapMinutes = 10;
+
+    // ── Fetch pipeline ────────────────────────────────────────────────────────
+
+    /**
+     * Số trang issue được fetch trước (search + bulkfetch) trong lúc trang hiện tại
+     * đang được xử lý. 1 = chỉ chồng request của trang kế tiếp lên trang hiện tại;
+     * tăng lên khi kết nối tới Atlassian Cloud có độ trễ cao.
+     * Mặc định: 2.
+     */
+    private int fetchPipelineDepth = 2;
+
+    // ── Retry budget ──────────────────────────────────────────────────────────
+
+    /**
+     * Tổng số lần retry (lỗi tạm thời / 5xx / 429) cho phép trong một lượt sync, mọi
+     * request của lượt đó cộng lại. Hết budget → lỗi tiếp theo làm hỏng lượt sync
+     * thay vì tiếp tục dội request vào provider đang gặp sự cố. Mặc định: 30.
+     */
+    private int retryBudget = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public int getIncrementalOverlapMinutes() {
+        return incrementalOverlapMinutes;
+    }
+
+    public void setIncrementalOverlapMinutes(int incrementalOverlapMinutes) {
+        this.incrementalOverlapMinutes = incrementalOverlapMinutes;
+    }
+
+    public int getFetchPipelineDepth() {
+        return fetchPipelineDepth;
+    }
+
+    public void setFetchPipelineDepth(int fetchPipelineDepth) {
+        this.fetchPipelineDepth = fetchPipelineDepth;
+    }
+
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    public void setRetryBudget(int retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+}
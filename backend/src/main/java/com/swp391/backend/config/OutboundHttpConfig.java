@@ -0,0 +1,114 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình retry / circuit breaker cho RestTemplate gọi Jira và GitHub
+ * ({@code RetryInterceptor}, {@code HostCircuitBreaker}). Budget retry của mỗi lượt
+ * sync nằm ở {@code jira.sync.retry-budget} / {@code github.sync.retry-budget}.
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code outbound.http}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * outbound.http.retry-max-attempts=3
+ * outbound.http.retry-base-delay-ms=200
+ * outbound.http.retry-max-delay-ms=5000
+ * outbound.http.retry-after-max-seconds=30
+ * outbound.http.circuit-failure-threshold=5
+ * outbound.http.circuit-open-seconds=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "outbound.http")
+public class OutboundHttpConfig {
+
+    // ── Retry ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Số lần gửi tối đa cho một request (tính cả lần đầu). 1 → không retry.
+     * Mặc định: 3.
+     */
+    private int retryMaxAttempts = 3;
+
+    /**
+     * Backoff lần retry thứ n: ngẫu nhiên trong [0, min(max, base × 2^n)] ms
+     * (full jitter). Mặc định: 200 ms.
+     */
+    private long retryBaseDelayMs = 200;
+
+    /** Trần của backoff (ms). Mặc định: 5000. */
+    private long retryMaxDelayMs = 5000;
+
+    /**
+     * {@code Retry-After} của server được tôn trọng tới ngưỡng này (giây); lâu hơn
+     * thì trả lỗi ngay thay vì giữ thread. Mặc định: 30.
+     */
+    private long retryAfterMaxSeconds = 30;
+
+    // ── Circuit breaker ───────────────────────────────────────────────────────
+
+    /**
+     * Số lần lỗi liên tiếp (5xx / lỗi kết nối) của một host trước khi mở mạch.
+     * Mặc định: 5.
+     */
+    private int circuitFailureThreshold = 5;
+
+    /**
+     * Thời gian (giây) mạch mở: mọi request tới host lỗi ngay; hết hạn thì cho một
+     * request thử. Mặc định: 30.
+     */
+    private long circuitOpenSeconds = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public long getRetryBaseDelayMs() {
+        return retryBaseDelayMs;
+    }
+
+    public void setRetryBaseDelayMs(long retryBaseDelayMs) {
+        this.retryBaseDelayMs = retryBaseDelayMs;
+    }
+
+    public long getRetryMaxDelayMs() {
+        return retryMaxDelayMs;
+    }
+
+    public void setRetryMaxDelayMs(long retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+
+    public long getRetryAfterMaxSeconds() {
+        return retryAfterMaxSeconds;
+    }
+
+    public void setRetryAfterMaxSeconds(long retryAfterMaxSeconds) {
+        this.retryAfterMaxSeconds = retryAfterMaxSeconds;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public long getCircuitOpenSeconds() {
+        return circuitOpenSeconds;
+    }
+
+    public void setCircuitOpenSeconds(long circuitOpenSeconds) {
+        this.circuitOpenSeconds = circuitOpenSeconds;
+    }
+}
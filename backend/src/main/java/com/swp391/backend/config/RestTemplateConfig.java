@@ -1,14 +1,69 @@
 package com.swp391.backend.config;
 
+import com.swp391.backend.integration.http.GzipResponseInterceptor;
+import com.swp391.backend.integration.http.RetryInterceptor;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * RestTemplate gọi ra ngoài, mỗi hệ thống một bean riêng.
+ *
+ * <ul>
+ * <li><b>Transport:</b> {@link HttpClient} của JDK – giữ kết nối persistent theo
+ * host, ưu tiên HTTP/2 (multiplex nhiều request trên một kết nối TLS, tự lùi về
+ * HTTP/1.1 nếu server không hỗ trợ). Mỗi bean một {@code HttpClient} nên pool của
+ * Jira và GitHub tách nhau.</li>
+ * <li><b>Timeout</b> connect/read theo {@code jira.client.*} và
+ * {@code github.client.*}.</li>
+ * <li><b>gzip:</b> {@link GzipResponseInterceptor}.</li>
+ * <li><b>Retry + circuit breaker</b> theo host: {@link RetryInterceptor}
+ * ({@code outbound.http.*}). Jira retry cả 429; 403/429 của GitHub đã do
+ * {@code GitHubRateLimitScheduler} xử lý nên chỉ retry 5xx / lỗi kết nối.</li>
+ * <li><b>Metrics:</b> dựng qua {@link RestTemplateBuilder} của Spring Boot nên có sẵn
+ * observation {@code http.client.requests} (latency theo host/uri/status) và
+ * {@code http.client.requests.active} (số request đang chạy) trên
+ * {@code /actuator/metrics}.</li>
+ * </ul>
+ */
 @Configuration
 public class RestTemplateConfig {
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public static final String JIRA = "jiraRestTemplate";
+    public static final String GITHUB = "gitHubRestTemplate";
+
+    private static final Set<Integer> JIRA_RETRYABLE = Set.of(429, 502, 503, 504);
+    private static final Set<Integer> GITHUB_RETRYABLE = Set.of(502, 503, 504);
+
+    @Bean(JIRA)
+    public RestTemplate jiraRestTemplate(RestTemplateBuilder builder, JiraClientConfig config,
+            OutboundHttpConfig httpConfig) {
+        return build(builder, config.getConnectTimeoutSeconds(), config.getReadTimeoutSeconds(),
+                new RetryInterceptor(httpConfig, JIRA_RETRYABLE));
+    }
+
+    @Bean(GITHUB)
+    public RestTemplate gitHubRestTemplate(RestTemplateBuilder builder, GitHubClientConfig config,
+            OutboundHttpConfig httpConfig) {
+        return build(builder, config.getConnectTimeoutSeconds(), config.getReadTimeoutSeconds(),
+                new RetryInterceptor(httpConfig, GITHUB_RETRYABLE));
+    }
+
+    private static RestTemplate build(RestTemplateBuilder builder, long connectTimeoutSeconds,
+            long readTimeoutSeconds, RetryInterceptor retryInterceptor) {
+        return builder
+                .requestFactoryBuilder(ClientHttpRequestFactoryBuilder.jdk()
+                        .withHttpClientCustomizer(client -> client.version(HttpClient.Version.HTTP_2)))
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                // retry phải đứng cuối: mỗi lần thử là một request mới tới server
+                .additionalInterceptors(new GzipResponseInterceptor(), retryInterceptor)
+                .build();
     }
 }
@@ -0,0 +1,82 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lease của phiên sync RUNNING khi chạy nhiều instance backend.
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code sync.lease}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * sync.lease.node-id=backend-1
+ * sync.lease.heartbeat-seconds=15
+ * sync.lease.timeout-seconds=60
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "sync.lease")
+public class SyncLeaseConfig {
+
+    // ── Node ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Tên node ghi vào {@code SyncLog.owner_node_id}. Mặc định: hostname + pid (duy
+     * nhất kể cả khi nhiều instance chạy chung một máy).
+     */
+    private String nodeId = defaultNodeId();
+
+    // ── Heartbeat ─────────────────────────────────────────────────────────────
+
+    /**
+     * Chu kỳ (giây) node làm mới {@code heartbeat_at} của các phiên nó đang giữ.
+     * Mặc định: 15.
+     */
+    private long heartbeatSeconds = 15;
+
+    /**
+     * Phiên RUNNING không có heartbeat trong khoảng này (giây) bị coi là của node đã
+     * chết: đánh FAILED và cho phép sync mới. Nên lớn hơn vài chu kỳ heartbeat.
+     * Mặc định: 60.
+     */
+    private long timeoutSeconds = 60;
+
+    private static String defaultNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null || host.isBlank()) {
+            host = System.getenv("COMPUTERNAME");
+        }
+        if (host == null || host.isBlank()) {
+            host = "node";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public long getHeartbeatSeconds() {
+        return heartbeatSeconds;
+    }
+
+    public void setHeartbeatSeconds(long heartbeatSeconds) {
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+}
@@ -0,0 +1,116 @@
+package com.swp391.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cấu hình sync nền (GitHub + Jira) cho mọi group đã cấu hình tích hợp, và hàng đợi
+ * dùng chung với sync thủ công ({@code SyncScheduler}).
+ * <p>
+ * Có thể override qua {@code application.properties} với prefix
+ * {@code sync.scheduler}.
+ *
+ * <p><b>Ví dụ override:</b>
+ * <pre>
+ * sync.scheduler.enabled=true
+ * sync.scheduler.interval-minutes=60
+ * sync.scheduler.jitter-seconds=300
+ * sync.scheduler.workers=4
+ * sync.scheduler.queue-capacity=1000
+ * sync.scheduler.manual-wait-seconds=30
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "sync.scheduler")
+public class SyncSchedulerConfig {
+
+    // ── Lịch sync nền ─────────────────────────────────────────────────────────
+
+    /**
+     * Bật sync nền định kỳ. Tắt thì hàng đợi vẫn chạy cho sync thủ công.
+     * Mặc định: true.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Chu kỳ (phút) giữa hai lượt xếp hàng sync nền cho toàn bộ group.
+     * Mặc định: 60.
+     */
+    private long intervalMinutes = 60;
+
+    /**
+     * Mỗi job nền được xếp hàng trễ ngẫu nhiên trong [0, jitter] giây để các group
+     * không cùng gọi Jira/GitHub một lúc. Mặc định: 300.
+     */
+    private long jitterSeconds = 300;
+
+    // ── Worker pool ───────────────────────────────────────────────────────────
+
+    /**
+     * Số sync (nền + thủ công) chạy đồng thời tối đa. Mặc định: 4.
+     */
+    private int workers = 4;
+
+    /**
+     * Số job chờ tối đa trong hàng đợi; đầy thì sync nền bị bỏ qua tới chu kỳ sau và
+     * sync thủ công bị từ chối (503). Mặc định: 1000.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Sync thủ công không {@code async} giữ request chờ kết quả tối đa bấy nhiêu giây;
+     * quá hạn (VD mọi worker đang bận sync nền dài) → trả 202 kèm syncId như
+     * {@code async=true}, sync vẫn tiếp tục chạy. Mặc định: 30.
+     */
+    private long manualWaitSeconds = 30;
+
+    // ── Getters and setters ───────────────────────────────────────────────────
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIntervalMinutes() {
+        return intervalMinutes;
+    }
+
+    public void setIntervalMinutes(long intervalMinutes) {
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    public long getJitterSeconds() {
+        return jitterSeconds;
+    }
+
+    public void setJitterSeconds(long jitterSeconds) {
+        this.jitterSeconds = jitterSeconds;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getManualWaitSeconds() {
+        return manualWaitSeconds;
+    }
+
+    public void setManualWaitSeconds(long manualWaitSeconds) {
+        this.manualWaitSeconds = manualWaitSeconds;
+    }
+}
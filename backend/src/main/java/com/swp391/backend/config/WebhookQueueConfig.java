@@ -0,0 +1,32 @@
+package com.swp391.backend.config;
+
+import com.swp391.backend.integration.http.KeyedSerialQueue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hàng đợi tuần tự cho webhook, mỗi hệ thống một bean riêng.
+ *
+ * <ul>
+ * <li><b>Jira:</b> key {@code group|projectKey} – event của cùng project ghi lần lượt.</li>
+ * <li><b>GitHub:</b> key {@code group|repo} – push của cùng repo ghi lần lượt; push lỗi
+ * chỉ được log, lần sync incremental kế tiếp quét lại từ watermark nên commit bị lỡ
+ * vẫn được bù.</li>
+ * </ul>
+ */
+@Configuration
+public class WebhookQueueConfig {
+
+    public static final String JIRA = "jiraWebhookQueue";
+    public static final String GITHUB = "gitHubWebhookQueue";
+
+    @Bean(JIRA)
+    public KeyedSerialQueue jiraWebhookQueue() {
+        return new KeyedSerialQueue("jira-webhook", "[Jira Webhook]");
+    }
+
+    @Bean(GITHUB)
+    public KeyedSerialQueue gitHubWebhookQueue() {
+        return new KeyedSerialQueue("github-webhook", "[GitHub Webhook]");
+    }
+}
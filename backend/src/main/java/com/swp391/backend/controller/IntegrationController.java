@@ -4,17 +4,21 @@ import com.swp391.backend.utils.IntegrationTypeIds;
 import com.swp391.backend.dto.request.CommitSearchRequest;
 import com.swp391.backend.dto.request.GitHubConfigRequest;
 import com.swp391.backend.dto.request.JiraConfigRequest;
+import com.swp391.backend.dto.response.CommitSearchResult;
 import com.swp391.backend.dto.response.GitHubCommitResponse;
 import com.swp391.backend.dto.response.IntegrationResponse;
 import com.swp391.backend.dto.response.JiraIntegrationResponse;
 import com.swp391.backend.dto.response.JiraProjectResponse;
+import com.swp391.backend.dto.response.SyncProgressResponse;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.entity.User;
 import com.swp391.backend.mapper.IntegrationMapper;
 import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.GitHubCommitQueryService;
 import com.swp391.backend.service.GroupService;
 import com.swp391.backend.service.IntegrationService;
+import com.swp391.backend.service.sync.SyncScheduler;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +27,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -36,6 +41,8 @@ public class IntegrationController {
     private final GroupService groupService;
     private final UserRepository userRepository;
     private final com.swp391.backend.service.GitHubSyncService gitHubSyncService;
+    private final GitHubCommitQueryService commitQueryService;
+    private final SyncScheduler syncScheduler;
 
     // ── GitHub config endpoints ───────────────────────────────────────────────
 
@@ -51,6 +58,11 @@ public class IntegrationController {
                 request.getRepoFullName(),
                 request.getToken());
 
+        // Secret webhook là tuỳ chọn: chỉ cập nhật khi client gửi lên
+        if (request.getWebhookSecret() != null) {
+            config = integrationService.saveGitHubWebhookSecret(groupId, request.getWebhookSecret());
+        }
+
         return ResponseEntity.ok(integrationMapper.toResponse(config));
     }
 
@@ -73,13 +85,40 @@ public class IntegrationController {
         return ResponseEntity.ok(integrationService.testGitHubConnection(groupId));
     }
 
+    /**
+     * Sync commit GitHub → DB. Mặc định incremental (chỉ commit mới kể từ lần sync trước);
+     * {@code fullResync=true} để crawl lại toàn bộ lịch sử.
+     * Chạy qua hàng đợi sync (ưu tiên trước sync nền); 503 nếu hàng đợi đầy.
+     *
+     * <p>
+     * {@code async=true}: trả {@code 202 Accepted} kèm syncId ngay khi đã xếp hàng;
+     * theo dõi qua {@code GET /api/sync/{syncId}} hoặc SSE {@code /api/sync/{syncId}/events}.
+     * Không {@code async} mà chưa xong sau {@code sync.scheduler.manual-wait-seconds} → cũng 202.
+     */
     @PostMapping("/{groupId}/github/sync")
-    public ResponseEntity<com.swp391.backend.dto.response.SyncResultResponse> syncGitHubData(
-            @PathVariable Long groupId) {
+    public ResponseEntity<?> syncGitHubData(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "false") boolean fullResync,
+            @RequestParam(defaultValue = "false") boolean async) {
 
         checkAuthority(groupId);
 
-        return ResponseEntity.ok(gitHubSyncService.syncNow(groupId));
+        if (async) {
+            SyncProgressResponse queued = syncScheduler.submitManual(groupId, SyncScheduler.SOURCE_GITHUB,
+                    syncLog -> gitHubSyncService.runSync(syncLog, fullResync));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sync/" + queued.getSyncId()))
+                    .body(queued);
+        }
+        SyncScheduler.ManualRun run = syncScheduler.runManual(groupId, SyncScheduler.SOURCE_GITHUB,
+                syncLog -> gitHubSyncService.runSync(syncLog, fullResync));
+        if (!run.finished()) {
+            // Quá hạn chờ (worker đang bận) → chuyển sang theo dõi như async=true
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sync/" + run.pending().getSyncId()))
+                    .body(run.pending());
+        }
+        return ResponseEntity.ok(run.result());
     }
 
     @PostMapping("/{groupId}/github/commits")
@@ -93,7 +132,17 @@ public class IntegrationController {
             criteria = new CommitSearchRequest();
         }
 
-        return ResponseEntity.ok(integrationService.fetchCommitsWithCriteria(groupId, criteria));
+        // Đọc từ bảng GitCommit; độ "tươi" & trang kế tiếp trả qua header để giữ nguyên body
+        CommitSearchResult result = commitQueryService.search(groupId, criteria);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header("X-Commit-Source", result.getSource());
+        if (result.getNextCursor() != null) {
+            response.header("X-Next-Cursor", result.getNextCursor());
+        }
+        if (result.getLastSyncedAt() != null) {
+            response.header("X-Last-Synced-At", result.getLastSyncedAt().toString());
+        }
+        return response.body(result.getCommits());
     }
 
     // ── Jira config endpoints ─────────────────────────────────────────────────
@@ -112,6 +161,11 @@ public class IntegrationController {
                 request.getJiraEmail(),
                 request.getToken());
 
+        // Secret webhook là tuỳ chọn: chỉ cập nhật khi client gửi lên
+        if (request.getWebhookSecret() != null) {
+            config = integrationService.saveJiraWebhookSecret(groupId, request.getWebhookSecret());
+        }
+
         return ResponseEntity.ok(integrationMapper.toJiraResponse(config));
     }
 
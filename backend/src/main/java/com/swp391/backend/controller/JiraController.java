@@ -1,5 +1,6 @@
 package com.swp391.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.swp391.backend.dto.response.ApiResponse;
 import com.swp391.backend.dto.response.JiraBoardDto;
 import com.swp391.backend.dto.response.JiraIssueExportDto;
@@ -7,9 +8,11 @@ import com.swp391.backend.dto.response.JiraIssuePageResponse;
 import com.swp391.backend.dto.response.JiraSprintDto;
 import com.swp391.backend.dto.response.JiraSprintResponse;
 import com.swp391.backend.dto.response.JiraVersionResponse;
+import com.swp391.backend.dto.response.SyncProgressResponse;
 import com.swp391.backend.dto.response.SyncResultResponse;
 import com.swp391.backend.entity.User;
 import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.jira.JiraIssueExportWriter;
 import com.swp391.backend.integration.jira.JiraJqlBuilder.FilterType;
 import com.swp391.backend.repository.UserRepository;
 import com.swp391.backend.service.GroupService;
@@ -20,13 +23,18 @@ import com.swp391.backend.service.JiraManualSyncService;
 import com.swp391.backend.service.JiraSprintByBoardService;
 import com.swp391.backend.service.JiraSprintService;
 import com.swp391.backend.service.JiraVersionService;
+import com.swp391.backend.service.sync.SyncScheduler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -48,6 +56,8 @@ public class JiraController {
     private final JiraManualSyncService jiraManualSyncService;
     private final GroupService groupService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final SyncScheduler syncScheduler;
 
     // ── Issues ────────────────────────────────────────────────────────────────
 
@@ -64,17 +74,21 @@ public class JiraController {
      * <li>pageToken – String (optional, opaque pagination cursor)</li>
      * <li>maxResults – Integer (default 100, clamped 1..100)</li>
      * <li>fetchAll – Boolean (default true)</li>
+     * <li>format – json | ndjson | csv (default json; ndjson/csv chỉ áp dụng với
+     * fetchAll=true)</li>
      * </ul>
      *
      * <p>
      * Response:
      * <ul>
      * <li>fetchAll=true → {@code ApiResponse<List<JiraIssueExportDto>>}</li>
+     * <li>fetchAll=true, format=ndjson|csv → file tải về, ghi dần theo từng trang
+     * Jira (không giới hạn 2000 issue)</li>
      * <li>fetchAll=false → {@code ApiResponse<JiraIssuePageResponse>}</li>
      * </ul>
      */
     @GetMapping("/{groupId}/issues")
-    public ResponseEntity<ApiResponse<?>> getIssues(
+    public ResponseEntity<?> getIssues(
             @PathVariable Long groupId,
             @RequestParam(defaultValue = "ALL") String filterType,
             @RequestParam(required = false) Long sprintId,
@@ -82,7 +96,8 @@ public class JiraController {
             @RequestParam(required = false) String label,
             @RequestParam(required = false) String pageToken,
             @RequestParam(defaultValue = "100") int maxResults,
-            @RequestParam(defaultValue = "true") boolean fetchAll) {
+            @RequestParam(defaultValue = "true") boolean fetchAll,
+            @RequestParam(defaultValue = "json") String format) {
 
         checkAuthority(groupId);
 
@@ -94,7 +109,17 @@ public class JiraController {
                     "Invalid filterType: '" + filterType + "'. Must be ALL, SPRINT, VERSION, or LABEL.", 400);
         }
 
-        if (fetchAll) {
+        JiraIssueExportWriter.Format exportFormat;
+        try {
+            exportFormat = JiraIssueExportWriter.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(
+                    "Invalid format: '" + format + "'. Must be json, ndjson, or csv.", 400);
+        }
+
+        if (fetchAll && exportFormat != null) {
+            return streamIssues(groupId, filter, sprintId, versionId, label, maxResults, exportFormat);
+        } else if (fetchAll) {
             List<JiraIssueExportDto> issues = jiraIssueService.fetchAllIssues(
                     groupId, filter, sprintId, versionId, label, maxResults);
             return ResponseEntity.ok(ApiResponse.success(issues));
@@ -105,6 +130,24 @@ public class JiraController {
         }
     }
 
+    private ResponseEntity<StreamingResponseBody> streamIssues(Long groupId, FilterType filter, Long sprintId,
+            String versionId, String label, int maxResults, JiraIssueExportWriter.Format exportFormat) {
+        // Kiểm tra cấu hình trước khi commit response → lỗi vẫn trả về 4xx như thường
+        JiraIssueService.IssueExport export = jiraIssueService.prepareExport(
+                groupId, filter, sprintId, versionId, label, maxResults);
+
+        StreamingResponseBody body = out -> {
+            JiraIssueExportWriter writer = JiraIssueExportWriter.open(exportFormat, out, objectMapper);
+            export.writeTo(writer::writePage);
+        };
+        String filename = "jira-issues-" + groupId + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     // ── (1) List Sprints ─────────────────────────────────────────────────────
 
     /**
@@ -115,16 +158,18 @@ public class JiraController {
      * <ul>
      * <li>state – "active" | "future" | "closed" hoặc comma-separated
      * (default: "active,future,closed")</li>
+     * <li>refresh – boolean (default false): bỏ qua cache metadata, tải lại từ Jira</li>
      * </ul>
      */
     @GetMapping("/{groupId}/sprints")
     public ResponseEntity<ApiResponse<List<JiraSprintResponse>>> getSprints(
             @PathVariable Long groupId,
-            @RequestParam(required = false) String state) {
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         checkAuthority(groupId);
 
-        List<JiraSprintResponse> sprints = jiraSprintService.listSprints(groupId, state);
+        List<JiraSprintResponse> sprints = jiraSprintService.listSprints(groupId, state, refresh);
         return ResponseEntity.ok(ApiResponse.success(sprints));
     }
 
@@ -138,41 +183,47 @@ public class JiraController {
      * <ul>
      * <li>includeArchived – boolean (default false)</li>
      * <li>includeReleased – boolean (default true)</li>
+     * <li>refresh – boolean (default false): bỏ qua cache metadata, tải lại từ Jira</li>
      * </ul>
      */
     @GetMapping("/{groupId}/versions")
     public ResponseEntity<ApiResponse<List<JiraVersionResponse>>> getVersions(
             @PathVariable Long groupId,
             @RequestParam(defaultValue = "false") boolean includeArchived,
-            @RequestParam(defaultValue = "true") boolean includeReleased) {
+            @RequestParam(defaultValue = "true") boolean includeReleased,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         checkAuthority(groupId);
 
-        List<JiraVersionResponse> versions = jiraVersionService.listVersions(groupId, includeArchived, includeReleased);
+        List<JiraVersionResponse> versions = jiraVersionService.listVersions(groupId, includeArchived,
+                includeReleased, refresh);
         return ResponseEntity.ok(ApiResponse.success(versions));
     }
 
     // ── (3) Suggest Labels ───────────────────────────────────────────────────
 
     /**
-     * Suggest Jira labels by aggregating labels from recent issues.
+     * Suggest Jira labels from the label index maintained by the Jira sync
+     * (prefix matches first, then substring matches, ranked by usage).
      *
      * <p>
      * Query params:
      * <ul>
      * <li>q – optional prefix/contains filter (case-insensitive)</li>
      * <li>limit – max results (default 30, clamped 1..100)</li>
+     * <li>refresh – boolean (default false): nạp lại index label từ DB</li>
      * </ul>
      */
     @GetMapping("/{groupId}/labels")
     public ResponseEntity<ApiResponse<List<String>>> getLabels(
             @PathVariable Long groupId,
             @RequestParam(required = false, defaultValue = "") String q,
-            @RequestParam(defaultValue = "30") int limit) {
+            @RequestParam(defaultValue = "30") int limit,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         checkAuthority(groupId);
 
-        List<String> labels = jiraLabelService.suggestLabels(groupId, q, limit);
+        List<String> labels = jiraLabelService.suggestLabels(groupId, q, limit, refresh);
         return ResponseEntity.ok(ApiResponse.success(labels));
     }
 
@@ -183,15 +234,17 @@ public class JiraController {
      *
      * <p>
      * Returns a minimal list of boards (id + name) so the FE can let the user
-     * select a board before fetching sprints.
+     * select a board before fetching sprints. Query param {@code refresh=true}
+     * bypasses the metadata cache.
      */
     @GetMapping("/{groupId}/boards")
     public ResponseEntity<ApiResponse<List<JiraBoardDto>>> getBoards(
-            @PathVariable Long groupId) {
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         checkAuthority(groupId);
 
-        List<JiraBoardDto> boards = jiraBoardService.listBoards(groupId);
+        List<JiraBoardDto> boards = jiraBoardService.listBoards(groupId, refresh);
         return ResponseEntity.ok(ApiResponse.success(boards));
     }
 
@@ -208,17 +261,20 @@ public class JiraController {
      * Query params:
      * <ul>
      * <li>state – comma-separated sprint states (default: "active,future")</li>
+     * <li>refresh – boolean (default false): bỏ qua cache metadata, tải lại từ Jira</li>
      * </ul>
      */
     @GetMapping("/{groupId}/boards/{boardId}/sprints")
     public ResponseEntity<ApiResponse<List<JiraSprintDto>>> getSprintsByBoard(
             @PathVariable Long groupId,
             @PathVariable Long boardId,
-            @RequestParam(required = false) String state) {
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "false") boolean refresh) {
 
         checkAuthority(groupId);
 
-        List<JiraSprintDto> sprints = jiraSprintByBoardService.listSprintsByBoard(groupId, boardId, state);
+        List<JiraSprintDto> sprints = jiraSprintByBoardService.listSprintsByBoard(groupId, boardId, state,
+                refresh);
         return ResponseEntity.ok(ApiResponse.success(sprints));
     }
 
@@ -236,19 +292,46 @@ public class JiraController {
      * </ul>
      *
      * <p>
-     * Concurrency: trả 409 nếu đang có sync JIRA RUNNING cho cùng group.
+     * Concurrency: trả 409 nếu đang có sync JIRA RUNNING (hoặc đang chờ) cho cùng group.
+     * Chạy qua hàng đợi sync, ưu tiên trước sync nền; 503 nếu hàng đợi đầy.
+     *
+     * <p>
+     * Mặc định incremental (chỉ issue cập nhật kể từ lần sync thành công trước);
+     * {@code fullResync=true} để tải lại toàn bộ project.
+     *
+     * <p>
+     * {@code async=true}: trả {@code 202 Accepted} kèm syncId ngay khi đã xếp hàng;
+     * theo dõi qua {@code GET /api/sync/{syncId}} hoặc SSE {@code /api/sync/{syncId}/events}.
+     * Không {@code async} mà chưa xong sau {@code sync.scheduler.manual-wait-seconds} → cũng 202.
      */
     @PostMapping("/{groupId}/sync")
-    public ResponseEntity<ApiResponse<SyncResultResponse>> syncNow(
-            @PathVariable Long groupId) {
+    public ResponseEntity<ApiResponse<?>> syncNow(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "false") boolean fullResync,
+            @RequestParam(defaultValue = "false") boolean async) {
 
         checkAuthority(groupId);
 
         // Lấy thông tin user hiện tại để làm createdBy cho Requirement mới
         User currentUser = getCurrentUser();
 
-        SyncResultResponse result = jiraManualSyncService.syncNow(groupId, currentUser.getUserId());
-        return ResponseEntity.ok(ApiResponse.success(result));
+        Long userId = currentUser.getUserId();
+        if (async) {
+            SyncProgressResponse queued = syncScheduler.submitManual(groupId, SyncScheduler.SOURCE_JIRA,
+                    syncLog -> jiraManualSyncService.runSync(syncLog, userId, fullResync));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sync/" + queued.getSyncId()))
+                    .body(ApiResponse.success(queued));
+        }
+        SyncScheduler.ManualRun run = syncScheduler.runManual(groupId, SyncScheduler.SOURCE_JIRA,
+                syncLog -> jiraManualSyncService.runSync(syncLog, userId, fullResync));
+        if (!run.finished()) {
+            // Quá hạn chờ (worker đang bận) → chuyển sang theo dõi như async=true
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/sync/" + run.pending().getSyncId()))
+                    .body(ApiResponse.success(run.pending()));
+        }
+        return ResponseEntity.ok(ApiResponse.success(run.result()));
     }
 
     // ── Permission check ──────────────────────────────────────────────────────
@@ -0,0 +1,82 @@
+package com.swp391.backend.controller;
+
+import com.swp391.backend.dto.response.SyncProgressResponse;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.User;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.GroupService;
+import com.swp391.backend.service.SyncLogService;
+import com.swp391.backend.service.sync.SyncProgressTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Theo dõi một phiên sync (GitHub / Jira) theo syncId – id trả về từ
+ * {@code POST .../sync?async=true}.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncLogService syncLogService;
+    private final SyncProgressTracker progressTracker;
+    private final GroupService groupService;
+    private final UserRepository userRepository;
+
+    /** Trạng thái, phase, số trang đã tải và số bản ghi đã ghi. */
+    @GetMapping("/{syncId}")
+    public ResponseEntity<SyncProgressResponse> getSync(@PathVariable Long syncId) {
+        SyncLog syncLog = loadAuthorized(syncId);
+        return ResponseEntity.ok(progressTracker.snapshot(syncLog));
+    }
+
+    /**
+     * SSE: event {@code progress} sau mỗi trang, {@code done} khi kết thúc rồi đóng
+     * stream.
+     */
+    @GetMapping(value = "/{syncId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSync(@PathVariable Long syncId) {
+        SyncLog syncLog = loadAuthorized(syncId);
+        return progressTracker.subscribe(syncLog);
+    }
+
+    // ── Permission check ──────────────────────────────────────────────────────
+
+    private SyncLog loadAuthorized(Long syncId) {
+        SyncLog syncLog = syncLogService.findById(syncId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "SyncLog not found: id=" + syncId));
+        checkAuthority(syncLog.getGroupId());
+        return syncLog;
+    }
+
+    private void checkAuthority(Long groupId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null) {
+            throw new AccessDeniedException("Unauthorized");
+        }
+
+        User user = userRepository.findByUsername(auth.getName())
+                .orElseThrow(() -> new AccessDeniedException("User not found"));
+
+        boolean isAuthorized = groupService.isUserAuthorized(
+                user.getUserId(),
+                groupId,
+                List.of("LEADER", "ADMIN"));
+
+        if (!isAuthorized) {
+            throw new AccessDeniedException("Access denied. Leader or Admin role required for this group.");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.swp391.backend.controller;
+
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.service.GitHubWebhookService;
+import com.swp391.backend.service.JiraWebhookService;
+import org.springframework.http.HttpStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoint nhận webhook từ hệ thống ngoài.
+ *
+ * <p>
+ * Không dùng JWT ({@code permitAll} trong SecurityConfig): mỗi request được xác
+ * thực bằng chữ ký HMAC của secret đã cấu hình cho nhóm. Body được nhận dạng
+ * {@code byte[]} để kiểm tra chữ ký trên đúng byte gốc.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final GitHubWebhookService gitHubWebhookService;
+    private final JiraWebhookService jiraWebhookService;
+
+    /**
+     * Cấu hình trên GitHub: Payload URL = {@code /api/webhooks/github/{groupId}},
+     * Content type = {@code application/json}, event = {@code push}.
+     * Push được xếp hàng và ghi bất đồng bộ → {@code 202 Accepted}.
+     */
+    @PostMapping("/github/{groupId}")
+    public ResponseEntity<SyncResultResponse> receiveGitHub(
+            @PathVariable Long groupId,
+            @RequestHeader(value = "X-GitHub-Event", required = false) String event,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] payload) {
+
+        SyncResultResponse result = gitHubWebhookService.handle(groupId, event, signature, payload);
+        HttpStatus status = "ACCEPTED".equals(result.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Cấu hình trên Jira (System → WebHooks): URL = {@code /api/webhooks/jira/{groupId}},
+     * Secret = webhook secret của cấu hình Jira, event = Issue created/updated/deleted.
+     * Event được xếp hàng và ghi bất đồng bộ → {@code 202 Accepted}.
+     */
+    @PostMapping("/jira/{groupId}")
+    public ResponseEntity<SyncResultResponse> receiveJira(
+            @PathVariable Long groupId,
+            @RequestHeader(value = "X-Hub-Signature", required = false) String signature,
+            @RequestBody byte[] payload) {
+
+        SyncResultResponse result = jiraWebhookService.handle(groupId, signature, payload);
+        HttpStatus status = "ACCEPTED".equals(result.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(result);
+    }
+}
@@ -11,4 +11,22 @@ public class CommitSearchRequest {
     private String fromDate;
     private String toDate;
     private Integer lastNDays;
+
+    /** Con trỏ trang kế tiếp (header {@code X-Next-Cursor} của response trước). */
+    private String cursor;
+
+    /**
+     * Số commit tối đa mỗi trang, tối đa 1000. Bỏ trống cùng {@code cursor} → không phân
+     * trang; chỉ có {@code cursor} → 500.
+     */
+    private Integer limit;
+
+    /** true → gọi thẳng GitHub API như trước (không phân trang, tốn quota). */
+    private Boolean live;
+
+    public CommitSearchRequest(String fromDate, String toDate, Integer lastNDays) {
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.lastNDays = lastNDays;
+    }
 }
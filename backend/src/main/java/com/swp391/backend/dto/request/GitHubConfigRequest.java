@@ -12,4 +12,13 @@ public class GitHubConfigRequest {
     private String repoFullName;
 
     private String token;
+
+    /**
+     * Secret của GitHub webhook (tuỳ chọn). null → giữ nguyên; chuỗi rỗng → xoá.
+     */
+    private String webhookSecret;
+
+    public GitHubConfigRequest(String repoFullName, String token) {
+        this(repoFullName, token, null);
+    }
 }
@@ -0,0 +1,70 @@
+package com.swp391.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload của GitHub webhook event {@code push} (chỉ các trường cần dùng).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GitHubPushEvent {
+
+    private String ref;
+
+    private String after;
+
+    private boolean deleted;
+
+    private PushRepository repository;
+
+    private List<PushCommit> commits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PushRepository {
+        @JsonProperty("full_name")
+        private String fullName;
+
+        @JsonProperty("default_branch")
+        private String defaultBranch;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PushCommit {
+        /** SHA của commit. */
+        private String id;
+        private String message;
+        private String timestamp;
+        private PushAuthor author;
+        private PushAuthor committer;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class PushAuthor {
+        private String name;
+        private String email;
+        /** GitHub login; null nếu email không gắn với tài khoản GitHub nào. */
+        private String username;
+    }
+}
@@ -23,4 +23,13 @@ public class JiraConfigRequest {
     private String jiraEmail;
 
     private String token;
+
+    /**
+     * Secret của Jira webhook (tuỳ chọn). null → giữ nguyên; chuỗi rỗng → xoá.
+     */
+    private String webhookSecret;
+
+    public JiraConfigRequest(String baseUrl, String projectKey, String jiraEmail, String token) {
+        this(baseUrl, projectKey, jiraEmail, token, null);
+    }
 }
@@ -0,0 +1,28 @@
+package com.swp391.backend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload của Jira webhook {@code jira:issue_created / _updated / _deleted}
+ * (chỉ các trường cần dùng). {@code issue} cùng định dạng với kết quả search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class JiraWebhookEvent {
+
+    /** VD {@code jira:issue_updated}. */
+    private String webhookEvent;
+
+    /** Epoch millis lúc Jira phát event. */
+    private Long timestamp;
+
+    private JiraIssue issue;
+}
@@ -2,6 +2,8 @@ package com.swp391.backend.dto.request;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import com.swp391.backend.utils.GitHubLogin;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +33,7 @@ public class RegisterRequest {
     private String email;
 
     @Size(max = 100)
+    @Pattern(regexp = GitHubLogin.PATTERN, message = GitHubLogin.MESSAGE)
     private String githubUsername;
 
     @Size(max = 255)
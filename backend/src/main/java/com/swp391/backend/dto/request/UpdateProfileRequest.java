@@ -2,6 +2,8 @@ package com.swp391.backend.dto.request;
 
 
 import jakarta.validation.constraints.Email;
+import com.swp391.backend.utils.GitHubLogin;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,6 +17,7 @@ public class UpdateProfileRequest {
     private String email;
 
     @Size(max = 100, message = "Github username max length is 100")
+    @Pattern(regexp = GitHubLogin.PATTERN, message = GitHubLogin.MESSAGE)
     private String githubUsername;
 
     @Size(max = 255, message = "Jira AccountId max length is 100")
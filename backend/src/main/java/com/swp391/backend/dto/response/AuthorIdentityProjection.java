@@ -0,0 +1,11 @@
+package com.swp391.backend.dto.response;
+
+/**
+ * Định danh tối thiểu của một User để liên kết tác giả commit (email, GitHub login).
+ * Getter PHẢI khớp alias trong {@code UserRepository.findAuthorCandidatesByGroupId()}.
+ */
+public interface AuthorIdentityProjection {
+    Long getUserId();
+    String getEmail();
+    String getGithubUsername();
+}
@@ -0,0 +1,31 @@
+package com.swp391.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Kết quả tra cứu commit của một nhóm. Controller trả {@link #commits} làm body,
+ * các trường còn lại đi qua header ({@code X-Next-Cursor}, {@code X-Last-Synced-At},
+ * {@code X-Commit-Source}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommitSearchResult {
+    private List<GitHubCommitResponse> commits;
+
+    /** Con trỏ trang kế tiếp; null nếu đã hết. */
+    private String nextCursor;
+
+    /** Thời điểm sync GitHub thành công gần nhất; null nếu chưa sync lần nào. */
+    private Instant lastSyncedAt;
+
+    /** "db" (bảng GitCommit) hoặc "live" (gọi thẳng GitHub). */
+    private String source;
+}
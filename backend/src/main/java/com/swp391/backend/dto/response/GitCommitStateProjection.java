@@ -0,0 +1,20 @@
+package com.swp391.backend.dto.response;
+
+/**
+ * Trạng thái tối thiểu của một commit đã lưu, dùng để diff khi upsert hàng loạt.
+ *
+ * <p>
+ * Nội dung gốc của commit (author, date, message) bất biến theo SHA nên không cần
+ * load; chỉ các trường suy ra (liên kết user, login, stats) mới có thể thay đổi.
+ * Getter PHẢI khớp alias trong {@code GitCommitRepository.findStatesByRepoIdAndShaIn()}.
+ * </p>
+ */
+public interface GitCommitStateProjection {
+    Integer getCommitId();
+    String getSha();
+    Long getAuthorUserId();
+    String getAuthorLogin();
+    Integer getAdditions();
+    Integer getDeletions();
+    Integer getFilesChanged();
+}
@@ -33,6 +33,7 @@ public class GitHubCommitDTO {
     public static class CommitInfo {
         private String message;
         private Author author;
+        private Author committer;
     }
 
     @Data
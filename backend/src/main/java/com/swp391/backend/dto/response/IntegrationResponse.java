@@ -10,4 +10,5 @@ public class IntegrationResponse {
     private String repoFullName;
     private boolean hasToken;
     private String tokenMasked;
+    private boolean hasWebhookSecret;
 }
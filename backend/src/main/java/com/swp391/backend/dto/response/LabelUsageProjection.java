@@ -0,0 +1,10 @@
+package com.swp391.backend.dto.response;
+
+/**
+ * Label kèm số issue đang mang label đó.
+ * Getter PHẢI khớp alias trong {@code JiraIssueLabelRepository.countUsageByGroup()}.
+ */
+public interface LabelUsageProjection {
+    String getLabel();
+    long getUsageCount();
+}
@@ -0,0 +1,34 @@
+package com.swp391.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trạng thái + tiến độ của một phiên sync ({@code GET /api/sync/{syncId}} và event SSE).
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncProgressResponse {
+    private Long syncId;
+    private Long groupId;
+    /** "GITHUB" hoặc "JIRA". */
+    private String source;
+    /** RUNNING / SUCCESS / FAILED (theo SyncLog). */
+    private String status;
+    /** QUEUED / FETCHING / RESOLVING / COMPLETED / FAILED. */
+    private String phase;
+    private int pagesFetched;
+    private int insertedCount;
+    private int updatedCount;
+    /** Chỉ có khi tiến độ được theo dõi trên node đang chạy sync. */
+    private int unchangedCount;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+}
@@ -13,5 +13,7 @@ public class SyncResultResponse {
     private String status;
     private int insertedCount;
     private int updatedCount;
+    /** Bản ghi đã có và không đổi so với nguồn (không ghi xuống DB). */
+    private int unchangedCount;
     private String message;
 }
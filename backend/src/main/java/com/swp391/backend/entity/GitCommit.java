@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "GitCommit")
+@Table(name = "GitCommit", indexes = {
+        // Keyset pagination cho tra cứu commit theo repo + khoảng thời gian
+        @Index(name = "IX_GitCommit_repo_date", columnList = "repo_id, commit_date DESC, commit_id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
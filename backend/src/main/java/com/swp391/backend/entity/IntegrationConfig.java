@@ -43,6 +43,10 @@ public class IntegrationConfig {
     @Column(name = "token_encrypted")
     private byte[] tokenEncrypted;
 
+    // Secret ký webhook (HMAC), mã hoá như token
+    @Column(name = "webhook_secret_encrypted")
+    private byte[] webhookSecretEncrypted;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,36 @@
+package com.swp391.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Một label gắn trên một issue Jira của group, được ghi bởi Jira sync.
+ * Số issue mang mỗi label (usage count) = số dòng theo (group_id, label).
+ */
+@Entity
+@Table(name = "JiraIssueLabel", indexes = {
+        // Thay nhãn của một lô issue khi sync
+        @Index(name = "IX_JiraIssueLabel_group_issue", columnList = "group_id, jira_issue_key"),
+        // Đếm usage theo label khi nạp index gợi ý
+        @Index(name = "IX_JiraIssueLabel_group_label", columnList = "group_id, label")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JiraIssueLabel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "label_id")
+    private Long labelId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "jira_issue_key", nullable = false, length = 50)
+    private String jiraIssueKey;
+
+    @Column(name = "label", nullable = false, length = 255)
+    private String label;
+}
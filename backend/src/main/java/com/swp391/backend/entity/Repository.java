@@ -27,6 +27,17 @@ public class Repository {
     @Column(name = "default_branch", length = 100)
     private String defaultBranch;
 
+    /** SHA của commit mới nhất đã sync (high-water mark cho incremental sync). */
+    @Column(name = "last_commit_sha", length = 64)
+    private String lastCommitSha;
+
+    /**
+     * Committer date của commit mới nhất đã sync (giờ Asia/Ho_Chi_Minh, cùng quy ước
+     * với {@code GitCommit.commit_date}). Null → chưa sync lần nào, lần sau chạy full.
+     */
+    @Column(name = "last_commit_date")
+    private LocalDateTime lastCommitDate;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
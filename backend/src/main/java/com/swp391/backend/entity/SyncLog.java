@@ -43,6 +43,38 @@ public class SyncLog {
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
+    // ── Checkpoint (sync GitHub theo trang) ──────────────────────────────────
+    // Cập nhật sau mỗi trang đã ghi xong; lần sync kế tiếp tiếp tục từ đây nếu
+    // bản ghi này FAILED.
+
+    /** URL trang kế tiếp chưa ghi (theo {@code Link: rel="next"}); null = đã hết trang. */
+    @Column(name = "resume_cursor", length = 2000)
+    private String resumeCursor;
+
+    /** SHA của HEAD ở trang đầu tiên của lượt crawl (để dời watermark khi resume xong). */
+    @Column(name = "resume_head_sha", length = 40)
+    private String resumeHeadSha;
+
+    /** Committer date mới nhất đã thấy trong lượt crawl. */
+    @Column(name = "resume_newest_date")
+    private LocalDateTime resumeNewestDate;
+
+    @Builder.Default
+    @Column(name = "pages_fetched", nullable = false)
+    private Integer pagesFetched = 0;
+
+    // ── Lease (nhiều instance) ───────────────────────────────────────────────
+    // Node giữ phiên RUNNING làm mới heartbeat định kỳ; quá timeout thì phiên bị coi
+    // là mồ côi và node khác được tiếp quản.
+
+    /** Node đang chạy phiên này ({@code sync.lease.node-id}). */
+    @Column(name = "owner_node_id", length = 100)
+    private String ownerNodeId;
+
+    /** Lần cuối node chủ xác nhận còn chạy; null ở bản ghi cũ (dùng started_at). */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
     @PrePersist
     protected void onCreate() {
         if (startedAt == null) {
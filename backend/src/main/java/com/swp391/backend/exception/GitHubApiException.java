@@ -1,7 +1,19 @@
 package com.swp391.backend.exception;
 
+import lombok.Getter;
+
+@Getter
 public class GitHubApiException extends BusinessException {
+
+    /** Số giây nên chờ trước khi thử lại (header {@code Retry-After}), null nếu không rõ. */
+    private final Long retryAfterSeconds;
+
     public GitHubApiException(String message, int status) {
+        this(message, status, null);
+    }
+
+    public GitHubApiException(String message, int status, Long retryAfterSeconds) {
         super(message, status);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
@@ -1,6 +1,7 @@
 package com.swp391.backend.exception;
 
 import com.swp391.backend.dto.response.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -19,6 +20,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(e.getStatus(), e.getMessage()));
     }
 
+    @ExceptionHandler(GitHubApiException.class)
+    public ResponseEntity<ApiResponse<Void>> handleGitHubApiException(GitHubApiException e) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfterSeconds() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        }
+        return response.body(ApiResponse.error(e.getStatus(), e.getMessage()));
+    }
+
     @ExceptionHandler(org.springframework.security.authentication.BadCredentialsException.class)
     public ResponseEntity<ApiResponse<Void>> handleBadCredentialsException(
             org.springframework.security.authentication.BadCredentialsException e) {
@@ -0,0 +1,128 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.dto.response.AuthorIdentityProjection;
+import com.swp391.backend.repository.GitCommitRepository;
+import com.swp391.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Liên kết tác giả commit GitHub với User nội bộ.
+ *
+ * <p>
+ * {@link #forGroup(Long)} nạp mọi ứng viên (thành viên nhóm + sinh viên trong lớp)
+ * bằng MỘT query rồi dựng bảng tra cứu trong RAM theo GitHub login và email đã
+ * chuẩn hoá; sau đó {@link AuthorIndex#resolve} không tốn thêm query nào.
+ * </p>
+ *
+ * <p>
+ * Thứ tự ưu tiên: GitHub login của commit → email commit → login suy ra từ email
+ * noreply của GitHub ({@code login@users.noreply.github.com} hoặc
+ * {@code id+login@users.noreply.github.com}).
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GitHubAuthorResolver {
+
+    private static final Pattern NOREPLY_EMAIL =
+            Pattern.compile("^(?:\\d+\\+)?([a-z0-9](?:[a-z0-9-]*[a-z0-9])?)@users\\.noreply\\.github\\.com$");
+
+    private final UserRepository userRepository;
+    private final GitCommitRepository gitCommitRepository;
+
+    /**
+     * Dựng bảng tra cứu tác giả cho một nhóm. Gọi một lần mỗi lần sync.
+     */
+    public AuthorIndex forGroup(Long groupId) {
+        List<AuthorIdentityProjection> candidates = userRepository.findAuthorCandidatesByGroupId(groupId);
+        Map<String, Long> byLogin = new HashMap<>();
+        Map<String, Long> byEmail = new HashMap<>();
+        for (AuthorIdentityProjection candidate : candidates) {
+            String login = normalize(candidate.getGithubUsername());
+            if (login != null) {
+                byLogin.putIfAbsent(login, candidate.getUserId());
+            }
+            String email = normalize(candidate.getEmail());
+            if (email != null) {
+                byEmail.putIfAbsent(email, candidate.getUserId());
+            }
+        }
+        log.debug("[GitHub Author] group={} indexed {} candidate(s)", groupId, candidates.size());
+        return new AuthorIndex(byLogin, byEmail);
+    }
+
+    /**
+     * Liên kết lại các commit đã sync nhưng chưa có {@code author_user_id} khi User
+     * vừa đặt/đổi GitHub username.
+     *
+     * @return số commit được liên kết
+     */
+    public int relinkHistoricalCommits(Long userId, String githubUsername) {
+        int relinked = gitCommitRepository.relinkUnmappedCommits(userId, githubUsername);
+        if (relinked > 0) {
+            log.info("[GitHub Author] Linked {} historical commit(s) of '{}' to user {}",
+                    relinked, githubUsername, userId);
+        }
+        return relinked;
+    }
+
+    /**
+     * @return GitHub login trong email noreply, hoặc null nếu không phải email noreply
+     */
+    static String loginFromNoreplyEmail(String email) {
+        String normalized = normalize(email);
+        if (normalized == null) {
+            return null;
+        }
+        Matcher matcher = NOREPLY_EMAIL.matcher(normalized);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bảng tra cứu tác giả bất biến của một nhóm.
+     */
+    public static final class AuthorIndex {
+        private final Map<String, Long> byLogin;
+        private final Map<String, Long> byEmail;
+
+        AuthorIndex(Map<String, Long> byLogin, Map<String, Long> byEmail) {
+            this.byLogin = Map.copyOf(byLogin);
+            this.byEmail = Map.copyOf(byEmail);
+        }
+
+        /**
+         * @param login GitHub login của commit (có thể null)
+         * @param email email tác giả trong commit (có thể null)
+         * @return userId nội bộ, hoặc null nếu không khớp ai
+         */
+        public Long resolve(String login, String email) {
+            String normalizedLogin = normalize(login);
+            if (normalizedLogin != null && byLogin.containsKey(normalizedLogin)) {
+                return byLogin.get(normalizedLogin);
+            }
+            String normalizedEmail = normalize(email);
+            if (normalizedEmail != null && byEmail.containsKey(normalizedEmail)) {
+                return byEmail.get(normalizedEmail);
+            }
+            String noreplyLogin = loginFromNoreplyEmail(email);
+            return noreplyLogin != null ? byLogin.get(noreplyLogin) : null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.swp391.backend.integration.github;
 
+import com.swp391.backend.config.GitHubClientConfig;
+import com.swp391.backend.config.RestTemplateConfig;
 import com.swp391.backend.utils.DateTimeUtils;
 import com.swp391.backend.dto.request.CommitSearchRequest;
 import com.swp391.backend.dto.response.GitHubCommitDTO;
@@ -8,14 +10,18 @@ import com.swp391.backend.dto.response.GitHubCommitResponse;
 import com.swp391.backend.dto.response.GitHubRepoResponse;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.exception.GitHubApiException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -23,30 +29,44 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Client gọi GitHub REST API.
+ *
+ * <p>
+ * Mọi request GET đi qua {@link #getJson}: request lặp lại được gửi kèm
+ * {@code If-None-Match} từ {@link GitHubResponseCache}, và {@code 304 Not Modified}
+ * (không tính vào rate limit) được trả về bằng body đã cache. Chi tiết commit
+ * ({@link #fetchSingleCommit}) là bất biến nên được đọc từ cache đĩa nếu có.
+ * </p>
+ *
+ * <p>
+ * Trước mỗi request, {@link GitHubRateLimitScheduler} quyết định khi nào được gửi
+ * theo quota còn lại của token; 403/429 do rate limit được chờ rồi thử lại thay vì
+ * làm hỏng cả lần sync.
+ * </p>
+ */
 @Component
 @RequiredArgsConstructor
 public class GitHubClient {
 
+    private static final int PER_PAGE = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Qualifier(RestTemplateConfig.GITHUB)
     private final RestTemplate restTemplate;
+    private final GitHubResponseCache responseCache;
+    private final GitHubRateLimitScheduler rateLimitScheduler;
+    private final GitHubClientConfig clientConfig;
 
     public GitHubRepoResponse getRepoInfo(String repoFullName, String token) {
         String url = "https://api.github.com/repos/" + repoFullName;
 
-        HttpEntity<Void> entity = new HttpEntity<>(buildHeaders(token));
-
         try {
-            ResponseEntity<GitHubRepoResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    GitHubRepoResponse.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                return response.getBody();
-            } else {
-                throw new BusinessException("Failed to fetch repository info from GitHub: " + response.getStatusCode(),
-                        response.getStatusCode().value());
-            }
+            return MAPPER.readValue(getJson(url, token, true).body(), GitHubRepoResponse.class);
+        } catch (BusinessException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             handleException(e);
             return null; // Should not reach here
@@ -56,54 +76,78 @@ public class GitHubClient {
     }
 
     public List<GitHubCommitDTO> fetchAllCommits(String repoFullName, String token) {
-        List<GitHubCommitDTO> allCommits = new ArrayList<>();
-        int page = 1;
-        int perPage = 100;
-
-        while (true) {
-            String url = String.format("https://api.github.com/repos/%s/commits?per_page=%d&page=%d",
-                    repoFullName, perPage, page);
-
-            HttpEntity<Void> entity = new HttpEntity<>(buildHeaders(token));
-
-            try {
-                ResponseEntity<List<GitHubCommitDTO>> response = restTemplate.exchange(
-                        url,
-                        HttpMethod.GET,
-                        entity,
-                        new ParameterizedTypeReference<List<GitHubCommitDTO>>() {
-                        });
-
-                List<GitHubCommitDTO> commits = response.getBody();
+        return fetchAllCommits(repoFullName, token, null);
+    }
 
-                if (commits == null || commits.isEmpty()) {
-                    break;
-                }
+    /**
+     * Gom toàn bộ commit vào một list. Repository lớn nên dùng {@link #commitPages}
+     * để xử lý từng trang.
+     *
+     * @param since ISO-8601 timestamp; khi khác null chỉ lấy commit có committer date &gt;= since
+     */
+    public List<GitHubCommitDTO> fetchAllCommits(String repoFullName, String token, String since) {
+        List<GitHubCommitDTO> allCommits = new ArrayList<>();
+        try (GitHubPageIterator<GitHubCommitDTO> pages = commitPages(repoFullName, token, since)) {
+            pages.forEachRemaining(allCommits::addAll);
+        }
+        return allCommits;
+    }
 
-                allCommits.addAll(commits);
-                page++;
-            } catch (HttpClientErrorException e) {
-                handleException(e);
-            } catch (Exception e) {
-                throw new BusinessException("GitHub Connection Error: " + e.getMessage(), 500);
-            }
+    /**
+     * Duyệt commit theo từng trang (100 commit/trang, mới nhất trước), theo header
+     * {@code Link: rel="next"}; trang kế tiếp được fetch trước trong lúc caller xử lý
+     * trang hiện tại.
+     *
+     * @param since ISO-8601 timestamp; khi khác null chỉ lấy commit có committer date &gt;= since
+     */
+    public GitHubPageIterator<GitHubCommitDTO> commitPages(String repoFullName, String token, String since) {
+        UriComponentsBuilder builder = commitsUrl(repoFullName);
+        if (since != null) {
+            builder.queryParam("since", since);
         }
+        return commitPagesFrom(builder.encode().build().toUriString(), token);
+    }
 
-        return allCommits;
+    /**
+     * Tiếp tục duyệt commit từ một URL trang đã lưu làm checkpoint
+     * ({@link GitHubPageIterator#nextPageUrl()}).
+     */
+    public GitHubPageIterator<GitHubCommitDTO> commitPagesFrom(String pageUrl, String token) {
+        return new GitHubPageIterator<>(pageUrl,
+                url -> fetchPage(url, token, new TypeReference<List<GitHubCommitDTO>>() {
+                }));
+    }
+
+    /**
+     * @return true nếu {@code pageUrl} là một trang của {@code GET /repos/{repo}/commits}
+     */
+    public static boolean isCommitPageOf(String pageUrl, String repoFullName) {
+        return pageUrl != null && repoFullName != null
+                && pageUrl.startsWith("https://api.github.com/repos/" + repoFullName + "/commits?");
     }
 
+    /**
+     * Chi tiết một commit. Commit là bất biến theo SHA → đọc từ cache đĩa nếu có;
+     * nếu chưa có thì gọi API rồi lưu bản rút gọn (sha, stats, tên file) xuống đĩa.
+     */
     public GitHubCommitDetailedDTO fetchSingleCommit(String repoFullName, String sha, String token) {
         String url = String.format("https://api.github.com/repos/%s/commits/%s", repoFullName, sha);
 
-        HttpEntity<Void> entity = new HttpEntity<>(buildHeaders(token));
-
         try {
-            ResponseEntity<GitHubCommitDetailedDTO> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
+            String cached = responseCache.readCommit(repoFullName, sha);
+            if (cached != null) {
+                return MAPPER.readValue(cached, GitHubCommitDetailedDTO.class);
+            }
+
+            // Không dùng validator cache trong RAM: body đầy đủ (kèm patch) rất lớn
+            GitHubCommitDetailedDTO detailed = MAPPER.readValue(getJson(url, token, false).body(),
                     GitHubCommitDetailedDTO.class);
-            return response.getBody();
+            if (detailed != null) {
+                responseCache.writeCommit(repoFullName, sha, MAPPER.writeValueAsString(compact(detailed)));
+            }
+            return detailed;
+        } catch (BusinessException e) {
+            throw e;
         } catch (HttpClientErrorException e) {
             handleException(e);
             return null;
@@ -114,58 +158,155 @@ public class GitHubClient {
 
     public List<GitHubCommitResponse> fetchCommitsWithCriteria(String repoFullName, String token,
             CommitSearchRequest criteria) {
-        List<GitHubCommitResponse> allCommits = new ArrayList<>();
-        int page = 1;
-        int perPage = 100;
+        UriComponentsBuilder builder = commitsUrl(repoFullName);
+
+        // Xử lý query parameters dựa trên criteria
+        if (criteria.getLastNDays() != null && criteria.getLastNDays() > 0) {
+            builder.queryParam("since", DateTimeUtils.getIsoDateLastNDays(criteria.getLastNDays()));
+        } else {
+            if (criteria.getFromDate() != null && !criteria.getFromDate().isEmpty()) {
+                builder.queryParam("since", criteria.getFromDate());
+            }
+            if (criteria.getToDate() != null && !criteria.getToDate().isEmpty()) {
+                builder.queryParam("until", criteria.getToDate());
+            }
+        }
 
-        while (true) {
-            UriComponentsBuilder builder = UriComponentsBuilder
-                    .fromUriString("https://api.github.com/repos/" + repoFullName + "/commits")
-                    .queryParam("per_page", perPage)
-                    .queryParam("page", page);
-
-            // Xử lý query parameters dựa trên criteria
-            if (criteria.getLastNDays() != null && criteria.getLastNDays() > 0) {
-                builder.queryParam("since", DateTimeUtils.getIsoDateLastNDays(criteria.getLastNDays()));
-            } else {
-                if (criteria.getFromDate() != null && !criteria.getFromDate().isEmpty()) {
-                    builder.queryParam("since", criteria.getFromDate());
-                }
-                if (criteria.getToDate() != null && !criteria.getToDate().isEmpty()) {
-                    builder.queryParam("until", criteria.getToDate());
+        List<GitHubCommitResponse> allCommits = new ArrayList<>();
+        try (GitHubPageIterator<Map<String, Object>> pages = new GitHubPageIterator<>(builder.encode().build().toUriString(),
+                url -> fetchPage(url, token, new TypeReference<List<Map<String, Object>>>() {
+                }))) {
+            while (pages.hasNext()) {
+                for (Map<String, Object> map : pages.next()) {
+                    allCommits.add(mapToGitHubCommitResponse(map));
                 }
             }
+        }
+        return allCommits;
+    }
 
-            String url = builder.build().toUriString();
-            HttpEntity<Void> entity = new HttpEntity<>(buildHeaders(token));
-
-            try {
-                ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                        url,
-                        HttpMethod.GET,
-                        entity,
-                        new ParameterizedTypeReference<List<Map<String, Object>>>() {
-                        });
+    private UriComponentsBuilder commitsUrl(String repoFullName) {
+        return UriComponentsBuilder
+                .fromUriString("https://api.github.com/repos/" + repoFullName + "/commits")
+                .queryParam("per_page", PER_PAGE);
+    }
 
-                List<Map<String, Object>> commitMaps = response.getBody();
+    /**
+     * Fetch một trang danh sách và đọc URL trang kế tiếp từ header {@code Link}.
+     */
+    private <T> GitHubPageIterator.Page<T> fetchPage(String url, String token, TypeReference<List<T>> type) {
+        try {
+            JsonResponse response = getJson(url, token, true);
+            return new GitHubPageIterator.Page<>(MAPPER.readValue(response.body(), type),
+                    nextLinkOf(response.link()));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (HttpClientErrorException e) {
+            handleException(e);
+            return null; // Should not reach here
+        } catch (Exception e) {
+            throw new BusinessException("GitHub Connection Error: " + e.getMessage(), 500);
+        }
+    }
 
-                if (commitMaps == null || commitMaps.isEmpty()) {
-                    break;
+    /**
+     * @return URL có {@code rel="next"} trong header Link, null nếu không có
+     */
+    static String nextLinkOf(String linkHeader) {
+        if (linkHeader == null || linkHeader.isBlank()) {
+            return null;
+        }
+        for (String part : linkHeader.split(",")) {
+            String[] segments = part.split(";");
+            if (segments.length < 2) {
+                continue;
+            }
+            String url = segments[0].trim();
+            for (int i = 1; i < segments.length; i++) {
+                if (segments[i].trim().equals("rel=\"next\"") && url.startsWith("<") && url.endsWith(">")) {
+                    return url.substring(1, url.length() - 1);
                 }
+            }
+        }
+        return null;
+    }
 
-                for (Map<String, Object> map : commitMaps) {
-                    allCommits.add(mapToGitHubCommitResponse(map));
-                }
+    // ── Conditional GET ───────────────────────────────────────────────────────
+
+    /**
+     * GET một URL và trả body JSON dạng String.
+     *
+     * @param useValidatorCache true → gửi {@code If-None-Match} nếu đã có ETag và
+     *                          lấy body từ cache khi GitHub trả 304
+     */
+    private JsonResponse getJson(String url, String token, boolean useValidatorCache) {
+        String cacheKey = GitHubResponseCache.keyOf(token, url);
+        GitHubResponseCache.CachedResponse cached = useValidatorCache ? responseCache.get(cacheKey) : null;
+
+        HttpHeaders headers = buildHeaders(token);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
 
-                page++;
+        ResponseEntity<String> response = exchangeWithRateLimit(url, token, new HttpEntity<>(headers));
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return new JsonResponse(cached.body(), cached.link());
+        }
+        if (response.getStatusCode() != HttpStatus.OK) {
+            throw new BusinessException("GitHub API returned unexpected status: " + response.getStatusCode(),
+                    response.getStatusCode().value());
+        }
+
+        String body = response.getBody() != null ? response.getBody() : "null";
+        String link = response.getHeaders().getFirst(HttpHeaders.LINK);
+        if (useValidatorCache) {
+            responseCache.put(cacheKey, response.getHeaders().getETag(), body, link);
+        }
+        return new JsonResponse(body, link);
+    }
+
+    /**
+     * Gửi request qua rate-limit scheduler. 403/429 do rate limit → chờ tới lúc reset
+     * rồi thử lại (tối đa {@link GitHubClientConfig#getRateLimitMaxRetries()} lần);
+     * các lỗi khác ném ra như cũ để {@link #handleException} xử lý.
+     */
+    private ResponseEntity<String> exchangeWithRateLimit(String url, String token, HttpEntity<Void> entity) {
+        int attempt = 0;
+        while (true) {
+            rateLimitScheduler.acquire(token);
+            try {
+                // URL đã được encode sẵn (kể cả URL lấy từ header Link) → không encode lại
+                ResponseEntity<String> response = restTemplate.exchange(URI.create(url), HttpMethod.GET, entity,
+                        String.class);
+                rateLimitScheduler.record(token, response.getHeaders());
+                return response;
             } catch (HttpClientErrorException e) {
-                handleException(e);
-            } catch (Exception e) {
-                throw new BusinessException("GitHub Connection Error: " + e.getMessage(), 500);
+                rateLimitScheduler.record(token, e.getResponseHeaders());
+                boolean rateLimited = rateLimitScheduler.onRateLimited(token, e.getStatusCode(), e.getResponseHeaders());
+                if (!rateLimited || attempt++ >= clientConfig.getRateLimitMaxRetries()) {
+                    throw e;
+                }
             }
         }
+    }
 
-        return allCommits;
+    /** Bỏ nội dung patch của từng file, chỉ giữ tên file (đủ để đếm files_changed). */
+    @SuppressWarnings("unchecked")
+    private GitHubCommitDetailedDTO compact(GitHubCommitDetailedDTO detailed) {
+        List<Object> files = null;
+        if (detailed.getFiles() != null) {
+            files = new ArrayList<>(detailed.getFiles().size());
+            for (Object file : detailed.getFiles()) {
+                Object filename = file instanceof Map<?, ?> map ? ((Map<String, Object>) map).get("filename") : null;
+                files.add(Map.of("filename", filename != null ? filename : ""));
+            }
+        }
+        return GitHubCommitDetailedDTO.builder()
+                .sha(detailed.getSha())
+                .stats(detailed.getStats())
+                .files(files)
+                .build();
     }
 
     @SuppressWarnings("unchecked")
@@ -204,7 +345,7 @@ public class GitHubClient {
                     // Ném ngay, không fall-through
                     throw new GitHubApiException(
                             "GitHub Rate Limit exceeded. Resets at: " + formattedTime,
-                            status.value());
+                            status.value(), Math.max(0, resetTimestamp - Instant.now().getEpochSecond()));
                 } catch (NumberFormatException nfe) {
                     // Header không phải số hợp lệ → fallthrough, throw generic message bên dưới
                     throw new GitHubApiException(
@@ -224,6 +365,10 @@ public class GitHubClient {
         throw new BusinessException("GitHub API Error: " + message, status.value());
     }
 
+    /** Body JSON kèm header {@code Link} (phân trang) của một response. */
+    private record JsonResponse(String body, String link) {
+    }
+
     private HttpHeaders buildHeaders(String token) {
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(token);
@@ -0,0 +1,104 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubSyncConfig;
+import com.swp391.backend.dto.response.GitHubCommitDetailedDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lấy chi tiết (stats, files) của nhiều commit song song trên virtual thread.
+ *
+ * <p>
+ * Số request đồng thời bị giới hạn <b>theo token</b> bằng một {@link Semaphore}
+ * dùng chung giữa mọi sync đang chạy với cùng token, nên nhiều nhóm dùng chung
+ * token cũng không vượt quá {@link GitHubSyncConfig#getDetailConcurrencyPerToken()}.
+ * </p>
+ *
+ * <p>
+ * Lỗi của từng commit được gom vào {@link DetailFetchResult#failures()} thay vì
+ * ném ra ngoài, để một commit lỗi không làm hỏng cả lần sync.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GitHubCommitDetailFetcher {
+
+    private final GitHubClient gitHubClient;
+    private final GitHubSyncConfig gitHubSyncConfig;
+
+    private final Map<String, Semaphore> permitsByToken = new ConcurrentHashMap<>();
+
+    /**
+     * @param shas danh sách SHA cần lấy chi tiết (trùng lặp sẽ bị bỏ qua)
+     * @return chi tiết theo SHA và lỗi theo SHA; thứ tự giữ nguyên như đầu vào
+     */
+    public DetailFetchResult fetchDetails(String repoFullName, String token, Collection<String> shas) {
+        Map<String, GitHubCommitDetailedDTO> details = new LinkedHashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        if (shas == null || shas.isEmpty()) {
+            return new DetailFetchResult(details, failures);
+        }
+
+        Semaphore permits = permitsByToken.computeIfAbsent(GitHubTokenIdentity.of(token),
+                k -> new Semaphore(Math.max(1, gitHubSyncConfig.getDetailConcurrencyPerToken()), true));
+
+        Map<String, Future<GitHubCommitDetailedDTO>> futures = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String sha : shas) {
+                if (sha == null || futures.containsKey(sha)) {
+                    continue;
+                }
+                futures.put(sha, executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return gitHubClient.fetchSingleCommit(repoFullName, sha, token);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Map.Entry<String, Future<GitHubCommitDetailedDTO>> entry : futures.entrySet()) {
+                try {
+                    GitHubCommitDetailedDTO detail = entry.getValue().get();
+                    if (detail != null) {
+                        details.put(entry.getKey(), detail);
+                    } else {
+                        failures.put(entry.getKey(), "Empty response");
+                    }
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    String msg = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                    failures.put(entry.getKey(), msg);
+                    log.warn("[GitHub Detail] Could not fetch detailed stats for commit {}: {}", entry.getKey(), msg);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching commit details", ex);
+        }
+
+        return new DetailFetchResult(details, failures);
+    }
+
+    /**
+     * Kết quả fetch chi tiết.
+     *
+     * @param details  SHA → chi tiết commit
+     * @param failures SHA → thông điệp lỗi
+     */
+    public record DetailFetchResult(Map<String, GitHubCommitDetailedDTO> details, Map<String, String> failures) {
+    }
+}
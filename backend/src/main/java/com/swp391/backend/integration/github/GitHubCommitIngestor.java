@@ -0,0 +1,213 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubSyncConfig;
+import com.swp391.backend.dto.response.GitCommitStateProjection;
+import com.swp391.backend.dto.response.GitHubCommitDTO;
+import com.swp391.backend.dto.response.GitHubCommitDetailedDTO;
+import com.swp391.backend.entity.GitCommit;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.integration.github.GitHubAuthorResolver.AuthorIndex;
+import com.swp391.backend.integration.github.GitHubCommitDetailFetcher.DetailFetchResult;
+import com.swp391.backend.repository.GitCommitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pipeline ghi commit GitHub vào bảng GitCommit, dùng chung cho sync theo API
+ * ({@code GitHubSyncServiceImpl}) và webhook push ({@code GitHubWebhookServiceImpl}).
+ *
+ * <p>
+ * Mỗi lần gọi xử lý một lô commit (một trang API hoặc một push event):
+ * </p>
+ * <ol>
+ * <li>Preload trạng thái đã lưu của lô bằng MỘT query, bỏ trùng theo SHA.</li>
+ * <li>Fetch song song stats cho commit còn thiếu.</li>
+ * <li>MERGE commit mới / UPDATE commit có trường suy ra thay đổi, theo JDBC batch,
+ * trong MỘT transaction riêng (REQUIRES_NEW) cho cả lô. Commit không đổi không
+ * sinh câu lệnh nào.</li>
+ * </ol>
+ *
+ * <p>
+ * Mỗi lô commit độc lập nên lỗi ở trang sau không rollback trang đã ghi; sync
+ * dùng điều này để checkpoint và tiếp tục từ trang dở dang.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GitHubCommitIngestor {
+
+    /** Múi giờ lưu {@code commit_date}. */
+    public static final ZoneId COMMIT_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+
+    private final GitCommitRepository gitCommitRepository;
+    private final GitHubCommitDetailFetcher commitDetailFetcher;
+    private final GitHubSyncConfig gitHubSyncConfig;
+    private final TransactionTemplate pageTransaction;
+
+    public GitHubCommitIngestor(GitCommitRepository gitCommitRepository,
+            GitHubCommitDetailFetcher commitDetailFetcher,
+            GitHubSyncConfig gitHubSyncConfig,
+            PlatformTransactionManager transactionManager) {
+        this.gitCommitRepository = gitCommitRepository;
+        this.commitDetailFetcher = commitDetailFetcher;
+        this.gitHubSyncConfig = gitHubSyncConfig;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+        this.pageTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @param token   token dùng để lấy stats của commit còn thiếu
+     * @param commits lô commit theo định dạng của {@code GET /repos/{repo}/commits}
+     * @param authors bảng tra cứu tác giả của nhóm
+     */
+    public IngestResult ingest(Repository repo, String repoFullName, String token,
+            List<GitHubCommitDTO> commits, AuthorIndex authors) {
+        // ── Bước 1: Preload state của lô & map DTO → entity ──────────────
+        List<String> shas = commits.stream()
+                .map(GitHubCommitDTO::getSha)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, GitCommitStateProjection> existingBySha = new HashMap<>();
+        if (!shas.isEmpty()) {
+            for (GitCommitStateProjection state
+                    : gitCommitRepository.findStatesByRepoIdAndShaIn(repo.getRepoId(), shas)) {
+                existingBySha.put(state.getSha(), state);
+            }
+        }
+
+        Map<String, GitCommit> pendingBySha = new LinkedHashMap<>();
+        for (GitHubCommitDTO dto : commits) {
+            // Bỏ qua commit không có SHA (dữ liệu dị thường từ API)
+            if (dto.getSha() == null) {
+                log.warn("[GitHub Ingest] Skipping commit with null SHA, repo={}", repoFullName);
+                continue;
+            }
+
+            // Bỏ qua commit không có date (null sẽ vi phạm NOT NULL constraint)
+            if (dto.getCommit() == null
+                    || dto.getCommit().getAuthor() == null
+                    || dto.getCommit().getAuthor().getDate() == null) {
+                log.warn("[GitHub Ingest] Skipping commit {} – missing author/date info", dto.getSha());
+                continue;
+            }
+
+            GitCommitStateProjection existing = existingBySha.get(dto.getSha());
+            GitCommit commit = GitCommit.builder()
+                    .repoId(repo.getRepoId())
+                    .sha(dto.getSha())
+                    .build();
+            if (existing != null) {
+                // Giữ lại các trường suy ra đã lưu (stats, liên kết user)
+                commit.setCommitId(existing.getCommitId());
+                commit.setAuthorUserId(existing.getAuthorUserId());
+                commit.setAdditions(existing.getAdditions());
+                commit.setDeletions(existing.getDeletions());
+                commit.setFilesChanged(existing.getFilesChanged());
+            }
+
+            commit.setAuthorName(dto.getCommit().getAuthor().getName());
+            commit.setAuthorEmail(dto.getCommit().getAuthor().getEmail());
+            commit.setCommitDate(parseCommitDate(dto.getCommit().getAuthor().getDate()));
+            commit.setMessage(dto.getCommit().getMessage());
+
+            if (dto.getAuthor() != null) {
+                commit.setAuthorLogin(dto.getAuthor().getLogin());
+            } else if (existing != null) {
+                commit.setAuthorLogin(existing.getAuthorLogin());
+            }
+
+            // Liên kết với User nội bộ theo GitHub login / email (tra cứu trong RAM)
+            Long authorUserId = authors.resolve(commit.getAuthorLogin(), commit.getAuthorEmail());
+            if (authorUserId != null) {
+                commit.setAuthorUserId(authorUserId);
+            }
+
+            pendingBySha.putIfAbsent(commit.getSha(), commit);
+        }
+        List<GitCommit> pending = new ArrayList<>(pendingBySha.values());
+
+        // ── Bước 2: Fetch stats song song cho commit còn thiếu ───────────
+        List<String> missingStats = pending.stream()
+                .filter(c -> c.getAdditions() == null || c.getDeletions() == null)
+                .map(GitCommit::getSha)
+                .toList();
+        DetailFetchResult detailResult = commitDetailFetcher.fetchDetails(repoFullName, token, missingStats);
+        for (GitCommit commit : pending) {
+            GitHubCommitDetailedDTO detailed = detailResult.details().get(commit.getSha());
+            if (detailed == null) {
+                continue;
+            }
+            if (detailed.getStats() != null) {
+                commit.setAdditions(detailed.getStats().getAdditions());
+                commit.setDeletions(detailed.getStats().getDeletions());
+            }
+            if (detailed.getFiles() != null) {
+                commit.setFilesChanged(detailed.getFiles().size());
+            }
+        }
+
+        // ── Bước 3: Upsert hàng loạt (JDBC batch, một transaction cho cả lô) ─
+        List<GitCommit> toInsert = new ArrayList<>();
+        List<GitCommit> toUpdate = new ArrayList<>();
+        for (GitCommit commit : pending) {
+            GitCommitStateProjection existing = existingBySha.get(commit.getSha());
+            if (existing == null) {
+                toInsert.add(commit);
+            } else if (derivedFieldsChanged(existing, commit)) {
+                toUpdate.add(commit);
+            }
+        }
+        int batchSize = gitHubSyncConfig.getWriteBatchSize();
+        int[] written = pageTransaction.execute(status -> new int[] {
+                gitCommitRepository.batchInsertIfAbsent(toInsert, batchSize),
+                gitCommitRepository.batchUpdateDerivedFields(toUpdate, batchSize)
+        });
+        int inserted = written[0];
+        int updated = written[1];
+        int unchanged = pending.size() - toInsert.size() - toUpdate.size();
+        return new IngestResult(inserted, updated, unchanged, detailResult.failures());
+    }
+
+    /**
+     * Chuyển ISO-8601 (có offset) về giờ {@link #COMMIT_ZONE}.
+     */
+    public static LocalDateTime parseCommitDate(String isoDate) {
+        return ZonedDateTime.parse(isoDate, DateTimeFormatter.ISO_DATE_TIME)
+                .withZoneSameInstant(COMMIT_ZONE)
+                .toLocalDateTime();
+    }
+
+    /**
+     * Nội dung gốc của commit bất biến theo SHA → chỉ so sánh các trường suy ra.
+     */
+    private boolean derivedFieldsChanged(GitCommitStateProjection existing, GitCommit commit) {
+        return !Objects.equals(existing.getAuthorUserId(), commit.getAuthorUserId())
+                || !Objects.equals(existing.getAuthorLogin(), commit.getAuthorLogin())
+                || !Objects.equals(existing.getAdditions(), commit.getAdditions())
+                || !Objects.equals(existing.getDeletions(), commit.getDeletions())
+                || !Objects.equals(existing.getFilesChanged(), commit.getFilesChanged());
+    }
+
+    /**
+     * Kết quả ghi một lô commit.
+     *
+     * @param detailFailures SHA → lỗi khi lấy stats (commit vẫn được lưu, stats = null)
+     */
+    public record IngestResult(int inserted, int updated, int unchanged, Map<String, String> detailFailures) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.swp391.backend.integration.github;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Duyệt danh sách phân trang của GitHub theo header {@code Link: rel="next"}.
+ *
+ * <p>
+ * Mỗi lần {@link #next()} trả về một trang; ngay khi một trang về tới, trang kế
+ * tiếp được fetch trước trên virtual thread để caller xử lý (VD upsert) trang hiện
+ * tại trong lúc request sau đang chạy. Chỉ giữ tối đa hai trang trong bộ nhớ, bất
+ * kể repository lớn cỡ nào. Không có {@code rel="next"} → dừng, không tốn thêm một
+ * request lấy trang rỗng.
+ * </p>
+ *
+ * <p>
+ * Lỗi của request (kể cả request fetch trước) được ném lại nguyên vẹn từ
+ * {@link #hasNext()}. Dùng trong try-with-resources để bỏ request đang chạy khi
+ * caller dừng sớm.
+ * </p>
+ *
+ * @param <T> kiểu phần tử của trang
+ */
+public class GitHubPageIterator<T> implements Iterator<List<T>>, AutoCloseable {
+
+    private static final Executor PREFETCH_EXECUTOR = task -> Thread.ofVirtual()
+            .name("github-page-prefetch")
+            .start(task);
+
+    private final Function<String, Page<T>> fetcher;
+
+    private String firstUrl;
+    private CompletableFuture<Page<T>> inFlight;
+    private List<T> buffered;
+    private String bufferedNextUrl;
+    private String nextPageUrl;
+    private boolean closed;
+
+    GitHubPageIterator(String firstUrl, Function<String, Page<T>> fetcher) {
+        this.firstUrl = firstUrl;
+        this.fetcher = fetcher;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        if (inFlight == null) {
+            if (firstUrl == null) {
+                return false;
+            }
+            inFlight = fetchAsync(firstUrl);
+            firstUrl = null;
+        }
+
+        Page<T> page = await(inFlight);
+        inFlight = page.nextUrl() != null ? fetchAsync(page.nextUrl()) : null;
+
+        if (page.items() == null || page.items().isEmpty()) {
+            close();
+            return false;
+        }
+        buffered = page.items();
+        bufferedNextUrl = page.nextUrl();
+        return true;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<T> page = buffered;
+        buffered = null;
+        nextPageUrl = bufferedNextUrl;
+        return page;
+    }
+
+    /**
+     * URL của trang ngay sau trang vừa trả về từ {@link #next()}, null nếu đó là
+     * trang cuối. Dùng làm checkpoint để tiếp tục duyệt ở lần sau.
+     */
+    public String nextPageUrl() {
+        return nextPageUrl;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+
+    private CompletableFuture<Page<T>> fetchAsync(String url) {
+        return CompletableFuture.supplyAsync(() -> fetcher.apply(url), PREFETCH_EXECUTOR);
+    }
+
+    private Page<T> await(CompletableFuture<Page<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            close();
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Một trang kết quả.
+     *
+     * @param items   phần tử trong trang
+     * @param nextUrl URL trang kế tiếp theo {@code Link: rel="next"}, null nếu là trang cuối
+     */
+    public record Page<T>(List<T> items, String nextUrl) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubClientConfig;
+import com.swp391.backend.exception.GitHubApiException;
+import com.swp391.backend.integration.http.BackgroundCall;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Điều phối mọi request GitHub theo quota của từng token.
+ *
+ * <p>
+ * Quota được đọc từ header {@code X-RateLimit-Remaining} / {@code X-RateLimit-Reset}
+ * của mỗi response và dùng chung giữa mọi sync đang chạy với cùng token:
+ * </p>
+ * <ul>
+ * <li>Quota còn nhiều → request đi ngay.</li>
+ * <li>Quota dưới {@link GitHubClientConfig#getRateLimitPaceBelow()} → request được
+ * giãn đều để phần còn lại đủ dùng tới lúc reset.</li>
+ * <li>Quota chạm {@link GitHubClientConfig#getRateLimitReserve()} hoặc GitHub trả
+ * 403/429 do rate limit → request chờ (park) tới lúc reset rồi mới đi tiếp.</li>
+ * </ul>
+ * <p>
+ * Nhờ vậy nhiều nhóm sync cùng lúc chỉ chạy chậm lại chứ không làm SyncLog FAILED.
+ * Chỉ việc nền ({@link BackgroundCall}) mới được chờ lâu; request có người dùng hoặc
+ * webhook đang chờ chỉ chờ tối đa
+ * {@link GitHubClientConfig#getRateLimitInteractiveMaxWaitSeconds()} rồi báo 429 kèm
+ * thời điểm nên thử lại.
+ * Quota hiện tại của mỗi token được expose qua gauge
+ * {@code github.ratelimit.remaining{token=...}}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GitHubRateLimitScheduler {
+
+    private static final long RESET_SKEW_MILLIS = 1_000;
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 60_000;
+
+    private final GitHubClientConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GitHubRateLimitScheduler(GitHubClientConfig config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, Clock.systemUTC());
+    }
+
+    GitHubRateLimitScheduler(GitHubClientConfig config, MeterRegistry meterRegistry, Clock clock) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Chờ tới lượt gửi request cho token. Gọi ngay trước mỗi request.
+     *
+     * @throws GitHubApiException 429 (kèm {@code retryAfterSeconds}) nếu phải chờ lâu hơn
+     *                            {@link GitHubClientConfig#getRateLimitMaxWaitSeconds()} (việc nền)
+     *                            hoặc {@link GitHubClientConfig#getRateLimitInteractiveMaxWaitSeconds()}
+     */
+    public void acquire(String token) {
+        Budget budget = budgetOf(token);
+        long waitMillis;
+        synchronized (budget) {
+            long now = clock.millis();
+            if (budget.resetAtMillis <= now) {
+                // Cửa sổ quota cũ đã qua → chưa biết quota mới cho tới response kế tiếp
+                budget.remaining = -1;
+                budget.nextSlotMillis = now;
+            }
+
+            long slot = Math.max(now, budget.nextSlotMillis);
+            if (budget.remaining >= 0 && budget.remaining <= config.getRateLimitReserve()) {
+                slot = Math.max(slot, budget.resetAtMillis + RESET_SKEW_MILLIS);
+            } else if (budget.remaining >= 0 && budget.remaining < config.getRateLimitPaceBelow()) {
+                long usable = Math.max(1, budget.remaining - config.getRateLimitReserve());
+                budget.nextSlotMillis = slot + Math.max(0, budget.resetAtMillis - now) / usable;
+            }
+
+            waitMillis = slot - now;
+            long maxWaitSeconds = BackgroundCall.isActive()
+                    ? config.getRateLimitMaxWaitSeconds()
+                    : config.getRateLimitInteractiveMaxWaitSeconds();
+            if (waitMillis > maxWaitSeconds * 1000) {
+                throw new GitHubApiException("GitHub Rate Limit exceeded. Resets at: "
+                        + formatTime(budget.resetAtMillis), HttpStatus.TOO_MANY_REQUESTS.value(),
+                        (waitMillis + 999) / 1000);
+            }
+            if (budget.remaining > 0) {
+                // Trừ trước để các request song song không cùng tiêu một suất
+                budget.remaining--;
+            }
+        }
+
+        if (waitMillis > 0) {
+            log.info("[GitHub RateLimit] Token {} parked for {} ms (remaining={})",
+                    budget.identity, waitMillis, budget.remaining);
+            sleep(waitMillis);
+        }
+    }
+
+    /**
+     * Cập nhật quota từ header của một response (kể cả 304 và response lỗi).
+     */
+    public void record(String token, HttpHeaders headers) {
+        if (headers == null) {
+            return;
+        }
+        Long remaining = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+        Long reset = parseLong(headers.getFirst("X-RateLimit-Reset"));
+        if (remaining == null || reset == null) {
+            return;
+        }
+
+        Budget budget = budgetOf(token);
+        synchronized (budget) {
+            long resetAtMillis = reset * 1000;
+            if (resetAtMillis == budget.resetAtMillis && budget.remaining >= 0) {
+                // Cùng cửa sổ: response về không theo thứ tự → giữ giá trị nhỏ hơn
+                budget.remaining = Math.min(budget.remaining, remaining);
+            } else if (resetAtMillis >= budget.resetAtMillis) {
+                budget.remaining = remaining;
+                budget.resetAtMillis = resetAtMillis;
+            }
+        }
+    }
+
+    /**
+     * Xác định lỗi có phải do rate limit (primary hoặc secondary) hay không; nếu có
+     * thì ghi nhận để các request sau của token cùng chờ.
+     *
+     * @return true nếu nên chờ rồi thử lại request
+     */
+    public boolean onRateLimited(String token, HttpStatusCode status, HttpHeaders headers) {
+        boolean forbiddenOrTooMany = status.value() == HttpStatus.FORBIDDEN.value()
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        if (!forbiddenOrTooMany || headers == null) {
+            return false;
+        }
+
+        Long retryAfter = parseLong(headers.getFirst(HttpHeaders.RETRY_AFTER));
+        Long remaining = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+        Long reset = parseLong(headers.getFirst("X-RateLimit-Reset"));
+        boolean rateLimited = retryAfter != null
+                || (remaining != null && remaining == 0)
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        if (!rateLimited) {
+            // 403 do thiếu quyền → không phải rate limit
+            return false;
+        }
+
+        long now = clock.millis();
+        long resumeAt;
+        if (retryAfter != null) {
+            resumeAt = now + retryAfter * 1000;
+        } else if (reset != null) {
+            resumeAt = reset * 1000;
+        } else {
+            resumeAt = now + DEFAULT_RETRY_AFTER_MILLIS;
+        }
+
+        Budget budget = budgetOf(token);
+        synchronized (budget) {
+            budget.remaining = 0;
+            budget.resetAtMillis = Math.max(budget.resetAtMillis, resumeAt);
+        }
+        log.warn("[GitHub RateLimit] Token {} rate limited ({}), resuming at {}",
+                budget.identity, status.value(), formatTime(budget.resetAtMillis));
+        return true;
+    }
+
+    /**
+     * @return quota còn lại đã biết của token, -1 nếu chưa biết
+     */
+    public long remaining(String token) {
+        Budget budget = budgets.get(GitHubTokenIdentity.of(token));
+        return budget != null ? budget.remaining : -1;
+    }
+
+    protected void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for GitHub rate limit reset", e);
+        }
+    }
+
+    private Budget budgetOf(String token) {
+        return budgets.computeIfAbsent(GitHubTokenIdentity.of(token), identity -> {
+            Budget budget = new Budget(identity);
+            Gauge.builder("github.ratelimit.remaining", budget, b -> b.remaining)
+                    .description("Remaining GitHub API quota per token (-1 = unknown)")
+                    .tag("token", identity)
+                    .register(meterRegistry);
+            return budget;
+        });
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String formatTime(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis)
+                .atZone(ZoneId.systemDefault())
+                .format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+    }
+
+    /**
+     * Trạng thái quota của một token. Truy cập trong {@code synchronized (budget)}.
+     */
+    private static final class Budget {
+        private final String identity;
+        private volatile long remaining = -1;
+        private long resetAtMillis = 0;
+        private long nextSlotMillis = 0;
+
+        private Budget(String identity) {
+            this.identity = identity;
+        }
+    }
+}
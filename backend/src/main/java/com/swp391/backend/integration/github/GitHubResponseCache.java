@@ -0,0 +1,135 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubClientConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache phản hồi GitHub cho {@link GitHubClient}.
+ *
+ * <ul>
+ * <li><b>Validator cache (RAM):</b> lưu {@code ETag} + body (+ header {@code Link}
+ * để phân trang) theo (token, URL).
+ * Request lặp lại gửi {@code If-None-Match}; GitHub trả {@code 304 Not Modified}
+ * (không tính vào rate limit) và body được lấy lại từ cache. Giới hạn theo dung
+ * lượng, loại bỏ theo LRU.</li>
+ * <li><b>Commit cache (đĩa):</b> chi tiết một commit là bất biến theo SHA nên
+ * được lưu vĩnh viễn, lần sau không cần gọi mạng.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class GitHubResponseCache {
+
+    private final long maxBytes;
+    private final Path commitDir;
+
+    /** Access-order LinkedHashMap → duyệt từ đầu là entry ít dùng nhất. */
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes = 0;
+
+    public GitHubResponseCache(GitHubClientConfig config) {
+        this.maxBytes = Math.max(0, config.getCacheMaxBytes());
+        String dir = config.getCommitCacheDir();
+        this.commitDir = (dir == null || dir.isBlank()) ? null : Paths.get(dir);
+    }
+
+    // ── Validator cache ───────────────────────────────────────────────────────
+
+    public static String keyOf(String token, String url) {
+        return GitHubTokenIdentity.of(token) + " " + url;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, String etag, String body, String link) {
+        if (etag == null || body == null) {
+            return;
+        }
+        CachedResponse response = new CachedResponse(etag, body, link);
+        long size = sizeOf(key, response);
+        if (size > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            currentBytes -= sizeOf(key, previous);
+        }
+        currentBytes += size;
+
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, CachedResponse> eldest = it.next();
+            currentBytes -= sizeOf(eldest.getKey(), eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(String key, CachedResponse response) {
+        int linkLength = response.link() != null ? response.link().length() : 0;
+        return 2L * (key.length() + response.body().length() + linkLength);
+    }
+
+    // ── Commit cache (đĩa) ────────────────────────────────────────────────────
+
+    /**
+     * @return JSON đã lưu của commit, hoặc null nếu chưa có / cache đĩa bị tắt
+     */
+    public String readCommit(String repoFullName, String sha) {
+        Path file = commitFile(repoFullName, sha);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("[GitHub Cache] Cannot read cached commit {}: {}", sha, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Ghi JSON commit ra đĩa (ghi file tạm rồi move để không để lại file dở dang).
+     * Lỗi I/O chỉ được log, không ảnh hưởng luồng gọi.
+     */
+    public void writeCommit(String repoFullName, String sha, String json) {
+        Path file = commitFile(repoFullName, sha);
+        if (file == null || json == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), sha, ".tmp");
+            Files.writeString(tmp, json, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[GitHub Cache] Cannot persist commit {}: {}", sha, e.getMessage());
+        }
+    }
+
+    private Path commitFile(String repoFullName, String sha) {
+        if (commitDir == null || repoFullName == null || sha == null || !sha.matches("[0-9a-fA-F]{7,64}")) {
+            return null;
+        }
+        String repoDir = repoFullName.toLowerCase().replaceAll("[^a-z0-9._-]", "__");
+        return commitDir.resolve(repoDir).resolve(sha.toLowerCase() + ".json");
+    }
+
+    /**
+     * Body đã cache kèm validator và header {@code Link} (null nếu không có).
+     */
+    public record CachedResponse(String etag, String body, String link) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.swp391.backend.integration.github;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Định danh ổn định cho một GitHub token mà không giữ token thô làm key.
+ * Dùng để gom state theo token (giới hạn concurrency, cache, rate-limit…).
+ */
+public final class GitHubTokenIdentity {
+
+    private GitHubTokenIdentity() {
+    }
+
+    /**
+     * @return 16 ký tự hex đầu của SHA-256(token); "anonymous" nếu token null
+     */
+    public static String of(String token) {
+        if (token == null) {
+            return "anonymous";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.swp391.backend.integration.http;
+
+/**
+ * Đánh dấu thread đang chạy việc nền – không có người dùng nào đang chờ response
+ * (sync theo lịch, sync {@code async=true}).
+ *
+ * <p>
+ * Chỉ trong phạm vi này mới được chờ rate limit lâu (tới lúc GitHub reset quota);
+ * request của người dùng và webhook chỉ chờ ngắn rồi trả 429 kèm {@code Retry-After}
+ * để không giữ thread servlet. Thread con thừa kế qua {@link InheritableThreadLocal}
+ * như {@link RetryBudget}.
+ * </p>
+ *
+ * <pre>
+ * try (BackgroundCall.Scope background = BackgroundCall.open()) {
+ *     ... gọi GitHub ...
+ * }
+ * </pre>
+ */
+public final class BackgroundCall {
+
+    private static final InheritableThreadLocal<Boolean> CURRENT = new InheritableThreadLocal<>();
+
+    private BackgroundCall() {
+        // utility class – no instantiation
+    }
+
+    public static Scope open() {
+        Boolean previous = CURRENT.get();
+        CURRENT.set(Boolean.TRUE);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /** @return true nếu thread hiện tại đang trong việc nền */
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(CURRENT.get());
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
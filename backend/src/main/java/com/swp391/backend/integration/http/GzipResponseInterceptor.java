@@ -0,0 +1,94 @@
+package com.swp391.backend.integration.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gửi {@code Accept-Encoding: gzip} và giải nén response tương ứng.
+ *
+ * <p>
+ * {@code java.net.http.HttpClient} không tự giải nén như trình duyệt; JSON của Jira
+ * (bulkfetch) và GitHub (danh sách commit) nén được 5–10 lần nên đáng làm thủ công.
+ * Response đã giải nén bỏ {@code Content-Encoding} / {@code Content-Length} để tầng
+ * trên đọc như response thường.
+ * </p>
+ */
+public class GzipResponseInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        return GZIP.equalsIgnoreCase(encoding) ? new GunzippedResponse(response) : response;
+    }
+
+    private static final class GunzippedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GunzippedResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(delegate.getHeaders());
+            copy.remove(HttpHeaders.CONTENT_ENCODING);
+            copy.remove(HttpHeaders.CONTENT_LENGTH);
+            this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gunzipOrEmpty(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        /** 304 / HEAD có thể kèm {@code Content-Encoding: gzip} nhưng body rỗng. */
+        private static InputStream gunzipOrEmpty(InputStream raw) throws IOException {
+            PushbackInputStream in = new PushbackInputStream(raw, 1);
+            int first = in.read();
+            if (first == -1) {
+                return InputStream.nullInputStream();
+            }
+            in.unread(first);
+            return new GZIPInputStream(in);
+        }
+    }
+}
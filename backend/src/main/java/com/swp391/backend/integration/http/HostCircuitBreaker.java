@@ -0,0 +1,100 @@
+package com.swp391.backend.integration.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker theo host.
+ *
+ * <pre>
+ *  CLOSED ──N lỗi liên tiếp──▶ OPEN ──hết openNanos──▶ HALF_OPEN (1 request thử)
+ *    ▲                                                   │ thành công → CLOSED
+ *    └───────────────────────────────────────────────────┘ lỗi → OPEN lại
+ * </pre>
+ *
+ * <p>
+ * "Lỗi" là 5xx hoặc lỗi kết nối / timeout – dấu hiệu provider đang sập. 4xx (kể cả
+ * 429) chứng tỏ server vẫn trả lời nên được tính là thành công ở đây.
+ * </p>
+ */
+@Slf4j
+public class HostCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public HostCircuitBreaker(int failureThreshold, long openSeconds) {
+        this(failureThreshold, openSeconds, System::nanoTime);
+    }
+
+    HostCircuitBreaker(int failureThreshold, long openSeconds, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = Math.max(0, openSeconds) * 1_000_000_000L;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws CircuitOpenException mạch của host đang mở (hoặc đang có request thử)
+     */
+    public void acquire(String host) throws CircuitOpenException {
+        HostState state = hosts.computeIfAbsent(host, h -> new HostState());
+        synchronized (state) {
+            if (state.openedAt == null) {
+                return;
+            }
+            long elapsed = clock.getAsLong() - state.openedAt;
+            if (elapsed >= openNanos && !state.probing) {
+                state.probing = true; // HALF_OPEN: chỉ một request được đi thử
+                return;
+            }
+            long waitSeconds = Math.max(1, (openNanos - elapsed) / 1_000_000_000L);
+            throw new CircuitOpenException(host, waitSeconds);
+        }
+    }
+
+    public void onSuccess(String host) {
+        HostState state = hosts.get(host);
+        if (state == null) {
+            return;
+        }
+        synchronized (state) {
+            if (state.openedAt != null) {
+                log.info("[HTTP] circuit for {} closed", host);
+            }
+            state.failures = 0;
+            state.openedAt = null;
+            state.probing = false;
+        }
+    }
+
+    public void onFailure(String host) {
+        HostState state = hosts.computeIfAbsent(host, h -> new HostState());
+        synchronized (state) {
+            state.failures++;
+            if (state.probing || (state.openedAt == null && state.failures >= failureThreshold)) {
+                log.warn("[HTTP] circuit for {} opened after {} consecutive failure(s)", host, state.failures);
+                state.openedAt = clock.getAsLong();
+            }
+            state.probing = false;
+        }
+    }
+
+    private static final class HostState {
+        private int failures;
+        private Long openedAt;
+        private boolean probing;
+    }
+
+    /** Ném ra từ interceptor → RestTemplate bọc thành {@code ResourceAccessException}. */
+    public static class CircuitOpenException extends IOException {
+        public CircuitOpenException(String host, long retryInSeconds) {
+            super("Circuit open for " + host + " (provider failing), retry in ~" + retryInSeconds + "s");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.swp391.backend.integration.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Hàng đợi tuần tự theo key, chạy trên virtual thread.
+ *
+ * <p>
+ * Task của cùng key chạy lần lượt theo thứ tự nhận (VD created → updated → deleted
+ * của một issue Jira, các push liên tiếp của một repo GitHub không bị đảo), các key
+ * khác nhau chạy song song. Task lỗi chỉ được log, không chặn task phía sau.
+ * </p>
+ *
+ * <p>
+ * Không có hàng nào còn việc thì không giữ gì trong RAM: phần tử cuối hàng tự gỡ
+ * khỏi map khi chạy xong. Bean cụ thể khai báo ở {@code WebhookQueueConfig}.
+ * </p>
+ */
+@Slf4j
+public class KeyedSerialQueue {
+
+    private final Executor executor;
+    private final String logPrefix;
+
+    /** Task cuối cùng đã xếp hàng của mỗi key. */
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * @param threadName tên virtual thread chạy task (VD {@code jira-webhook})
+     * @param logPrefix  tiền tố log khi task lỗi (VD {@code [Jira Webhook]})
+     */
+    public KeyedSerialQueue(String threadName, String logPrefix) {
+        this.executor = task -> Thread.ofVirtual().name(threadName).start(task);
+        this.logPrefix = logPrefix;
+    }
+
+    /**
+     * Xếp {@code task} sau task trước đó của cùng {@code key}.
+     *
+     * @return future hoàn tất khi task chạy xong (không bao giờ lỗi)
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        CompletableFuture<Void> next = tails.compute(key, (k, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+            return previous.thenRunAsync(() -> runSafely(k, task), executor);
+        });
+        next.whenComplete((ignored, error) -> tails.remove(key, next));
+        return next;
+    }
+
+    /** Số hàng đang có task chờ / đang chạy. */
+    public int activeQueues() {
+        return tails.size();
+    }
+
+    private void runSafely(String key, Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("{} task for {} failed: {}", logPrefix, key, e.getMessage(), e);
+        }
+    }
+}
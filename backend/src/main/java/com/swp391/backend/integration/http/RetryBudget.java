@@ -0,0 +1,65 @@
+package com.swp391.backend.integration.http;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Số lần retry còn lại của một lượt sync, dùng chung cho mọi request của lượt đó.
+ *
+ * <p>
+ * Gắn vào thread đang sync bằng {@link #open(int)}; thread con (prefetch trang,
+ * fetch chi tiết commit trên virtual thread) thừa kế qua
+ * {@link InheritableThreadLocal} nên cùng trừ vào một budget. Ngoài lượt sync (request
+ * của người dùng) không có budget – mỗi request chỉ bị giới hạn bởi số lần thử.
+ * </p>
+ *
+ * <pre>
+ * try (RetryBudget.Scope retryBudget = RetryBudget.open(syncConfig.getRetryBudget())) {
+ *     ... gọi Jira / GitHub ...
+ * }
+ * </pre>
+ */
+public final class RetryBudget {
+
+    private static final InheritableThreadLocal<AtomicInteger> CURRENT = new InheritableThreadLocal<>();
+
+    private RetryBudget() {
+        // utility class – no instantiation
+    }
+
+    public static Scope open(int retries) {
+        AtomicInteger previous = CURRENT.get();
+        CURRENT.set(new AtomicInteger(Math.max(0, retries)));
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Lấy một lượt retry từ budget hiện tại.
+     *
+     * @return false nếu đang trong lượt sync và budget đã hết
+     */
+    static boolean tryConsume() {
+        AtomicInteger remaining = CURRENT.get();
+        if (remaining == null) {
+            return true;
+        }
+        return remaining.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0;
+    }
+
+    /** @return số retry còn lại, -1 nếu không trong lượt sync */
+    public static int remaining() {
+        AtomicInteger remaining = CURRENT.get();
+        return remaining != null ? remaining.get() : -1;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.swp391.backend.integration.http;
+
+import com.swp391.backend.config.OutboundHttpConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry + circuit breaker cho request tới Jira/GitHub.
+ *
+ * <ul>
+ * <li>Retry khi lỗi kết nối / timeout hoặc status thuộc {@code retryableStatuses}
+ * (VD 502/503/504, 429 với Jira). Chờ theo {@code Retry-After} nếu server gửi, không
+ * thì exponential backoff có jitter.</li>
+ * <li>Mỗi lần retry trừ vào {@link RetryBudget} của lượt sync hiện tại (nếu có).</li>
+ * <li>{@link HostCircuitBreaker}: provider lỗi liên tục → request tới host đó lỗi ngay
+ * thay vì chờ hết timeout.</li>
+ * </ul>
+ *
+ * <p>
+ * Phải là interceptor <b>cuối cùng</b> của RestTemplate: mỗi lần gọi lại
+ * {@code execution.execute} khi đó tạo một request mới tới server. Hai client chỉ
+ * gửi request đọc (GET, POST search/bulkfetch của Jira) nên retry an toàn.
+ * </p>
+ */
+@Slf4j
+public class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OutboundHttpConfig config;
+    private final Set<Integer> retryableStatuses;
+    private final HostCircuitBreaker circuitBreaker;
+    private final Sleeper sleeper;
+    private final LongSupplier wallClockMillis;
+
+    public RetryInterceptor(OutboundHttpConfig config, Set<Integer> retryableStatuses) {
+        this(config, retryableStatuses,
+                new HostCircuitBreaker(config.getCircuitFailureThreshold(), config.getCircuitOpenSeconds()),
+                Thread::sleep, System::currentTimeMillis);
+    }
+
+    RetryInterceptor(OutboundHttpConfig config, Set<Integer> retryableStatuses,
+            HostCircuitBreaker circuitBreaker, Sleeper sleeper, LongSupplier wallClockMillis) {
+        this.config = config;
+        this.retryableStatuses = Set.copyOf(retryableStatuses);
+        this.circuitBreaker = circuitBreaker;
+        this.sleeper = sleeper;
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost();
+        int maxAttempts = Math.max(1, config.getRetryMaxAttempts());
+
+        for (int attempt = 1;; attempt++) {
+            circuitBreaker.acquire(host);
+
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                circuitBreaker.onFailure(host);
+                if (attempt >= maxAttempts || !RetryBudget.tryConsume()) {
+                    throw e;
+                }
+                long delay = backoffMillis(attempt);
+                log.warn("[HTTP] {} {} failed ({}), retry {}/{} in {} ms", request.getMethod(), host,
+                        e.getMessage(), attempt, maxAttempts - 1, delay);
+                sleep(delay);
+                continue;
+            }
+
+            int status = response.getStatusCode().value();
+            if (status >= 500) {
+                circuitBreaker.onFailure(host);
+            } else {
+                circuitBreaker.onSuccess(host);
+            }
+            if (!retryableStatuses.contains(status) || attempt >= maxAttempts) {
+                return response;
+            }
+
+            long delay = retryAfterMillis(response.getHeaders());
+            if (delay < 0) {
+                delay = backoffMillis(attempt);
+            } else if (delay > config.getRetryAfterMaxSeconds() * 1000) {
+                return response; // server bảo chờ quá lâu → trả lỗi cho caller
+            }
+            if (!RetryBudget.tryConsume()) {
+                return response;
+            }
+            log.warn("[HTTP] {} {} returned {}, retry {}/{} in {} ms", request.getMethod(), host, status,
+                    attempt, maxAttempts - 1, delay);
+            response.close();
+            sleep(delay);
+        }
+    }
+
+    /** Full jitter: ngẫu nhiên trong [0, min(max, base × 2^(attempt-1))]. */
+    long backoffMillis(int attempt) {
+        long cap = Math.min(config.getRetryMaxDelayMs(),
+                config.getRetryBaseDelayMs() << Math.min(attempt - 1, 20));
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * {@code Retry-After}: số giây hoặc HTTP-date.
+     *
+     * @return -1 nếu không có / không đọc được
+     */
+    long retryAfterMillis(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        value = value.trim();
+        try {
+            return Math.max(0, Long.parseLong(value)) * 1000;
+        } catch (NumberFormatException ignored) {
+            // không phải số giây → thử HTTP-date
+        }
+        try {
+            long at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, at - wallClockMillis.getAsLong());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private void sleep(long millis) throws IOException {
+        try {
+            sleeper.sleep(Duration.ofMillis(millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration duration) throws InterruptedException;
+    }
+}
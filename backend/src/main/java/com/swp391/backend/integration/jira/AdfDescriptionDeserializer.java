@@ -0,0 +1,19 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserialize field {@code description} (ADF) thẳng thành plain text trong lúc đọc
+ * response search/bulkfetch, xem {@link AdfTextExtractor}.
+ */
+public class AdfDescriptionDeserializer extends JsonDeserializer<String> {
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        return AdfTextExtractor.toPlainText(parser);
+    }
+}
@@ -0,0 +1,115 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Chuyển Atlassian Document Format (ADF) sang plain text ngay trên token stream của
+ * Jackson, không dựng cây {@code Map}/{@code List} trung gian.
+ *
+ * <p>
+ * Kết quả giống cách duyệt cây trước đây: nối mọi node {@code "text"} theo thứ tự,
+ * xuống dòng sau mỗi block node có {@code content} (paragraph, heading, list…),
+ * rồi trim; rỗng → null. Field khác ({@code attrs}, {@code marks}…) bị bỏ qua bằng
+ * {@link JsonParser#skipChildren()}.
+ * </p>
+ */
+public final class AdfTextExtractor {
+
+    private AdfTextExtractor() {
+    }
+
+    /**
+     * Đọc một giá trị JSON bắt đầu từ token hiện tại của {@code parser} và trả về
+     * plain text. Khi trả về, parser đứng ở token cuối của giá trị đó.
+     *
+     * @return plain text, hoặc null nếu description null/rỗng
+     */
+    public static String toPlainText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            // Jira API v2 / dữ liệu cũ: description là chuỗi thường
+            String s = parser.getText();
+            return s.isBlank() ? null : s;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            StringBuilder sb = new StringBuilder();
+            appendNode(parser, sb);
+            return trimToNull(sb);
+        }
+        if (token == JsonToken.START_ARRAY) {
+            // Hiếm gặp nhưng handle để không crash
+            StringBuilder sb = new StringBuilder();
+            appendChildren(parser, sb);
+            return trimToNull(sb);
+        }
+        return parser.getText();
+    }
+
+    /** Parser đứng ở START_OBJECT của node; khi trả về đứng ở END_OBJECT tương ứng. */
+    private static void appendNode(JsonParser parser, StringBuilder sb) throws IOException {
+        int start = sb.length();
+        String type = null;
+        String text = null;
+        boolean hasContent = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "type" -> type = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "text" -> text = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "content" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        hasContent = true;
+                        appendChildren(parser, sb);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Text của node đứng trước nội dung con, kể cả khi "content" xuất hiện trước "text"/"type"
+        if ("text".equals(type) && text != null) {
+            sb.insert(start, text);
+        }
+        if (hasContent && isBlockNode(type)) {
+            sb.append('\n');
+        }
+    }
+
+    /** Parser đứng ở START_ARRAY; khi trả về đứng ở END_ARRAY tương ứng. */
+    private static void appendChildren(JsonParser parser, StringBuilder sb) throws IOException {
+        JsonToken child;
+        while ((child = parser.nextToken()) != JsonToken.END_ARRAY && child != null) {
+            if (child == JsonToken.START_OBJECT) {
+                appendNode(parser, sb);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static boolean isBlockNode(String type) {
+        if (type == null)
+            return false;
+        return switch (type) {
+            case "paragraph", "heading", "bulletList", "orderedList",
+                    "listItem", "blockquote", "codeBlock" ->
+                true;
+            default -> false;
+        };
+    }
+
+    private static String trimToNull(StringBuilder sb) {
+        String result = sb.toString().trim();
+        return result.isEmpty() ? null : result;
+    }
+}
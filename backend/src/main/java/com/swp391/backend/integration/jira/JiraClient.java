@@ -1,12 +1,15 @@
 package com.swp391.backend.integration.jira;
 
+import com.swp391.backend.config.RestTemplateConfig;
 import com.swp391.backend.dto.response.JiraProjectResponse;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.dto.JiraBoardListResponse;
 import com.swp391.backend.integration.jira.dto.JiraBulkFetchResponse;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
 import com.swp391.backend.integration.jira.dto.JiraSearchJqlResponse;
 import com.swp391.backend.integration.jira.dto.JiraSprintListResponse;
 import com.swp391.backend.integration.jira.dto.JiraVersion;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
@@ -24,7 +27,7 @@ public class JiraClient {
 
     private final RestTemplate restTemplate;
 
-    public JiraClient(RestTemplate restTemplate) {
+    public JiraClient(@Qualifier(RestTemplateConfig.JIRA) RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
     }
 
@@ -127,6 +130,23 @@ public class JiraClient {
         }
     }
 
+    /**
+     * Duyệt toàn bộ issue khớp JQL theo trang; search trang kế tiếp và bulkfetch
+     * trang hiện tại chạy song song (xem {@link JiraIssuePageIterator}).
+     *
+     * @param depth số trang được fetch trước tối đa
+     */
+    public JiraIssuePageIterator issuePages(String baseUrl, String jiraEmail, String token,
+            String jql, int pageSize, int depth) {
+        return new JiraIssuePageIterator(
+                pageToken -> searchIssueIdsByJql(baseUrl, jiraEmail, token, jql, pageSize, pageToken),
+                ids -> {
+                    JiraBulkFetchResponse bulk = bulkFetchIssueDetails(baseUrl, jiraEmail, token, ids);
+                    return bulk != null && bulk.getIssues() != null ? bulk.getIssues() : List.<JiraIssue>of();
+                },
+                depth);
+    }
+
     public JiraBulkFetchResponse bulkFetchIssueDetails(String baseUrl, String jiraEmail, String token,
             List<String> issueIds) {
         if (issueIds == null || issueIds.isEmpty()) {
@@ -314,14 +334,6 @@ public class JiraClient {
         }
     }
 
-    // ── Labels: search issues for label aggregation ──────────────────────────
-
-    public JiraSearchJqlResponse searchIssuesForLabels(String baseUrl, String jiraEmail, String token,
-            String jql, int maxResults, String nextPageToken) {
-        // Reuse the existing searchIssueIdsByJql method – logic giống nhau
-        return searchIssueIdsByJql(baseUrl, jiraEmail, token, jql, maxResults, nextPageToken);
-    }
-
     // ── Private helpers ───────────────────────────────────────────────────────
 
     private HttpHeaders buildAuthHeaders(String jiraEmail, String token) {
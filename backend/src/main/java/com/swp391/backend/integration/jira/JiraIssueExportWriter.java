@@ -0,0 +1,160 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.dto.response.JiraIssueExportDto;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ghi {@link JiraIssueExportDto} ra response theo từng trang (NDJSON hoặc CSV).
+ *
+ * <p>
+ * Mỗi {@link #writePage(List)} ghi xong là flush xuống socket: client nhận dữ liệu
+ * ngay khi trang đầu tiên về, server không giữ quá một trang trong RAM. Client ngắt
+ * kết nối → {@link IOException} ở lần ghi/flush kế tiếp.
+ * </p>
+ */
+public abstract class JiraIssueExportWriter {
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * @return null với {@code json} (trả về {@code ApiResponse} như cũ)
+         * @throws IllegalArgumentException format không hỗ trợ
+         */
+        public static Format parse(String format) {
+            if (format == null || format.isBlank() || format.equalsIgnoreCase("json")) {
+                return null;
+            }
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public static JiraIssueExportWriter open(Format format, OutputStream out, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out, objectMapper);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    public abstract void writePage(List<JiraIssueExportDto> issues) throws IOException;
+
+    // ── NDJSON: một object JSON mỗi dòng ──────────────────────────────────────
+
+    private static final class NdjsonWriter extends JiraIssueExportWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.flush(); // gửi header response ngay
+        }
+
+        @Override
+        public void writePage(List<JiraIssueExportDto> issues) throws IOException {
+            for (JiraIssueExportDto issue : issues) {
+                generator.writeObject(issue);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    // ── CSV (RFC 4180) ────────────────────────────────────────────────────────
+
+    private static final class CsvWriter extends JiraIssueExportWriter {
+
+        private static final String HEADER = "key,summary,description,issueType,status,priority,assignee,updated";
+
+        /** Ký tự đầu ô khiến bảng tính hiểu là công thức. */
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write("\r\n");
+            writer.flush();
+        }
+
+        @Override
+        public void writePage(List<JiraIssueExportDto> issues) throws IOException {
+            for (JiraIssueExportDto issue : issues) {
+                field(issue.getKey());
+                writer.write(',');
+                field(issue.getSummary());
+                writer.write(',');
+                field(issue.getDescription());
+                writer.write(',');
+                field(issue.getIssueType());
+                writer.write(',');
+                field(issue.getStatus());
+                writer.write(',');
+                field(issue.getPriority());
+                writer.write(',');
+                field(issue.getAssignee());
+                writer.write(',');
+                field(issue.getUpdated());
+                writer.write("\r\n");
+            }
+            writer.flush();
+        }
+
+        /**
+         * Bọc trong "" khi có dấu phẩy, nháy kép hoặc xuống dòng; "" bên trong nhân đôi.
+         * Ô bắt đầu bằng {@code = + - @}, tab hoặc CR được thêm {@code '} phía trước để
+         * Excel/Sheets không hiểu thành công thức (CSV injection) – summary/description do
+         * người dùng Jira nhập tự do.
+         */
+        private void field(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            if (FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
+import com.swp391.backend.integration.jira.dto.JiraIssueIdRef;
+import com.swp391.backend.integration.jira.dto.JiraSearchJqlResponse;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Duyệt issue theo JQL bằng hai bước search → bulkfetch, chạy theo pipeline.
+ *
+ * <p>
+ * Một virtual thread chạy chuỗi {@code search/jql} tuần tự (mỗi trang cần
+ * {@code nextPageToken} của trang trước); ngay khi có danh sách ID của trang N, nó
+ * gửi {@code bulkfetch} trang N trên virtual thread khác rồi lập tức search trang
+ * N+1. Caller nhận từng trang qua {@link #next()} và xử lý (VD upsert DB) trong lúc
+ * các request sau đang chạy.
+ * </p>
+ *
+ * <p>
+ * {@code depth} giới hạn số trang đã gửi bulkfetch nhưng caller chưa lấy; đủ
+ * {@code depth} trang thì việc search dừng lại chờ caller (backpressure), nên bộ nhớ
+ * chỉ giữ tối đa {@code depth + 1} trang.
+ * </p>
+ *
+ * <p>
+ * Lỗi của request được ném lại nguyên vẹn từ {@link #hasNext()} theo đúng thứ tự
+ * trang. Dùng trong try-with-resources để dừng pipeline khi caller thoát sớm.
+ * </p>
+ */
+public class JiraIssuePageIterator implements Iterator<List<JiraIssue>>, AutoCloseable {
+
+    private static final Executor FETCH_EXECUTOR = task -> Thread.ofVirtual()
+            .name("jira-bulkfetch")
+            .start(task);
+
+    /** Đánh dấu hết trang trong hàng đợi. */
+    private static final CompletableFuture<List<JiraIssue>> END = CompletableFuture.completedFuture(null);
+
+    private final Function<String, JiraSearchJqlResponse> search;
+    private final Function<List<String>, List<JiraIssue>> bulkFetch;
+    private final BlockingQueue<CompletableFuture<List<JiraIssue>>> ready;
+
+    private Thread producer;
+    private List<JiraIssue> buffered;
+    private volatile boolean closed;
+
+    /**
+     * @param search    search/jql theo {@code nextPageToken} (null = trang đầu)
+     * @param bulkFetch lấy chi tiết issue theo danh sách ID
+     * @param depth     số trang được fetch trước tối đa (≥ 1)
+     */
+    JiraIssuePageIterator(Function<String, JiraSearchJqlResponse> search,
+            Function<List<String>, List<JiraIssue>> bulkFetch, int depth) {
+        this.search = search;
+        this.bulkFetch = bulkFetch;
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, depth));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (buffered != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        if (producer == null) {
+            producer = Thread.ofVirtual().name("jira-search").start(this::produce);
+        }
+
+        while (true) {
+            CompletableFuture<List<JiraIssue>> next;
+            try {
+                next = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new BusinessException("Jira pagination interrupted", 500);
+            }
+            if (next == END) {
+                close();
+                return false;
+            }
+            List<JiraIssue> page = await(next);
+            if (page != null && !page.isEmpty()) {
+                buffered = page;
+                return true;
+            }
+            // bulkfetch trả về rỗng (issue bị xoá giữa hai bước) → sang trang sau
+        }
+    }
+
+    @Override
+    public List<JiraIssue> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<JiraIssue> page = buffered;
+        buffered = null;
+        return page;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (producer != null) {
+            producer.interrupt();
+        }
+        List<CompletableFuture<List<JiraIssue>>> pending = new ArrayList<>();
+        ready.drainTo(pending);
+        pending.forEach(future -> future.cancel(true));
+    }
+
+    // ── Producer ─────────────────────────────────────────────────────────────
+
+    private void produce() {
+        String pageToken = null;
+        try {
+            while (!closed) {
+                JiraSearchJqlResponse searchResp = search.apply(pageToken);
+                List<String> ids = extractIds(searchResp != null ? searchResp.getIssues() : null);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                // close() trong lúc search đang chạy → không gửi bulkfetch không ai nhận
+                if (closed) {
+                    return;
+                }
+
+                // bulkfetch trang hiện tại chạy song song với search trang kế tiếp
+                CompletableFuture<List<JiraIssue>> fetch =
+                        CompletableFuture.supplyAsync(() -> bulkFetch.apply(ids), FETCH_EXECUTOR);
+                ready.put(fetch);
+                if (closed) {
+                    // close() đã drain hàng đợi trước khi put → tự huỷ
+                    fetch.cancel(true);
+                    return;
+                }
+
+                boolean isLast = Boolean.TRUE.equals(searchResp.getIsLast())
+                        || searchResp.getNextPageToken() == null;
+                if (isLast) {
+                    break;
+                }
+                // Safety guard: token không thoát → dừng thay vì lặp vô hạn
+                if (Objects.equals(searchResp.getNextPageToken(), pageToken)) {
+                    throw new BusinessException(
+                            "Jira pagination aborted (safety guard triggered): nextPageToken not advancing", 500);
+                }
+                pageToken = searchResp.getNextPageToken();
+            }
+            ready.put(END);
+        } catch (InterruptedException e) {
+            // close() từ caller
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            try {
+                ready.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<JiraIssue> await(CompletableFuture<List<JiraIssue>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            close();
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private static List<String> extractIds(List<JiraIssueIdRef> refs) {
+        if (refs == null || refs.isEmpty()) {
+            return List.of();
+        }
+        return refs.stream()
+                .map(JiraIssueIdRef::getId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
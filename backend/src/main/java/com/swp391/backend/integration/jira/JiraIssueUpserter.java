@@ -0,0 +1,829 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.entity.*;
+import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.jira.dto.*;
+import com.swp391.backend.repository.*;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ghi issue Jira vào Requirement/Task theo từng lô, dùng chung cho sync thủ công
+ * ({@code JiraManualSyncServiceImpl}) và các luồng nhận issue lẻ.
+ * Mapping: Epic → Requirement, Story/Task/Bug… → Task, Sub-task → child Task.
+ *
+ * <h3>Luồng xử lý</h3>
+ *
+ * <pre>
+ *  openContext(group, user)   → nạp bảng tra cứu status/priority một lần
+ *  upsertPage(ctx, page) × N  → mỗi trang một transaction riêng (REQUIRES_NEW):
+ *      1. gom accountId assignee + key parent chưa biết của cả trang → query IN
+ *      2. Epic → Story → Sub-task chỉ tra cứu map trong RAM;
+ *         chưa thấy parent → hoãn lại
+ *  resolveDeferred(ctx)       → ghi các issue bị hoãn khi parent đã xuất hiện ở trang sau
+ *  deleteIssue(groupId, key)  → issue bị xoá trên Jira (webhook)
+ * </pre>
+ *
+ * <p>
+ * Cùng transaction của trang, label của các issue đã ghi (hoặc không đổi) được đối
+ * chiếu với bảng {@code JiraIssueLabel}; có thay đổi thì {@link JiraLabelIndex} của
+ * group bị evict sau khi commit.
+ * </p>
+ *
+ * <p>
+ * Issue đã có trong DB với cùng {@code jiraUpdatedAt} và cùng liên kết nội bộ
+ * (requirement, task cha, assignee) được bỏ qua hoàn toàn — không set field, không
+ * UPDATE — và chỉ tính vào {@link SyncContext#unchanged()}. Bản có {@code updated} cũ
+ * hơn bản đã ghi (webhook đến trễ) cũng bị bỏ qua như vậy.
+ * </p>
+ *
+ * <p>
+ * Sau mỗi trang persistence context được flush + clear, nên bộ nhớ chỉ gồm map
+ * key → id và các issue bị hoãn (thường rất ít vì JQL sắp theo {@code created}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class JiraIssueUpserter {
+
+    // Status codes trong DB (phải khớp data seed)
+    private static final String TASK_STATUS_TODO = "TODO";
+    private static final String TASK_STATUS_IN_PROGRESS = "IN_PROGRESS";
+    private static final String TASK_STATUS_DONE = "DONE";
+    private static final String REQ_STATUS_ACTIVE = "ACTIVE";
+    private static final String REQ_STATUS_DONE = "DONE";
+    private static final String DEFAULT_PRIORITY_CODE = "MEDIUM";
+
+    // Jira issue type names (case-insensitive compare trong code)
+    private static final String JIRA_TYPE_EPIC = "epic";
+    private static final String JIRA_TYPE_SUBTASK = "subtask";
+
+    private final RequirementRepository requirementRepository;
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final RequirementStatusRepository requirementStatusRepository;
+    private final PriorityRepository priorityRepository;
+    private final UserRepository userRepository;
+    private final JiraIssueLabelRepository labelRepository;
+    private final JiraLabelIndex labelIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate pageTransaction;
+
+    public JiraIssueUpserter(RequirementRepository requirementRepository,
+            TaskRepository taskRepository,
+            TaskStatusRepository taskStatusRepository,
+            RequirementStatusRepository requirementStatusRepository,
+            PriorityRepository priorityRepository,
+            UserRepository userRepository,
+            JiraIssueLabelRepository labelRepository,
+            JiraLabelIndex labelIndex,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.requirementRepository = requirementRepository;
+        this.taskRepository = taskRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.requirementStatusRepository = requirementStatusRepository;
+        this.priorityRepository = priorityRepository;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.labelIndex = labelIndex;
+        this.entityManager = entityManager;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
+        this.pageTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // ── Context ───────────────────────────────────────────────────────────────
+
+    /**
+     * Nạp bảng tra cứu (status, priority) một lần cho cả lượt sync.
+     *
+     * @param triggeredBy dùng làm createdBy cho Requirement mới; null → Epic mới bị bỏ qua
+     */
+    public SyncContext openContext(StudentGroup studentGroup, User triggeredBy) {
+        Map<String, TaskStatus> taskStatusMap = taskStatusRepository.findAll().stream()
+                .collect(Collectors.toMap(TaskStatus::getCode, Function.identity()));
+        Map<String, RequirementStatus> reqStatusMap = requirementStatusRepository.findAll().stream()
+                .collect(Collectors.toMap(RequirementStatus::getCode, Function.identity()));
+        Priority defaultPriority = priorityRepository.findByCode(DEFAULT_PRIORITY_CODE)
+                .or(() -> priorityRepository.findAll().stream().findFirst())
+                .orElseThrow(() -> new BusinessException("No Priority found in DB", 500));
+        return new SyncContext(studentGroup, triggeredBy, taskStatusMap, reqStatusMap, defaultPriority);
+    }
+
+    // ── Page upsert ───────────────────────────────────────────────────────────
+
+    /**
+     * Ghi một trang issue trong transaction riêng. Issue chưa tìm thấy parent được
+     * giữ lại trong {@code ctx} cho {@link #resolveDeferred(SyncContext)}.
+     */
+    public void upsertPage(SyncContext ctx, List<JiraIssue> issues) {
+        List<JiraIssue> epics = new ArrayList<>();
+        List<JiraIssue> stories = new ArrayList<>();
+        List<JiraIssue> subtasks = new ArrayList<>();
+        classifyIssues(issues, epics, stories, subtasks);
+
+        inPageTransaction(() -> {
+            Map<String, User> assignees = loadAssignees(stories, subtasks);
+            upsertEpics(ctx, epics);
+            preloadEpicIds(ctx, stories);
+            upsertStories(ctx, stories, assignees, true);
+            preloadStoryRefs(ctx, subtasks);
+            upsertSubtasks(ctx, subtasks, assignees, true);
+            syncLabels(ctx);
+        });
+        evictLabelsIfChanged(ctx);
+    }
+
+    /**
+     * Lượt cuối: ghi các Story/Sub-task bị hoãn vì parent nằm ở trang sau. Parent
+     * vẫn không có (không thuộc project hoặc chưa từng sync) → bỏ qua kèm warning.
+     */
+    public void resolveDeferred(SyncContext ctx) {
+        if (ctx.deferredStories.isEmpty() && ctx.deferredSubtasks.isEmpty()) {
+            return;
+        }
+        List<JiraIssue> stories = new ArrayList<>(ctx.deferredStories);
+        List<JiraIssue> subtasks = new ArrayList<>(ctx.deferredSubtasks);
+        ctx.deferredStories.clear();
+        ctx.deferredSubtasks.clear();
+        log.debug("[Jira Upsert] resolving {} deferred story(ies), {} deferred sub-task(s)",
+                stories.size(), subtasks.size());
+
+        inPageTransaction(() -> {
+            Map<String, User> assignees = loadAssignees(stories, subtasks);
+            preloadEpicIds(ctx, stories);
+            upsertStories(ctx, stories, assignees, false);
+            preloadStoryRefs(ctx, subtasks);
+            upsertSubtasks(ctx, subtasks, assignees, false);
+            syncLabels(ctx);
+        });
+        evictLabelsIfChanged(ctx);
+    }
+
+    // ── Delete ────────────────────────────────────────────────────────────────
+
+    /**
+     * Xoá bản ghi của issue đã bị xoá trên Jira ({@code jira:issue_deleted}).
+     * <ul>
+     * <li>Task (Story/Sub-task) → xoá kèm các sub-task con.</li>
+     * <li>Requirement (Epic) → chỉ xoá khi không còn Task nào thuộc về nó; còn thì giữ
+     * lại (Jira cho phép xoá Epic mà vẫn giữ Story) và ghi warning.</li>
+     * </ul>
+     * Label của issue (và của các sub-task bị xoá kèm) được xoá khỏi index trong cùng transaction.
+     *
+     * @return số bản ghi Requirement/Task đã xoá (0 nếu issue không thuộc group)
+     */
+    public int deleteIssue(Long groupId, String issueKey) {
+        int[] deleted = new int[1];
+        boolean[] labelsChanged = new boolean[1];
+        inPageTransaction(() -> {
+            // Key của issue bị xoá và của các sub-task bị xoá kèm – label của chúng đều phải bỏ
+            List<String> removedKeys = new ArrayList<>(List.of(issueKey));
+            List<Task> tasks = taskRepository.findAllByJiraIssueKeyIn(List.of(issueKey)).stream()
+                    .filter(task -> isInGroup(task.getStudentGroup(), groupId))
+                    .toList();
+            for (Task task : tasks) {
+                List<Task> children = taskRepository.findAllByParentTask_TaskId(task.getTaskId());
+                children.stream()
+                        .map(Task::getJiraIssueKey)
+                        .filter(Objects::nonNull)
+                        .forEach(removedKeys::add);
+                taskRepository.deleteAll(children);
+                taskRepository.delete(task);
+                deleted[0] += children.size() + 1;
+            }
+
+            for (Requirement req : requirementRepository.findAllByJiraIssueKeyIn(List.of(issueKey))) {
+                if (!isInGroup(req.getStudentGroup(), groupId)) {
+                    continue;
+                }
+                if (taskRepository.existsByRequirement_RequirementId(req.getRequirementId())) {
+                    log.warn("[Jira Upsert] Epic {} deleted in Jira but still has tasks – requirement {} kept",
+                            issueKey, req.getRequirementId());
+                    continue;
+                }
+                requirementRepository.delete(req);
+                deleted[0]++;
+            }
+
+            List<JiraIssueLabel> labels = labelRepository.findByGroupIdAndJiraIssueKeyIn(groupId, removedKeys);
+            if (!labels.isEmpty()) {
+                labelRepository.deleteAllInBatch(labels);
+                labelsChanged[0] = true;
+            }
+        });
+        if (labelsChanged[0]) {
+            labelIndex.evictGroup(groupId);
+        }
+        return deleted[0];
+    }
+
+    private static boolean isInGroup(StudentGroup group, Long groupId) {
+        return group != null && Objects.equals(group.getGroupId(), groupId);
+    }
+
+    private void inPageTransaction(Runnable work) {
+        pageTransaction.executeWithoutResult(status -> {
+            work.run();
+            // Giữ persistence context nhỏ: entity của trang này không còn cần nữa
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    // ── Epic → Requirement ────────────────────────────────────────────────────
+
+    private void upsertEpics(SyncContext ctx, List<JiraIssue> epics) {
+        if (epics.isEmpty()) {
+            return;
+        }
+        List<String> epicKeys = epics.stream().map(JiraIssue::getKey).toList();
+        Map<String, Requirement> existingReqs = requirementRepository
+                .findAllByJiraIssueKeyIn(epicKeys).stream()
+                .collect(Collectors.toMap(Requirement::getJiraIssueKey, Function.identity()));
+
+        List<Requirement> reqsToSave = new ArrayList<>();
+        for (JiraIssue epic : epics) {
+            JiraFields f = epic.getFields();
+            if (f == null)
+                continue;
+
+            boolean isNew = !existingReqs.containsKey(epic.getKey());
+            Requirement req = isNew ? new Requirement() : existingReqs.get(epic.getKey());
+            if (isNew && ctx.triggeredBy == null) {
+                ctx.warnings.add("Epic " + epic.getKey() + " skipped: no user to own the new requirement.");
+                ctx.skippedEpics++;
+                continue;
+            }
+            LocalDateTime jiraUpdatedAt = parseJiraUpdatedAt(f.getUpdated());
+            boolean stale = !isNew && isStale(req.getJiraUpdatedAt(), jiraUpdatedAt);
+            if (!stale) {
+                ctx.pageLabels.put(epic.getKey(), normalizeLabels(f.getLabels()));
+            }
+
+            if (stale || !isNew && sameJiraVersion(req.getJiraUpdatedAt(), jiraUpdatedAt)
+                    && sameGroup(req.getStudentGroup(), ctx.studentGroup)) {
+                ctx.epicIds.put(req.getJiraIssueKey(), req.getRequirementId());
+                ctx.unchanged++;
+                continue;
+            }
+
+            req.setJiraIssueKey(epic.getKey());
+            req.setTitle(truncate(f.getSummary(), 200));
+            req.setDescription(f.getDescription());
+            req.setStudentGroup(ctx.studentGroup);
+            req.setPriority(ctx.defaultPriority); // Jira priority không map 1-1 với internal, dùng default
+            req.setStatus(mapRequirementStatus(f.getStatus(), ctx.reqStatusMap));
+
+            // createdBy: luôn set bằng user trigger sync để tránh null
+            if (isNew || req.getCreatedBy() == null) {
+                req.setCreatedBy(ctx.triggeredBy);
+            }
+
+            // --- Jira metadata ---
+            req.setJiraIssueType("EPIC");
+            req.setJiraStatusRaw(extractRawStatusName(f));
+            req.setJiraPriorityRaw(extractRawPriorityName(f));
+            req.setJiraUpdatedAt(jiraUpdatedAt);
+
+            reqsToSave.add(req);
+            if (isNew)
+                ctx.inserted++;
+            else
+                ctx.updated++;
+        }
+
+        // Save để có ID, chỉ giữ lại key → id
+        for (Requirement saved : requirementRepository.saveAll(reqsToSave)) {
+            ctx.epicIds.put(saved.getJiraIssueKey(), saved.getRequirementId());
+        }
+    }
+
+    // ── Story → Task ──────────────────────────────────────────────────────────
+
+    private void upsertStories(SyncContext ctx, List<JiraIssue> stories, Map<String, User> assignees,
+            boolean allowDefer) {
+        if (stories.isEmpty()) {
+            return;
+        }
+        List<String> storyKeys = stories.stream().map(JiraIssue::getKey).toList();
+        Map<String, Task> existingStoryTasks = taskRepository
+                .findAllByJiraIssueKeyIn(storyKeys).stream()
+                .collect(Collectors.toMap(Task::getJiraIssueKey, Function.identity()));
+
+        List<Task> storyTasksToSave = new ArrayList<>();
+        for (JiraIssue story : stories) {
+            JiraFields f = story.getFields();
+            if (f == null) {
+                ctx.warnings.add("Story " + story.getKey() + " has no fields, skipped.");
+                continue;
+            }
+
+            // Resolve parent Epic: trang trước → DB → hoãn tới lượt cuối
+            String epicKey = resolveParentKey(f);
+            Integer requirementId = epicKey != null ? ctx.epicIds.get(epicKey) : null;
+            if (requirementId == null) {
+                if (epicKey != null && allowDefer) {
+                    ctx.deferredStories.add(story);
+                } else {
+                    ctx.warnings.add("Story " + story.getKey() + " skipped: parent Epic '"
+                            + epicKey + "' not found in current sync or DB.");
+                }
+                continue;
+            }
+
+            boolean isNew = !existingStoryTasks.containsKey(story.getKey());
+            Task task = isNew ? new Task() : existingStoryTasks.get(story.getKey());
+            LocalDateTime jiraUpdatedAt = parseJiraUpdatedAt(f.getUpdated());
+            String assigneeAccountId = extractAssigneeAccountId(f);
+            User assignee = assigneeAccountId != null ? assignees.get(assigneeAccountId) : null;
+
+            boolean stale = !isNew && isStale(task.getJiraUpdatedAt(), jiraUpdatedAt);
+            if (!stale) {
+                ctx.pageLabels.put(story.getKey(), normalizeLabels(f.getLabels()));
+            }
+
+            if (stale || !isNew && sameJiraVersion(task.getJiraUpdatedAt(), jiraUpdatedAt)
+                    && sameLinks(task, ctx, requirementId, null, assignee)) {
+                ctx.stories.put(task.getJiraIssueKey(),
+                        new StoryRef(task.getTaskId(), task.getRequirement().getRequirementId()));
+                ctx.unchanged++;
+                continue;
+            }
+
+            task.setJiraIssueKey(story.getKey());
+            task.setTitle(truncate(f.getSummary(), 200));
+            task.setDescription(f.getDescription());
+            task.setRequirement(requirementRepository.getReferenceById(requirementId));
+            task.setStudentGroup(ctx.studentGroup);
+            task.setStatus(mapTaskStatus(f.getStatus(), ctx.taskStatusMap));
+            task.setParentTask(null); // Story là top-level task, không có parent
+
+            // --- Jira metadata ---
+            task.setJiraIssueType("STORY");
+            task.setJiraParentIssueKey(epicKey);
+            task.setJiraStatusRaw(extractRawStatusName(f));
+            task.setJiraPriorityRaw(extractRawPriorityName(f));
+            task.setJiraUpdatedAt(jiraUpdatedAt);
+
+            // Assignee resolution qua jira_account_id (không dùng displayName)
+            task.setJiraAssigneeAccountId(assigneeAccountId);
+            task.setAssignee(assignee);
+
+            storyTasksToSave.add(task);
+            if (isNew)
+                ctx.inserted++;
+            else
+                ctx.updated++;
+        }
+
+        for (Task saved : taskRepository.saveAll(storyTasksToSave)) {
+            ctx.stories.put(saved.getJiraIssueKey(),
+                    new StoryRef(saved.getTaskId(), saved.getRequirement().getRequirementId()));
+        }
+    }
+
+    // ── Sub-task → child Task ─────────────────────────────────────────────────
+
+    private void upsertSubtasks(SyncContext ctx, List<JiraIssue> subtasks, Map<String, User> assignees,
+            boolean allowDefer) {
+        if (subtasks.isEmpty()) {
+            return;
+        }
+        List<String> subtaskKeys = subtasks.stream().map(JiraIssue::getKey).toList();
+        Map<String, Task> existingSubtasks = taskRepository
+                .findAllByJiraIssueKeyIn(subtaskKeys).stream()
+                .collect(Collectors.toMap(Task::getJiraIssueKey, Function.identity()));
+
+        List<Task> subtaskTasksToSave = new ArrayList<>();
+        for (JiraIssue subtask : subtasks) {
+            JiraFields f = subtask.getFields();
+            if (f == null) {
+                ctx.warnings.add("Sub-task " + subtask.getKey() + " has no fields, skipped.");
+                continue;
+            }
+
+            // Resolve parent Story: trang trước → DB → hoãn tới lượt cuối
+            String storyKey = resolveParentKey(f);
+            StoryRef parent = storyKey != null ? ctx.stories.get(storyKey) : null;
+            if (parent == null) {
+                if (storyKey != null && allowDefer) {
+                    ctx.deferredSubtasks.add(subtask);
+                } else {
+                    ctx.warnings.add("Sub-task " + subtask.getKey() + " skipped: parent Story '"
+                            + storyKey + "' not found in current sync or DB.");
+                }
+                continue;
+            }
+
+            boolean isNew = !existingSubtasks.containsKey(subtask.getKey());
+            Task task = isNew ? new Task() : existingSubtasks.get(subtask.getKey());
+            LocalDateTime jiraUpdatedAt = parseJiraUpdatedAt(f.getUpdated());
+            String assigneeAccountId = extractAssigneeAccountId(f);
+            User assignee = assigneeAccountId != null ? assignees.get(assigneeAccountId) : null;
+
+            boolean stale = !isNew && isStale(task.getJiraUpdatedAt(), jiraUpdatedAt);
+            if (!stale) {
+                ctx.pageLabels.put(subtask.getKey(), normalizeLabels(f.getLabels()));
+            }
+
+            if (stale || !isNew && sameJiraVersion(task.getJiraUpdatedAt(), jiraUpdatedAt)
+                    && sameLinks(task, ctx, parent.requirementId(), parent.taskId(), assignee)) {
+                ctx.unchanged++;
+                continue;
+            }
+
+            task.setJiraIssueKey(subtask.getKey());
+            task.setTitle(truncate(f.getSummary(), 200));
+            task.setDescription(f.getDescription());
+            // Requirement của sub-task = requirement của Story cha
+            task.setRequirement(requirementRepository.getReferenceById(parent.requirementId()));
+            task.setStudentGroup(ctx.studentGroup);
+            task.setStatus(mapTaskStatus(f.getStatus(), ctx.taskStatusMap));
+            task.setParentTask(taskRepository.getReferenceById(parent.taskId())); // link đúng FK
+
+            // --- Jira metadata ---
+            task.setJiraIssueType("SUBTASK");
+            task.setJiraParentIssueKey(storyKey);
+            task.setJiraStatusRaw(extractRawStatusName(f));
+            task.setJiraPriorityRaw(extractRawPriorityName(f));
+            task.setJiraUpdatedAt(jiraUpdatedAt);
+
+            // Assignee resolution qua jira_account_id (không dùng displayName)
+            task.setJiraAssigneeAccountId(assigneeAccountId);
+            task.setAssignee(assignee);
+
+            subtaskTasksToSave.add(task);
+            if (isNew)
+                ctx.inserted++;
+            else
+                ctx.updated++;
+        }
+
+        taskRepository.saveAll(subtaskTasksToSave);
+    }
+
+    // ── Labels → JiraIssueLabel ───────────────────────────────────────────────
+
+    /**
+     * Đối chiếu label của các issue trong trang với DB: chỉ xoá/chèn phần khác nhau.
+     * Chạy cả với issue không đổi để lần sync đầy đủ đầu tiên điền được index; chỉ bản
+     * cũ hơn bản đã ghi (webhook giao trễ) là không được đối chiếu.
+     */
+    private void syncLabels(SyncContext ctx) {
+        if (ctx.pageLabels.isEmpty()) {
+            return;
+        }
+        Long groupId = ctx.studentGroup.getGroupId();
+        Map<String, List<JiraIssueLabel>> stored = labelRepository
+                .findByGroupIdAndJiraIssueKeyIn(groupId, ctx.pageLabels.keySet()).stream()
+                .collect(Collectors.groupingBy(JiraIssueLabel::getJiraIssueKey));
+
+        List<JiraIssueLabel> toDelete = new ArrayList<>();
+        List<JiraIssueLabel> toInsert = new ArrayList<>();
+        ctx.pageLabels.forEach((issueKey, labels) -> {
+            Set<String> wanted = new LinkedHashSet<>(labels);
+            for (JiraIssueLabel row : stored.getOrDefault(issueKey, List.of())) {
+                if (!wanted.remove(row.getLabel())) {
+                    toDelete.add(row);
+                }
+            }
+            for (String label : wanted) {
+                toInsert.add(JiraIssueLabel.builder().groupId(groupId).jiraIssueKey(issueKey).label(label).build());
+            }
+        });
+        ctx.pageLabels.clear();
+
+        if (!toDelete.isEmpty()) {
+            labelRepository.deleteAllInBatch(toDelete);
+        }
+        if (!toInsert.isEmpty()) {
+            labelRepository.saveAll(toInsert);
+        }
+        ctx.labelsChanged |= !toDelete.isEmpty() || !toInsert.isEmpty();
+    }
+
+    /** Gọi sau khi transaction của trang đã commit. */
+    private void evictLabelsIfChanged(SyncContext ctx) {
+        if (ctx.labelsChanged) {
+            labelIndex.evictGroup(ctx.studentGroup.getGroupId());
+            ctx.labelsChanged = false;
+        }
+    }
+
+    private List<String> normalizeLabels(List<String> labels) {
+        if (labels == null || labels.isEmpty()) {
+            return List.of();
+        }
+        return labels.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(label -> !label.isEmpty())
+                .map(label -> truncate(label, 255))
+                .distinct()
+                .toList();
+    }
+
+    // ── Change detection ──────────────────────────────────────────────────────
+
+    /**
+     * Jira đổi {@code updated} mỗi khi issue thay đổi (field, status, assignee, parent…).
+     * So ở mức mili-giây vì Jira trả về millis. Không có {@code updated} → coi như đổi.
+     * Cả hai giá trị đều là giờ UTC (xem {@link #parseJiraUpdatedAt}).
+     */
+    private static boolean sameJiraVersion(LocalDateTime stored, LocalDateTime incoming) {
+        return stored != null && incoming != null
+                && stored.truncatedTo(ChronoUnit.MILLIS).equals(incoming.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Bản Jira đến sau nhưng cũ hơn bản đã ghi (webhook giao trễ / sai thứ tự) → bỏ
+     * qua, không ghi đè dữ liệu mới bằng dữ liệu cũ.
+     */
+    private static boolean isStale(LocalDateTime stored, LocalDateTime incoming) {
+        return stored != null && incoming != null
+                && incoming.truncatedTo(ChronoUnit.MILLIS).isBefore(stored.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    private static boolean sameGroup(StudentGroup stored, StudentGroup current) {
+        return stored != null && Objects.equals(stored.getGroupId(), current.getGroupId());
+    }
+
+    /**
+     * Liên kết nội bộ có thể đổi dù issue Jira không đổi (VD user vừa liên kết
+     * jira_account_id, epic cha được tạo lại) nên vẫn phải so.
+     */
+    private static boolean sameLinks(Task task, SyncContext ctx, Integer requirementId, Integer parentTaskId,
+            User assignee) {
+        return sameGroup(task.getStudentGroup(), ctx.studentGroup)
+                && task.getRequirement() != null
+                && Objects.equals(task.getRequirement().getRequirementId(), requirementId)
+                && Objects.equals(task.getParentTask() != null ? task.getParentTask().getTaskId() : null, parentTaskId)
+                && Objects.equals(task.getAssignee() != null ? task.getAssignee().getUserId() : null,
+                        assignee != null ? assignee.getUserId() : null);
+    }
+
+    // ── Batch resolution (một query IN cho cả lô) ─────────────────────────────
+
+    /**
+     * Epic chưa có trong map (đã sync ở lần trước / thuộc trang khác) → nạp từ DB.
+     */
+    private void preloadEpicIds(SyncContext ctx, List<JiraIssue> stories) {
+        List<String> missing = missingParentKeys(stories, ctx.epicIds.keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Requirement req : requirementRepository.findAllByJiraIssueKeyIn(missing)) {
+            ctx.epicIds.put(req.getJiraIssueKey(), req.getRequirementId());
+        }
+    }
+
+    /**
+     * Story cha chưa có trong map → nạp từ DB. Gọi sau khi Story của cùng trang đã ghi.
+     */
+    private void preloadStoryRefs(SyncContext ctx, List<JiraIssue> subtasks) {
+        List<String> missing = missingParentKeys(subtasks, ctx.stories.keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Task story : taskRepository.findAllByJiraIssueKeyIn(missing)) {
+            if (story.getRequirement() != null) {
+                ctx.stories.put(story.getJiraIssueKey(),
+                        new StoryRef(story.getTaskId(), story.getRequirement().getRequirementId()));
+            }
+        }
+    }
+
+    private List<String> missingParentKeys(List<JiraIssue> issues, Set<String> known) {
+        return issues.stream()
+                .map(issue -> resolveParentKey(issue.getFields()))
+                .filter(Objects::nonNull)
+                .filter(key -> !known.contains(key))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * accountId → User cho mọi assignee của lô (Jira accountId, không dùng displayName).
+     */
+    private Map<String, User> loadAssignees(List<JiraIssue> stories, List<JiraIssue> subtasks) {
+        Set<String> accountIds = new HashSet<>();
+        for (List<JiraIssue> issues : List.of(stories, subtasks)) {
+            for (JiraIssue issue : issues) {
+                String accountId = extractAssigneeAccountId(issue.getFields());
+                if (accountId != null) {
+                    accountIds.add(accountId);
+                }
+            }
+        }
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllByJiraAccountIdIn(accountIds).stream()
+                .collect(Collectors.toMap(User::getJiraAccountId, Function.identity(), (first, second) -> first));
+    }
+
+    // ── Parent resolution ─────────────────────────────────────────────────────
+
+    private String resolveParentKey(JiraFields fields) {
+        if (fields == null)
+            return null;
+        JiraParentRef parent = fields.getParent();
+        if (parent == null)
+            return null;
+        String key = parent.getKey();
+        return (key != null && !key.isBlank()) ? key.trim() : null;
+    }
+
+    // ── Classification ────────────────────────────────────────────────────────
+
+    private void classifyIssues(List<JiraIssue> issues,
+            List<JiraIssue> epics, List<JiraIssue> stories, List<JiraIssue> subtasks) {
+        for (JiraIssue issue : issues) {
+            if (issue.getFields() == null || issue.getFields().getIssuetype() == null)
+                continue;
+
+            String typeName = issue.getFields().getIssuetype().getName();
+            if (typeName == null)
+                continue;
+
+            String typeNorm = typeName.trim().toLowerCase();
+
+            if (typeNorm.equals(JIRA_TYPE_EPIC)) {
+                epics.add(issue);
+            } else if (typeNorm.equals(JIRA_TYPE_SUBTASK) || typeNorm.equals("sub-task")) {
+                subtasks.add(issue);
+            } else {
+                // Story, Task, Bug, Feature, ... đều map thành Story-level Task
+                stories.add(issue);
+            }
+        }
+    }
+
+    // ── Status mapping ────────────────────────────────────────────────────────
+
+    private TaskStatus mapTaskStatus(JiraName jiraStatus, Map<String, TaskStatus> statusMap) {
+        String categoryKey = extractStatusCategoryKey(jiraStatus);
+        String code = switch (categoryKey) {
+            case "done" -> TASK_STATUS_DONE;
+            case "indeterminate" -> TASK_STATUS_IN_PROGRESS;
+            default -> TASK_STATUS_TODO; // "new" hoặc unknown → TODO
+        };
+        TaskStatus result = statusMap.get(code);
+        if (result == null) {
+            // Fallback cứng nếu DB chưa có code
+            result = statusMap.values().stream().findFirst()
+                    .orElseThrow(() -> new BusinessException("No TaskStatus found in DB", 500));
+        }
+        return result;
+    }
+
+    private RequirementStatus mapRequirementStatus(JiraName jiraStatus,
+            Map<String, RequirementStatus> statusMap) {
+        String categoryKey = extractStatusCategoryKey(jiraStatus);
+        String code = "done".equals(categoryKey) ? REQ_STATUS_DONE : REQ_STATUS_ACTIVE;
+        RequirementStatus result = statusMap.get(code);
+        if (result == null) {
+            result = statusMap.values().stream().findFirst()
+                    .orElseThrow(() -> new BusinessException("No RequirementStatus found in DB", 500));
+        }
+        return result;
+    }
+
+    private String extractStatusCategoryKey(JiraName jiraStatus) {
+        if (jiraStatus == null)
+            return "new";
+        JiraStatusCategory cat = jiraStatus.getStatusCategory();
+        if (cat == null)
+            return "new";
+        String key = cat.getKey();
+        return (key != null) ? key.trim().toLowerCase() : "new";
+    }
+
+    // ── Jira metadata helpers ─────────────────────────────────────────────────
+
+    private String truncate(String s, int maxLen) {
+        if (s == null)
+            return "";
+        return s.length() <= maxLen ? s : s.substring(0, maxLen);
+    }
+
+    private String extractRawStatusName(JiraFields fields) {
+        if (fields == null || fields.getStatus() == null)
+            return null;
+        String name = fields.getStatus().getName();
+        return (name != null && !name.isBlank()) ? name.trim() : null;
+    }
+
+    private String extractRawPriorityName(JiraFields fields) {
+        if (fields == null || fields.getPriority() == null)
+            return null;
+        String name = fields.getPriority().getName();
+        return (name != null && !name.isBlank()) ? name.trim() : null;
+    }
+
+    private String extractAssigneeAccountId(JiraFields fields) {
+        if (fields == null || fields.getAssignee() == null)
+            return null;
+        String accountId = fields.getAssignee().getAccountId();
+        return (accountId != null && !accountId.isBlank()) ? accountId.trim() : null;
+    }
+
+    /**
+     * Chuẩn hoá {@code updated} về giờ UTC trước khi lưu/so sánh: Jira trả offset theo
+     * timezone của user gọi API (webhook và REST có thể khác nhau), bỏ offset đi thì
+     * cùng một thời điểm có thể bị coi là cũ hơn/mới hơn.
+     */
+    private LocalDateTime parseJiraUpdatedAt(String updated) {
+        if (updated == null || updated.isBlank())
+            return null;
+        try {
+            return OffsetDateTime.parse(updated, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                    .withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (Exception e1) {
+            // Thử pattern có milli không có colon trong timezone offset: +0700
+            try {
+                DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxx");
+                return OffsetDateTime.parse(updated, fmt).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            } catch (Exception e2) {
+                log.warn("Cannot parse Jira updated datetime '{}': {}", updated, e2.getMessage());
+                return null;
+            }
+        }
+    }
+
+    // ── Types ─────────────────────────────────────────────────────────────────
+
+    /** Story đã ghi: đủ để link Sub-task mà không cần giữ entity. */
+    private record StoryRef(Integer taskId, Integer requirementId) {
+    }
+
+    /**
+     * Trạng thái của một lượt sync: bảng tra cứu, map key → id và bộ đếm.
+     */
+    public static final class SyncContext {
+        private final StudentGroup studentGroup;
+        private final User triggeredBy;
+        private final Map<String, TaskStatus> taskStatusMap;
+        private final Map<String, RequirementStatus> reqStatusMap;
+        private final Priority defaultPriority;
+
+        private final Map<String, Integer> epicIds = new HashMap<>();
+        private final Map<String, StoryRef> stories = new HashMap<>();
+        private final List<JiraIssue> deferredStories = new ArrayList<>();
+        private final List<JiraIssue> deferredSubtasks = new ArrayList<>();
+        private final List<String> warnings = new ArrayList<>();
+        /** issue key → label của các issue đã ghi trong trang hiện tại. */
+        private final Map<String, List<String>> pageLabels = new HashMap<>();
+        private boolean labelsChanged;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int skippedEpics;
+
+        private SyncContext(StudentGroup studentGroup, User triggeredBy,
+                Map<String, TaskStatus> taskStatusMap, Map<String, RequirementStatus> reqStatusMap,
+                Priority defaultPriority) {
+            this.studentGroup = studentGroup;
+            this.triggeredBy = triggeredBy;
+            this.taskStatusMap = taskStatusMap;
+            this.reqStatusMap = reqStatusMap;
+            this.defaultPriority = defaultPriority;
+        }
+
+        public int inserted() {
+            return inserted;
+        }
+
+        public int updated() {
+            return updated;
+        }
+
+        /** Issue đã có và không đổi → không ghi gì xuống DB. */
+        public int unchanged() {
+            return unchanged;
+        }
+
+        /** Epic mới bị bỏ qua vì không có user làm createdBy. */
+        public int skippedEpics() {
+            return skippedEpics;
+        }
+
+        public List<String> warnings() {
+            return Collections.unmodifiableList(warnings);
+        }
+    }
+}
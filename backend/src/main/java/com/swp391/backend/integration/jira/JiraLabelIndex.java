@@ -0,0 +1,166 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.dto.response.LabelUsageProjection;
+import com.swp391.backend.repository.JiraIssueLabelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index gợi ý label trong RAM cho từng group, nạp từ bảng {@code JiraIssueLabel}
+ * (do Jira sync ghi) ở lần gợi ý đầu tiên.
+ *
+ * <p>
+ * Label được giữ trong mảng sắp theo tên (lowercase) để tìm theo prefix bằng binary
+ * search; match theo substring quét tuyến tính phần còn lại. Kết quả: match theo
+ * prefix trước, rồi substring, mỗi nhóm xếp theo số issue đang dùng label giảm dần.
+ * </p>
+ *
+ * <p>
+ * Sync ghi label xong gọi {@link #evictGroup(Long)}; lần gợi ý sau nạp lại từ DB.
+ * Single-flight như {@code JiraMetadataCache}: nhiều request cùng group trong lúc
+ * đang nạp chỉ query DB một lần và cùng chờ kết quả; query chạy ngoài lock của map
+ * nên không chặn group khác. Lỗi không được giữ lại – request sau nạp lại.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JiraLabelIndex {
+
+    private static final Comparator<Label> BY_USAGE = Comparator.comparingLong(Label::usage).reversed()
+            .thenComparing(Label::lower);
+
+    private final JiraIssueLabelRepository labelRepository;
+    private final Map<Long, Entry> groups = new ConcurrentHashMap<>();
+
+    /**
+     * @param projectKey project hiện tại của group – chỉ gợi ý label của issue thuộc project này
+     * @param q          chuỗi tìm (case-insensitive); trống → label dùng nhiều nhất
+     * @param reload     nạp lại từ DB thay vì dùng bản trong RAM
+     */
+    public List<String> suggest(Long groupId, String projectKey, String q, int limit, boolean reload) {
+        if (reload) {
+            evictGroup(groupId);
+        }
+        Entry created = new Entry(projectKey, new CompletableFuture<>());
+        Entry current = groups.compute(groupId,
+                (id, existing) -> existing != null && existing.projectKey.equals(projectKey) ? existing : created);
+
+        if (current == created) {
+            try {
+                created.labels.complete(load(groupId, projectKey));
+            } catch (RuntimeException e) {
+                groups.remove(groupId, created);
+                created.labels.completeExceptionally(e);
+            }
+        }
+        return await(current.labels).suggest(q == null ? "" : q.trim().toLowerCase(Locale.ROOT), limit);
+    }
+
+    public void evictGroup(Long groupId) {
+        groups.remove(groupId);
+    }
+
+    private GroupLabels load(Long groupId, String projectKey) {
+        List<LabelUsageProjection> rows = labelRepository.countUsageByGroup(groupId, projectKey + "-");
+        Label[] byName = rows.stream()
+                .map(row -> new Label(row.getLabel(), row.getLabel().toLowerCase(Locale.ROOT), row.getUsageCount()))
+                .sorted(Comparator.comparing(Label::lower))
+                .toArray(Label[]::new);
+        log.debug("[Jira Labels] loaded {} label(s) for group {}", byName.length, groupId);
+        return new GroupLabels(byName);
+    }
+
+    private static GroupLabels await(CompletableFuture<GroupLabels> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    /** Bản label của group theo project; {@code labels} chưa xong = đang nạp. */
+    private record Entry(String projectKey, CompletableFuture<GroupLabels> labels) {
+    }
+
+    private record Label(String name, String lower, long usage) {
+    }
+
+    private static final class GroupLabels {
+
+        /** Sắp theo {@code lower} để binary search prefix. */
+        private final Label[] byName;
+        /** Sắp theo usage giảm dần cho truy vấn trống. */
+        private final List<Label> byUsage;
+
+        GroupLabels(Label[] byName) {
+            this.byName = byName;
+            this.byUsage = Arrays.stream(byName).sorted(BY_USAGE).toList();
+        }
+
+        List<String> suggest(String q, int limit) {
+            if (q.isEmpty()) {
+                return byUsage.stream().limit(limit).map(Label::name).toList();
+            }
+
+            // Prefix: đoạn liên tiếp trong mảng đã sắp
+            int from = lowerBound(q);
+            int to = from;
+            while (to < byName.length && byName[to].lower.startsWith(q)) {
+                to++;
+            }
+            List<Label> prefix = new ArrayList<>(Arrays.asList(byName).subList(from, to));
+            prefix.sort(BY_USAGE);
+
+            List<String> result = new ArrayList<>(Math.min(limit, 32));
+            for (Label label : prefix) {
+                if (result.size() >= limit)
+                    return result;
+                result.add(label.name);
+            }
+
+            // Substring: phần còn lại của mảng
+            List<Label> contains = new ArrayList<>();
+            for (int i = 0; i < byName.length; i++) {
+                if ((i < from || i >= to) && byName[i].lower.contains(q)) {
+                    contains.add(byName[i]);
+                }
+            }
+            contains.sort(BY_USAGE);
+            for (Label label : contains) {
+                if (result.size() >= limit)
+                    break;
+                result.add(label.name);
+            }
+            return result;
+        }
+
+        private int lowerBound(String q) {
+            int lo = 0;
+            int hi = byName.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (byName[mid].lower.compareTo(q) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
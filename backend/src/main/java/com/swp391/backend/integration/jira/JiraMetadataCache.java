@@ -0,0 +1,95 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.config.JiraClientConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache TTL trong RAM cho metadata Jira của từng group (board, sprint, version,
+ * label) – dữ liệu cho các dropdown trên UI, ít khi đổi.
+ *
+ * <ul>
+ * <li><b>Key:</b> {@code groupId} + {@code projectKey} + loại dữ liệu (kèm tham số
+ * như state/boardId nếu có).</li>
+ * <li><b>Single-flight:</b> nhiều request cùng key trong lúc đang tải chỉ gọi Jira
+ * một lần và cùng chờ kết quả đó.</li>
+ * <li><b>Lỗi</b> không được cache: request sau sẽ thử lại.</li>
+ * <li><b>Evict</b> toàn bộ group khi cấu hình Jira của group thay đổi.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class JiraMetadataCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public JiraMetadataCache(JiraClientConfig config) {
+        this.ttlNanos = Math.max(0, config.getMetadataCacheTtlSeconds()) * 1_000_000_000L;
+    }
+
+    /**
+     * Trả về giá trị đã cache, hoặc gọi {@code loader} (trên thread hiện tại) nếu
+     * chưa có / đã hết hạn / {@code refresh=true}. Giá trị trả về được dùng chung giữa
+     * các request nên phải là immutable.
+     *
+     * @param refresh bỏ qua giá trị đã cache; nếu đang có lượt tải khác chạy thì dùng
+     *                chung lượt đó
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long groupId, String projectKey, String kind, boolean refresh, Supplier<T> loader) {
+        if (ttlNanos == 0) {
+            return loader.get();
+        }
+        String key = groupId + "|" + projectKey + "|" + kind;
+        long now = System.nanoTime();
+        Entry created = new Entry(new CompletableFuture<>(), now + ttlNanos);
+        Entry current = entries.compute(key,
+                (k, existing) -> existing != null && existing.usable(now, refresh) ? existing : created);
+
+        if (current == created) {
+            try {
+                created.value.complete(loader.get());
+            } catch (RuntimeException e) {
+                entries.remove(key, created);
+                created.value.completeExceptionally(e);
+            }
+        } else {
+            log.debug("[Jira Cache] hit {}", key);
+        }
+        return (T) await(current.value);
+    }
+
+    /** Xoá mọi metadata đã cache của group (VD sau khi đổi baseUrl/projectKey/token). */
+    public void evictGroup(Long groupId) {
+        String prefix = groupId + "|";
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> value, long expiresAtNanos) {
+
+        boolean usable(long now, boolean refresh) {
+            if (!value.isDone()) {
+                return true; // đang tải → dùng chung
+            }
+            return !refresh && !value.isCompletedExceptionally() && now - expiresAtNanos < 0;
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.swp391.backend.integration.jira.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.swp391.backend.integration.jira.AdfDescriptionDeserializer;
 import lombok.Data;
 
 import java.util.List;
 
 /**
  * Represents Jira issue fields from the Search API v3.
- * description is Object because Jira returns ADF (Atlassian Document Format)
- * JSON.
+ * description được Jira trả về dạng ADF (Atlassian Document Format) JSON và được
+ * chuyển thẳng sang plain text lúc deserialize.
  */
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -16,8 +18,9 @@ public class JiraFields {
 
     private String summary;
 
-    /** ADF object – can be a Map<String, Object> or null. */
-    private Object description;
+    /** Plain text từ ADF (xem {@link AdfDescriptionDeserializer}); null nếu trống. */
+    @JsonDeserialize(using = AdfDescriptionDeserializer.class)
+    private String description;
 
     private JiraName issuetype;
 
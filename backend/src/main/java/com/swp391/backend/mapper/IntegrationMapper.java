@@ -32,8 +32,11 @@ public class IntegrationMapper {
             }
         }
 
+        boolean hasWebhookSecret = config.getWebhookSecretEncrypted() != null
+                && config.getWebhookSecretEncrypted().length > 0;
+
         return IntegrationResponse.builder().repoFullName(config.getRepoFullName()).hasToken(hasToken)
-                .tokenMasked(tokenMasked).build();
+                .tokenMasked(tokenMasked).hasWebhookSecret(hasWebhookSecret).build();
     }
 
     // ── Jira config mapper ──────────────────────────────────────────────────
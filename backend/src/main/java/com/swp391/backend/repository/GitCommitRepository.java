@@ -1,13 +1,17 @@
 package com.swp391.backend.repository;
 
 import com.swp391.backend.dto.response.CommitStatsProjection;
+import com.swp391.backend.dto.response.GitCommitStateProjection;
 import com.swp391.backend.dto.response.PersonalCommitStatsProjection;
 import com.swp391.backend.entity.GitCommit;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,13 +34,72 @@ import java.util.Optional;
  * Cột {@code group_key} dùng prefix ('uid:', 'email:', 'name:') để tránh va
  * chạm key.
  * </p>
+ *
+ * <p>
+ * Ghi hàng loạt (sync) đi qua {@link GitCommitRepositoryCustom} bằng JDBC batch.
+ * </p>
  */
 @Repository
-public interface GitCommitRepository extends JpaRepository<GitCommit, Integer> {
+public interface GitCommitRepository extends JpaRepository<GitCommit, Integer>, GitCommitRepositoryCustom {
 
-    /** Tìm commit theo repo + SHA (dùng cho upsert trong GitHubSyncService). */
+    /** Tìm commit theo repo + SHA. */
     Optional<GitCommit> findByRepoIdAndSha(Integer repoId, String sha);
 
+    /**
+     * Trạng thái các commit đã lưu trong một trang SHA (tối đa 100), lấy bằng MỘT
+     * query cho cả trang (dùng cho upsert hàng loạt trong GitHubSyncService, thay
+     * cho findByRepoIdAndSha từng commit).
+     */
+    @Query(value = """
+            SELECT gc.commit_id      AS commitId,
+                   gc.sha            AS sha,
+                   gc.author_user_id AS authorUserId,
+                   gc.author_login   AS authorLogin,
+                   gc.additions      AS additions,
+                   gc.deletions      AS deletions,
+                   gc.files_changed  AS filesChanged
+            FROM GitCommit gc
+            WHERE gc.repo_id = :repoId
+              AND gc.sha IN (:shas)
+            """, nativeQuery = true)
+    List<GitCommitStateProjection> findStatesByRepoIdAndShaIn(@Param("repoId") Integer repoId,
+            @Param("shas") Collection<String> shas);
+
+    boolean existsByRepoIdAndSha(Integer repoId, String sha);
+
+    /**
+     * Trang đầu tiên của commit trong khoảng thời gian, mới nhất trước.
+     * Dùng index {@code IX_GitCommit_repo_date (repo_id, commit_date DESC, commit_id DESC)}.
+     */
+    @Query("""
+            SELECT c FROM GitCommit c
+            WHERE c.repoId = :repoId
+              AND c.commitDate >= :from AND c.commitDate <= :to
+            ORDER BY c.commitDate DESC, c.commitId DESC
+            """)
+    List<GitCommit> findPageByRepoAndDateRange(@Param("repoId") Integer repoId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    /**
+     * Trang kế tiếp theo keyset: các commit đứng sau (cursorDate, cursorId) theo thứ tự
+     * (commit_date DESC, commit_id DESC). Không dùng OFFSET nên chi phí không tăng theo số trang.
+     */
+    @Query("""
+            SELECT c FROM GitCommit c
+            WHERE c.repoId = :repoId
+              AND c.commitDate >= :from AND c.commitDate <= :to
+              AND (c.commitDate < :cursorDate OR (c.commitDate = :cursorDate AND c.commitId < :cursorId))
+            ORDER BY c.commitDate DESC, c.commitId DESC
+            """)
+    List<GitCommit> findPageByRepoAndDateRangeAfter(@Param("repoId") Integer repoId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorDate") LocalDateTime cursorDate,
+            @Param("cursorId") Integer cursorId,
+            Limit limit);
+
     /**
      * Thống kê commit theo tác giả trong một nhóm sinh viên.
      *
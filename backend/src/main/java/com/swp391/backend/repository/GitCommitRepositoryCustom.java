@@ -0,0 +1,43 @@
+package com.swp391.backend.repository;
+
+import com.swp391.backend.entity.GitCommit;
+
+import java.util.List;
+
+/**
+ * Các thao tác ghi hàng loạt cho bảng GitCommit bằng JDBC batch.
+ *
+ * <p>
+ * {@code GitCommit} dùng {@code GenerationType.IDENTITY} nên Hibernate không thể
+ * batch INSERT; các method ở đây đi thẳng qua JDBC để gom nhiều câu lệnh
+ * vào một round trip.
+ * </p>
+ */
+public interface GitCommitRepositoryCustom {
+
+    /**
+     * Chèn các commit chưa tồn tại theo (repo_id, sha) bằng MERGE.
+     * Commit đã có (ví dụ do webhook ghi song song) được bỏ qua, không báo lỗi.
+     *
+     * @return số dòng thực sự được chèn
+     */
+    int batchInsertIfAbsent(List<GitCommit> commits, int batchSize);
+
+    /**
+     * Cập nhật các trường suy ra (author_user_id, author_login, additions,
+     * deletions, files_changed) theo commit_id.
+     *
+     * @return số dòng được cập nhật
+     */
+    int batchUpdateDerivedFields(List<GitCommit> commits, int batchSize);
+
+    /**
+     * Gán {@code author_user_id} cho các commit chưa liên kết của một GitHub login
+     * (khớp {@code author_login} hoặc email noreply của GitHub), chỉ trong repo của
+     * các nhóm mà user là thành viên. Dùng khi User cập nhật GitHub username sau khi
+     * commit đã được sync.
+     *
+     * @return số commit được liên kết
+     */
+    int relinkUnmappedCommits(Long userId, String githubLogin);
+}
@@ -0,0 +1,157 @@
+package com.swp391.backend.repository;
+
+import com.swp391.backend.entity.GitCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Triển khai {@link GitCommitRepositoryCustom} bằng {@link JdbcTemplate} (SQL Server).
+ * Spring Data tự ghép class này vào {@link GitCommitRepository} theo hậu tố {@code Impl}.
+ */
+@RequiredArgsConstructor
+public class GitCommitRepositoryImpl implements GitCommitRepositoryCustom {
+
+    private static final String MERGE_INSERT_SQL = """
+            MERGE GitCommit WITH (HOLDLOCK) AS t
+            USING (SELECT ? AS repo_id, ? AS sha) AS s
+               ON t.repo_id = s.repo_id AND t.sha = s.sha
+            WHEN NOT MATCHED THEN
+                INSERT (repo_id, sha, author_user_id, author_name, author_email, author_login,
+                        commit_date, message, additions, deletions, files_changed)
+                VALUES (s.repo_id, s.sha, ?, ?, ?, ?, ?, ?, ?, ?, ?);
+            """;
+
+    private static final String UPDATE_DERIVED_SQL = """
+            UPDATE GitCommit
+               SET author_user_id = ?, author_login = ?, additions = ?, deletions = ?, files_changed = ?
+             WHERE commit_id = ?
+            """;
+
+    /**
+     * Chỉ commit trong repo của các nhóm mà user là thành viên (như
+     * {@code GitHubAuthorResolver.forGroup}): đặt GitHub username trùng login của người
+     * khác không nhận được commit ở nhóm khác. So sánh dựa vào collation không phân
+     * biệt hoa thường của cột (mặc định của SQL Server), không bọc {@code LOWER()} để
+     * còn dùng được index. Login được escape trước khi ghép vào {@code LIKE} để
+     * {@code %}/{@code _} trong login không thành ký tự đại diện.
+     */
+    private static final String RELINK_SQL = """
+            UPDATE GitCommit
+               SET author_user_id = ?
+             WHERE author_user_id IS NULL
+               AND repo_id IN (SELECT r.repo_id
+                                 FROM Repository r
+                                 JOIN GroupMember gm ON gm.group_id = r.group_id
+                                WHERE gm.user_id = ?)
+               AND (author_login = ?
+                    OR author_email = ?
+                    OR author_email LIKE ? ESCAPE '\\')
+            """;
+
+    private static final String NOREPLY_DOMAIN = "@users.noreply.github.com";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsertIfAbsent(List<GitCommit> commits, int batchSize) {
+        if (commits.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(MERGE_INSERT_SQL, commits, Math.max(1, batchSize),
+                (ps, c) -> {
+                    ps.setInt(1, c.getRepoId());
+                    ps.setString(2, c.getSha());
+                    setNullableLong(ps, 3, c.getAuthorUserId());
+                    ps.setString(4, c.getAuthorName());
+                    ps.setString(5, c.getAuthorEmail());
+                    ps.setString(6, c.getAuthorLogin());
+                    ps.setTimestamp(7, Timestamp.valueOf(c.getCommitDate()));
+                    ps.setString(8, c.getMessage());
+                    setNullableInt(ps, 9, c.getAdditions());
+                    setNullableInt(ps, 10, c.getDeletions());
+                    setNullableInt(ps, 11, c.getFilesChanged());
+                });
+        return countAffected(results);
+    }
+
+    @Override
+    public int batchUpdateDerivedFields(List<GitCommit> commits, int batchSize) {
+        if (commits.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(UPDATE_DERIVED_SQL, commits, Math.max(1, batchSize),
+                (ps, c) -> {
+                    setNullableLong(ps, 1, c.getAuthorUserId());
+                    ps.setString(2, c.getAuthorLogin());
+                    setNullableInt(ps, 3, c.getAdditions());
+                    setNullableInt(ps, 4, c.getDeletions());
+                    setNullableInt(ps, 5, c.getFilesChanged());
+                    ps.setInt(6, c.getCommitId());
+                });
+        return countAffected(results);
+    }
+
+    @Override
+    public int relinkUnmappedCommits(Long userId, String githubLogin) {
+        if (userId == null || githubLogin == null || githubLogin.isBlank()) {
+            return 0;
+        }
+        String login = githubLogin.trim();
+        // Email noreply có 2 dạng: login@users.noreply... và id+login@users.noreply...
+        return jdbcTemplate.update(RELINK_SQL, userId, userId, login, login + NOREPLY_DOMAIN,
+                "%+" + escapeLike(login + NOREPLY_DOMAIN));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Escape ký tự đại diện của LIKE (SQL Server) theo {@code ESCAPE '\'}. */
+    private static String escapeLike(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '%' || c == '_' || c == '[') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    /** Driver có thể trả SUCCESS_NO_INFO cho lệnh trong batch → coi như 1 dòng. */
+    private static int countAffected(int[][] results) {
+        int total = 0;
+        for (int[] batch : results) {
+            for (int r : batch) {
+                if (r > 0) {
+                    total += r;
+                } else if (r == Statement.SUCCESS_NO_INFO) {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -2,8 +2,10 @@ package com.swp391.backend.repository;
 
 import com.swp391.backend.entity.IntegrationConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +15,25 @@ public interface IntegrationConfigRepository extends JpaRepository<IntegrationCo
     Optional<IntegrationConfig> findByStudentGroup_GroupId(Long groupId);
 
     Optional<IntegrationConfig> findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(Long groupId, Integer integrationTypeId);
+
+    /**
+     * Mọi (group, loại tích hợp) đã cấu hình, kèm lớp của group – đầu vào của sync
+     * nền. Chỉ lấy id, không load token.
+     */
+    @Query("""
+            SELECT g.groupId AS groupId,
+                   g.academicClass.classId AS classId,
+                   c.integrationType.integrationTypeId AS integrationTypeId
+            FROM IntegrationConfig c JOIN c.studentGroup g
+            ORDER BY g.academicClass.classId, g.groupId
+            """)
+    List<SyncTarget> findAllSyncTargets();
+
+    interface SyncTarget {
+        Long getGroupId();
+
+        Long getClassId();
+
+        Integer getIntegrationTypeId();
+    }
 }
@@ -0,0 +1,28 @@
+package com.swp391.backend.repository;
+
+import com.swp391.backend.dto.response.LabelUsageProjection;
+import com.swp391.backend.entity.JiraIssueLabel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JiraIssueLabelRepository extends JpaRepository<JiraIssueLabel, Long> {
+
+    List<JiraIssueLabel> findByGroupIdAndJiraIssueKeyIn(Long groupId, Collection<String> jiraIssueKeys);
+
+    /** Usage count của mọi label thuộc project ({@code keyPrefix} = {@code "KEY-"}) trong group. */
+    @Query("""
+            SELECT l.label AS label, COUNT(l) AS usageCount
+            FROM JiraIssueLabel l
+            WHERE l.groupId = :groupId
+              AND l.jiraIssueKey LIKE CONCAT(:keyPrefix, '%')
+            GROUP BY l.label
+            """)
+    List<LabelUsageProjection> countUsageByGroup(@Param("groupId") Long groupId,
+            @Param("keyPrefix") String keyPrefix);
+}
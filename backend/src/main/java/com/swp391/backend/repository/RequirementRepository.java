@@ -18,6 +18,9 @@ public interface RequirementRepository extends JpaRepository<Requirement, Intege
 
     List<Requirement> findAllByJiraIssueKeyIn(List<String> jiraIssueKeys);
 
+    /** Nhóm đã từng sync issue của project này chưa (prefix {@code KEY-}). */
+    boolean existsByStudentGroup_GroupIdAndJiraIssueKeyStartingWith(Long groupId, String keyPrefix);
+
     @Query("""
             SELECT r FROM Requirement r
             WHERE r.studentGroup.groupId = :groupId
@@ -3,11 +3,53 @@ package com.swp391.backend.repository;
 import com.swp391.backend.entity.SyncLog;
 import com.swp391.backend.entity.SyncStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface SyncLogRepository extends JpaRepository<SyncLog, Long> {
     Optional<SyncLog> findByGroupIdAndSourceAndStatus(Long groupId, String source, SyncStatus status);
+
+    /** Lần sync gần nhất theo trạng thái (VD SUCCESS → thời điểm dữ liệu còn "tươi"). */
+    Optional<SyncLog> findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(Long groupId, String source,
+            SyncStatus status);
+
+    /** Phiên sync đã kết thúc gần nhất (bỏ qua phiên đang RUNNING). */
+    Optional<SyncLog> findFirstByGroupIdAndSourceAndStatusNotOrderByStartedAtDesc(Long groupId, String source,
+            SyncStatus status);
+
+    // ── Lease ─────────────────────────────────────────────────────────────────
+
+    /** Làm mới heartbeat; 0 → phiên không còn RUNNING dưới tên node này (đã bị tiếp quản). */
+    @Modifying
+    @Query("""
+            UPDATE SyncLog s SET s.heartbeatAt = :now
+            WHERE s.id = :syncId AND s.ownerNodeId = :nodeId AND s.status = :running
+            """)
+    int renewLease(@Param("syncId") Long syncId, @Param("nodeId") String nodeId,
+            @Param("now") LocalDateTime now, @Param("running") SyncStatus running);
+
+    /**
+     * Đánh FAILED phiên RUNNING có heartbeat (hoặc started_at nếu chưa từng heartbeat)
+     * trước {@code cutoff}. Điều kiện nằm trong UPDATE nên hai node cùng tiếp quản thì
+     * chỉ một node thắng. Checkpoint (resume_cursor…) được giữ để lần sync sau tiếp tục.
+     *
+     * @param syncId null → mọi phiên quá hạn
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE SyncLog s
+            SET s.status = :failed, s.endedAt = :now, s.detailMessage = :message
+            WHERE (:syncId IS NULL OR s.id = :syncId)
+              AND s.status = :running
+              AND COALESCE(s.heartbeatAt, s.startedAt) < :cutoff
+            """)
+    int expireLeases(@Param("syncId") Long syncId, @Param("cutoff") LocalDateTime cutoff,
+            @Param("now") LocalDateTime now, @Param("message") String message,
+            @Param("running") SyncStatus running, @Param("failed") SyncStatus failed);
 }
@@ -23,6 +23,14 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     /** Preload batch để tránh N+1 khi upsert */
     List<Task> findAllByJiraIssueKeyIn(List<String> jiraIssueKeys);
 
+    /** Nhóm đã từng sync issue của project này chưa (prefix {@code KEY-}). */
+    boolean existsByStudentGroup_GroupIdAndJiraIssueKeyStartingWith(Long groupId, String keyPrefix);
+
+    /** Sub-task con (mọi loại) – xoá trước task cha khi issue bị xoá trên Jira. */
+    List<Task> findAllByParentTask_TaskId(Integer parentTaskId);
+
+    boolean existsByRequirement_RequirementId(Integer requirementId);
+
     // ── Requirement dashboard (epic list) ─────────────────────────────────────
 
     @Query("""
@@ -1,5 +1,6 @@
 package com.swp391.backend.repository;
 
+import com.swp391.backend.dto.response.AuthorIdentityProjection;
 import com.swp391.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -31,6 +34,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
         Optional<User> findByJiraAccountId(String jiraAccountId);
 
+        /** Preload assignee của một lô issue Jira bằng một query. */
+        List<User> findAllByJiraAccountIdIn(Collection<String> jiraAccountIds);
+
+        /** Thành viên giữ vai trò {@code roleCode} (VD LEADER) của nhóm. */
+        @Query("SELECT gm.user FROM GroupMember gm WHERE gm.group.groupId = :groupId AND gm.memberRole.code = :roleCode")
+        Optional<User> findGroupMemberByRole(@Param("groupId") Long groupId, @Param("roleCode") String roleCode);
+
+        /** User hệ thống đầu tiên có role {@code roleCode} (VD ADMIN) – chủ sở hữu dự phòng. */
+        Optional<User> findFirstByRole_RoleCodeOrderByUserIdAsc(String roleCode);
+
+        /**
+         * Ứng viên tác giả commit của một nhóm: thành viên nhóm + sinh viên trong lớp
+         * của nhóm. Dùng để dựng bảng tra cứu tác giả một lần cho mỗi lần sync.
+         */
+        @Query(value = """
+                SELECT u.user_id         AS userId,
+                       u.email           AS email,
+                       u.github_username AS githubUsername
+                FROM Users u
+                WHERE u.user_id IN (SELECT gm.user_id FROM GroupMember gm WHERE gm.group_id = :groupId)
+                   OR u.user_id IN (SELECT sca.student_id
+                                    FROM StudentClassAssignment sca
+                                    JOIN StudentGroup g ON g.class_id = sca.class_id
+                                    WHERE g.group_id = :groupId)
+                """, nativeQuery = true)
+        List<AuthorIdentityProjection> findAuthorCandidatesByGroupId(@Param("groupId") Long groupId);
+
         @Query("SELECT u FROM User u " +
                 "WHERE (:kw IS NULL OR :kw = '' OR " +
                 "LOWER(u.username) LIKE LOWER(CONCAT('%', :kw, '%')) OR " +
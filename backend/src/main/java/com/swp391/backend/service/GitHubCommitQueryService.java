@@ -0,0 +1,16 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.dto.request.CommitSearchRequest;
+import com.swp391.backend.dto.response.CommitSearchResult;
+
+/**
+ * Tra cứu commit GitHub của một nhóm.
+ */
+public interface GitHubCommitQueryService {
+
+    /**
+     * Mặc định đọc từ bảng GitCommit (keyset pagination); {@code criteria.live = true}
+     * để gọi thẳng GitHub API.
+     */
+    CommitSearchResult search(Long groupId, CommitSearchRequest criteria);
+}
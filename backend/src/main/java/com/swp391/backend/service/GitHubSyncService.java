@@ -1,7 +1,23 @@
 package com.swp391.backend.service;
 
 import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.SyncLog;
 
 public interface GitHubSyncService {
+
+    /**
+     * Sync incremental: chỉ lấy commit mới kể từ watermark của Repository.
+     */
     SyncResultResponse syncNow(Long groupId);
+
+    /**
+     * @param fullResync true → bỏ qua watermark, crawl lại toàn bộ lịch sử (dùng để khôi phục dữ liệu)
+     */
+    SyncResultResponse syncNow(Long groupId, boolean fullResync);
+
+    /**
+     * Chạy phiên sync đã được {@code SyncLogService.begin()} trước đó (sync bất đồng bộ:
+     * syncId được trả cho client trước khi worker bắt đầu chạy).
+     */
+    SyncResultResponse runSync(SyncLog syncLog, boolean fullResync);
 }
@@ -0,0 +1,17 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.dto.response.SyncResultResponse;
+
+/**
+ * Nhận webhook GitHub và ghi commit vào DB (bất đồng bộ), không cần bấm sync.
+ */
+public interface GitHubWebhookService {
+
+    /**
+     * @param groupId   nhóm sở hữu cấu hình GitHub (lấy từ URL webhook)
+     * @param event     header {@code X-GitHub-Event}
+     * @param signature header {@code X-Hub-Signature-256}
+     * @param payload   raw body (dùng để kiểm tra chữ ký)
+     */
+    SyncResultResponse handle(Long groupId, String event, String signature, byte[] payload);
+}
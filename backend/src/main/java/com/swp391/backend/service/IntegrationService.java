@@ -9,9 +9,21 @@ public interface IntegrationService {
 
     IntegrationConfig saveOrUpdate(Long groupId, String repoFullName, String token);
 
+    /**
+     * Đặt/xoá secret của GitHub webhook cho cấu hình GitHub đã có.
+     * Chuỗi rỗng → xoá secret (webhook bị từ chối).
+     */
+    IntegrationConfig saveGitHubWebhookSecret(Long groupId, String webhookSecret);
+
     IntegrationConfig saveOrUpdateJira(Long groupId, String baseUrl, String projectKey,
             String jiraEmail, String token);
 
+    /**
+     * Đặt/xoá secret của Jira webhook cho cấu hình Jira đã có.
+     * Chuỗi rỗng → xoá secret (webhook bị từ chối).
+     */
+    IntegrationConfig saveJiraWebhookSecret(Long groupId, String webhookSecret);
+
     com.swp391.backend.dto.response.GitHubRepoResponse testGitHubConnection(Long groupId);
 
     java.util.List<GitHubCommitResponse> fetchCommitsWithCriteria(Long groupId, CommitSearchRequest criteria);
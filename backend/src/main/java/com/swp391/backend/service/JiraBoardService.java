@@ -13,7 +13,8 @@ public interface JiraBoardService {
      * Returns all Jira boards for the project linked to the given group.
      *
      * @param groupId group ID
+     * @param refresh bypass the metadata cache and reload from Jira
      * @return list of boards (id + name)
      */
-    List<JiraBoardDto> listBoards(Long groupId);
+    List<JiraBoardDto> listBoards(Long groupId, boolean refresh);
 }
@@ -4,6 +4,7 @@ import com.swp391.backend.dto.response.JiraIssueExportDto;
 import com.swp391.backend.dto.response.JiraIssuePageResponse;
 import com.swp391.backend.integration.jira.JiraJqlBuilder.FilterType;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -29,6 +30,16 @@ public interface JiraIssueService {
                         Long sprintId, String versionId, String label,
                         int maxResults);
 
+        /**
+         * Streaming export (fetchAll=true, format=ndjson|csv): cấu hình được kiểm tra
+         * ngay (lỗi → 4xx trước khi gửi byte nào); Jira chỉ được gọi khi
+         * {@link IssueExport#writeTo(PageSink)} chạy, mỗi trang đưa cho {@code sink}
+         * ngay khi fetch xong.
+         */
+        IssueExport prepareExport(Long groupId, FilterType filterType,
+                        Long sprintId, String versionId, String label,
+                        int maxResults);
+
         /**
          * Fetches a single page of Jira issues (fetchAll=false).
          * Returns items + nextPageToken + isLast so FE can paginate.
@@ -45,4 +56,18 @@ public interface JiraIssueService {
         JiraIssuePageResponse fetchIssuePage(Long groupId, FilterType filterType,
                         Long sprintId, String versionId, String label,
                         String pageToken, int maxResults);
+
+        @FunctionalInterface
+        interface PageSink {
+                void accept(List<JiraIssueExportDto> page) throws IOException;
+        }
+
+        @FunctionalInterface
+        interface IssueExport {
+                /**
+                 * Lỗi ghi của {@code sink} (client ngắt kết nối) dừng export và huỷ các
+                 * trang đang fetch trước.
+                 */
+                void writeTo(PageSink sink) throws IOException;
+        }
 }
@@ -5,18 +5,20 @@ import java.util.List;
 /**
  * Service for suggesting Jira labels for a group's Jira integration.
  * Jira Cloud does not have a standard "list all labels" endpoint,
- * so labels are aggregated from recent issues.
+ * so labels are indexed from issues by the Jira sync ({@code JiraIssueLabel}).
  */
 public interface JiraLabelService {
 
     /**
-     * Aggregate và suggest labels từ issues của project.
+     * Suggest labels từ index label của project (không gọi Jira).
      *
      * @param groupId ID của group
      * @param q       prefix/substring filter (case-insensitive), null hoặc blank =
      *                lấy tất cả
      * @param limit   số labels trả về tối đa (clamp 1..100, default 30)
-     * @return danh sách label strings (distinct, sorted)
+     * @param refresh nạp lại index từ DB
+     * @return danh sách label: khớp prefix trước rồi tới substring, mỗi nhóm xếp
+     *         theo số issue đang dùng giảm dần
      */
-    List<String> suggestLabels(Long groupId, String q, int limit);
+    List<String> suggestLabels(Long groupId, String q, int limit, boolean refresh);
 }
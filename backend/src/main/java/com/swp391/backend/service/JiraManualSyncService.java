@@ -1,6 +1,7 @@
 package com.swp391.backend.service;
 
 import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.SyncLog;
 
 /**
  * Service xử lý đồng bộ thủ công từ Jira về DB nội bộ (1 chiều, read-only
@@ -14,8 +15,22 @@ public interface JiraManualSyncService {
      *
      * @param groupId           ID của group cần sync
      * @param triggeredByUserId ID của user đang trigger sync (dùng làm createdBy
-     *                          cho Requirement mới)
+     *                          cho Requirement mới); null → Epic mới bị bỏ qua
+     *                          (sync nền của nhóm chưa có leader)
      * @return SyncResultResponse với insertedCount, updatedCount, message
      */
     SyncResultResponse syncNow(Long groupId, Long triggeredByUserId);
+
+    /**
+     * @param fullResync true → bỏ qua mốc của lần sync thành công trước, tải lại toàn
+     *                   bộ issue của project; false → chỉ issue có {@code updated}
+     *                   sau mốc đó (incremental)
+     */
+    SyncResultResponse syncNow(Long groupId, Long triggeredByUserId, boolean fullResync);
+
+    /**
+     * Chạy phiên sync đã được {@code SyncLogService.begin()} trước đó (sync bất đồng bộ:
+     * syncId được trả cho client trước khi worker bắt đầu chạy).
+     */
+    SyncResultResponse runSync(SyncLog syncLog, Long triggeredByUserId, boolean fullResync);
 }
@@ -20,7 +20,8 @@ public interface JiraSprintByBoardService {
      * @param state   optional state filter (e.g. "active", "future",
      *                "active,future");
      *                defaults to "active,future" when null/blank
+     * @param refresh bypass the metadata cache and reload from Jira
      * @return list of sprints (id + name)
      */
-    List<JiraSprintDto> listSprintsByBoard(Long groupId, Long boardId, String state);
+    List<JiraSprintDto> listSprintsByBoard(Long groupId, Long boardId, String state, boolean refresh);
 }
@@ -16,7 +16,8 @@ public interface JiraSprintService {
      * @param state   state filter: "active", "future", "closed" hoặc
      *                comma-separated
      *                (default: "active,future,closed")
+     * @param refresh bỏ qua cache metadata, tải lại từ Jira
      * @return danh sách sprints
      */
-    List<JiraSprintResponse> listSprints(Long groupId, String state);
+    List<JiraSprintResponse> listSprints(Long groupId, String state, boolean refresh);
 }
@@ -15,7 +15,9 @@ public interface JiraVersionService {
      * @param groupId         ID của group
      * @param includeArchived có bao gồm archived versions không (default false)
      * @param includeReleased có bao gồm released versions không (default true)
+     * @param refresh         bỏ qua cache metadata, tải lại từ Jira
      * @return danh sách versions sau khi filter
      */
-    List<JiraVersionResponse> listVersions(Long groupId, boolean includeArchived, boolean includeReleased);
+    List<JiraVersionResponse> listVersions(Long groupId, boolean includeArchived, boolean includeReleased,
+            boolean refresh);
 }
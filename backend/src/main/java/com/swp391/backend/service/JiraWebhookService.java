@@ -0,0 +1,19 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.dto.response.SyncResultResponse;
+
+/**
+ * Nhận webhook Jira (issue created/updated/deleted) và áp dụng vào Requirement/Task
+ * theo cùng quy tắc với Jira sync.
+ */
+public interface JiraWebhookService {
+
+    /**
+     * Xác thực và xếp event vào hàng đợi của project; trả về ngay, không chờ ghi DB.
+     *
+     * @param groupId   nhóm sở hữu cấu hình Jira (lấy từ URL webhook)
+     * @param signature header {@code X-Hub-Signature} ({@code sha256=<hex>})
+     * @param payload   raw body (dùng để kiểm tra chữ ký)
+     */
+    SyncResultResponse handle(Long groupId, String signature, byte[] payload);
+}
@@ -2,6 +2,10 @@ package com.swp391.backend.service;
 
 import com.swp391.backend.entity.SyncLog;
 import com.swp391.backend.entity.SyncStatus;
+import com.swp391.backend.service.sync.SyncPhase;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 public interface SyncLogService {
 
@@ -19,6 +23,27 @@ public interface SyncLogService {
     SyncLog end(Long syncId, SyncStatus status,
             Integer inserted, Integer updated, String message);
 
+    /**
+     * Ghi checkpoint sau khi một trang đã được ghi xong (transaction riêng).
+     *
+     * @param nextCursor URL trang kế tiếp, null nếu đã là trang cuối
+     */
+    SyncLog checkpoint(Long syncId, String nextCursor, String headSha, LocalDateTime newestDate,
+            int pagesFetched, Integer inserted, Integer updated);
+
+    /**
+     * Báo tiến độ cho client đang theo dõi ({@code GET /api/sync/{id}}, SSE). Chỉ giữ
+     * trong RAM, không ghi DB.
+     */
+    void progress(Long syncId, SyncPhase phase, int pagesFetched, int inserted, int updated, int unchanged);
+
+    Optional<SyncLog> findById(Long syncId);
+
+    /**
+     * Phiên sync gần nhất nếu nó FAILED giữa chừng và còn checkpoint để tiếp tục.
+     */
+    Optional<SyncLog> findResumable(Long groupId, String source);
+
     /**
      * Shorthand: kết thúc với FAILED, counts = 0/0.
      */
@@ -5,6 +5,7 @@ import com.swp391.backend.dto.request.RegisterRequest;
 import com.swp391.backend.dto.response.LoginResponse;
 import com.swp391.backend.entity.Role;
 import com.swp391.backend.entity.User;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
 import com.swp391.backend.repository.RoleRepository;
 import com.swp391.backend.repository.UserRepository;
 import com.swp391.backend.security.JwtProvider;
@@ -27,6 +28,7 @@ public class AuthServiceImpl implements AuthService {
         private final PasswordEncoder passwordEncoder;
         private final UserRepository userRepository;
         private final RoleRepository roleRepository;
+        private final GitHubAuthorResolver gitHubAuthorResolver;
 
         @Override
         public LoginResponse login(LoginRequest loginRequest) {
@@ -92,6 +94,11 @@ public class AuthServiceImpl implements AuthService {
                                 .role(userRole)
                                 .build();
 
-                userRepository.save(user);
+                User saved = userRepository.save(user);
+
+                // Commit đã sync trước khi tài khoản tồn tại → liên kết lại theo GitHub username
+                if (saved.getGithubUsername() != null && !saved.getGithubUsername().isBlank()) {
+                        gitHubAuthorResolver.relinkHistoricalCommits(saved.getUserId(), saved.getGithubUsername());
+                }
         }
 }
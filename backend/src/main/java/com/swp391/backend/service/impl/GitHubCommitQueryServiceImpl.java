@@ -0,0 +1,205 @@
+package com.swp391.backend.service.impl;
+
+import com.swp391.backend.dto.request.CommitSearchRequest;
+import com.swp391.backend.dto.response.CommitSearchResult;
+import com.swp391.backend.dto.response.GitHubCommitResponse;
+import com.swp391.backend.entity.GitCommit;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.entity.SyncStatus;
+import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.github.GitHubCommitIngestor;
+import com.swp391.backend.repository.GitCommitRepository;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RepositoryRepository;
+import com.swp391.backend.repository.SyncLogRepository;
+import com.swp391.backend.service.GitHubCommitQueryService;
+import com.swp391.backend.service.IntegrationService;
+import com.swp391.backend.utils.DateTimeUtils;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Tra cứu commit từ bảng GitCommit thay vì duyệt GitHub API mỗi lần mở dashboard.
+ *
+ * <p>
+ * Lọc theo khoảng {@code commit_date} của repository nhóm, sắp xếp mới nhất trước
+ * và phân trang bằng keyset {@code (commit_date, commit_id)} trên index
+ * {@code IX_GitCommit_repo_date}. Con trỏ trang là chuỗi Base64URL mờ
+ * ({@code <commit_date>|<commit_id>}).
+ * Không truyền {@code limit} lẫn {@code cursor} → trả đủ cả khoảng trong một lần (client
+ * cũ không đọc {@code X-Next-Cursor} nên không được cắt bớt âm thầm).
+ * </p>
+ *
+ * <p>
+ * Dữ liệu chỉ mới tới lần sync / webhook gần nhất: {@link CommitSearchResult#getLastSyncedAt()}
+ * cho client biết độ "tươi". {@code live = true} giữ lại hành vi cũ (gọi thẳng GitHub).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class GitHubCommitQueryServiceImpl implements GitHubCommitQueryService {
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 1000;
+
+    private static final ZoneId COMMIT_ZONE = GitHubCommitIngestor.COMMIT_ZONE;
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final IntegrationConfigRepository configRepository;
+    private final RepositoryRepository repositoryRepository;
+    private final GitCommitRepository gitCommitRepository;
+    private final SyncLogRepository syncLogRepository;
+    private final IntegrationService integrationService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommitSearchResult search(Long groupId, CommitSearchRequest criteria) {
+        IntegrationConfig config = configRepository
+                .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.GITHUB)
+                .orElseThrow(() -> new BusinessException(
+                        "GitHub integration configuration not found for group: " + groupId, 404));
+
+        Instant lastSyncedAt = syncLogRepository
+                .findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(groupId, "GITHUB", SyncStatus.SUCCESS)
+                .filter(log -> log.getEndedAt() != null)
+                .map(log -> log.getEndedAt().atZone(ZoneId.systemDefault()).toInstant())
+                .orElse(null);
+
+        // ── Live passthrough (opt-in) ────────────────────────────────────────
+        if (Boolean.TRUE.equals(criteria.getLive())) {
+            return CommitSearchResult.builder()
+                    .commits(integrationService.fetchCommitsWithCriteria(groupId, criteria))
+                    .lastSyncedAt(lastSyncedAt)
+                    .source("live")
+                    .build();
+        }
+
+        // ── Khoảng thời gian (giống các tham số since/until của GitHub) ──────
+        LocalDateTime from = MIN_DATE;
+        LocalDateTime to = MAX_DATE;
+        if (criteria.getLastNDays() != null && criteria.getLastNDays() > 0) {
+            from = parseBound(DateTimeUtils.getIsoDateLastNDays(criteria.getLastNDays()), false);
+        } else {
+            if (criteria.getFromDate() != null && !criteria.getFromDate().isEmpty()) {
+                from = parseBound(criteria.getFromDate(), false);
+            }
+            if (criteria.getToDate() != null && !criteria.getToDate().isEmpty()) {
+                to = parseBound(criteria.getToDate(), true);
+            }
+        }
+
+        boolean hasCursor = criteria.getCursor() != null && !criteria.getCursor().isBlank();
+        boolean hasLimit = criteria.getLimit() != null && criteria.getLimit() > 0;
+        boolean paged = hasCursor || hasLimit;
+        int limit = hasLimit ? Math.min(criteria.getLimit(), MAX_LIMIT) : DEFAULT_LIMIT;
+
+        Repository repo = repositoryRepository.findByGroupIdAndFullName(groupId, config.getRepoFullName())
+                .orElse(null);
+        if (repo == null) {
+            // Chưa sync lần nào → chưa có dữ liệu
+            return CommitSearchResult.builder()
+                    .commits(List.of())
+                    .lastSyncedAt(lastSyncedAt)
+                    .source("db")
+                    .build();
+        }
+
+        // ── Không phân trang: trả nguyên khoảng thời gian ────────────────────
+        if (!paged) {
+            List<GitCommit> rows = gitCommitRepository.findPageByRepoAndDateRange(repo.getRepoId(), from, to,
+                    Limit.unlimited());
+            return CommitSearchResult.builder()
+                    .commits(rows.stream().map(this::toResponse).toList())
+                    .lastSyncedAt(lastSyncedAt)
+                    .source("db")
+                    .build();
+        }
+
+        // ── Keyset page (lấy dư 1 dòng để biết còn trang sau hay không) ──────
+        List<GitCommit> rows;
+        if (hasCursor) {
+            Cursor cursor = decodeCursor(criteria.getCursor());
+            rows = gitCommitRepository.findPageByRepoAndDateRangeAfter(repo.getRepoId(), from, to,
+                    cursor.commitDate(), cursor.commitId(), Limit.of(limit + 1));
+        } else {
+            rows = gitCommitRepository.findPageByRepoAndDateRange(repo.getRepoId(), from, to, Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            GitCommit last = rows.get(rows.size() - 1);
+            nextCursor = encodeCursor(new Cursor(last.getCommitDate(), last.getCommitId()));
+        }
+
+        return CommitSearchResult.builder()
+                .commits(rows.stream().map(this::toResponse).toList())
+                .nextCursor(nextCursor)
+                .lastSyncedAt(lastSyncedAt)
+                .source("db")
+                .build();
+    }
+
+    private GitHubCommitResponse toResponse(GitCommit commit) {
+        return GitHubCommitResponse.builder()
+                .sha(commit.getSha())
+                .authorName(commit.getAuthorName())
+                .authorEmail(commit.getAuthorEmail())
+                // Cùng định dạng ISO-8601 UTC như GitHub trả về trước đây
+                .date(commit.getCommitDate().atZone(COMMIT_ZONE).toInstant().toString())
+                .message(commit.getMessage())
+                .build();
+    }
+
+    /**
+     * Nhận ISO-8601 có offset ({@code 2024-01-31T23:59:59Z}) hoặc chỉ ngày
+     * ({@code 2024-01-31}, hiểu theo giờ Việt Nam: đầu ngày / cuối ngày).
+     */
+    private LocalDateTime parseBound(String value, boolean endOfDay) {
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(COMMIT_ZONE).toLocalDateTime();
+        } catch (DateTimeParseException ignored) {
+            // thử định dạng chỉ có ngày
+        }
+        try {
+            LocalDate date = LocalDate.parse(value);
+            return endOfDay ? date.atTime(LocalTime.MAX) : date.atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid date: " + value + " (expected ISO-8601)", 400);
+        }
+    }
+
+    private static String encodeCursor(Cursor cursor) {
+        String raw = cursor.commitDate() + "|" + cursor.commitId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor", 400);
+        }
+    }
+
+    private record Cursor(LocalDateTime commitDate, Integer commitId) {
+    }
+}
@@ -1,25 +1,36 @@
 package com.swp391.backend.service.impl;
 
+import com.swp391.backend.config.GitHubSyncConfig;
 import com.swp391.backend.utils.IntegrationTypeIds;
 import com.swp391.backend.dto.response.GitHubCommitDTO;
 import com.swp391.backend.dto.response.SyncResultResponse;
 import com.swp391.backend.entity.*;
+import com.swp391.backend.exception.GitHubApiException;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
+import com.swp391.backend.integration.github.GitHubAuthorResolver.AuthorIndex;
 import com.swp391.backend.integration.github.GitHubClient;
+import com.swp391.backend.integration.github.GitHubCommitIngestor;
+import com.swp391.backend.integration.github.GitHubCommitIngestor.IngestResult;
+import com.swp391.backend.integration.github.GitHubPageIterator;
+import com.swp391.backend.integration.http.RetryBudget;
 import com.swp391.backend.repository.GitCommitRepository;
 import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.repository.RepositoryRepository;
-import com.swp391.backend.repository.UserRepository;
 import com.swp391.backend.service.GitHubSyncService;
 import com.swp391.backend.service.SyncLogService;
 import com.swp391.backend.service.TokenCryptoService;
+import com.swp391.backend.service.sync.SyncPhase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 /**
  * Triển khai đồng bộ commit từ GitHub về database.
@@ -35,6 +46,36 @@ import java.util.Optional;
  *           catch (Exception)         { end(FAILED) → wrap 500 → rethrow }
  * </pre>
  *
+ * <h3>Incremental sync</h3>
+ * <p>
+ * Mặc định chỉ lấy commit mới: {@link Repository#getLastCommitDate()} (trừ đi
+ * {@link GitHubSyncConfig#getIncrementalOverlapHours()}) được truyền làm
+ * {@code since=} cho GitHub. Nếu commit mới nhất trả về trùng
+ * {@link Repository#getLastCommitSha()} thì không có gì mới để ghi.
+ * {@code fullResync = true} bỏ qua watermark và crawl lại toàn bộ lịch sử.
+ * Watermark chỉ được cập nhật sau khi upsert thành công.
+ * </p>
+ *
+ * <h3>Checkpoint &amp; resume</h3>
+ * <p>
+ * Mỗi trang được ghi trong transaction riêng rồi checkpoint vào SyncLog (URL trang
+ * kế tiếp, HEAD SHA, committer date mới nhất, số trang). Nếu lần sync trước FAILED
+ * giữa chừng, lần sau tiếp tục từ trang dở dang thay vì crawl lại từ đầu; watermark
+ * chỉ được dời khi lượt crawl (kể cả phần resume) đi hết trang cuối. Commit mới
+ * được push trong lúc gián đoạn làm các trang trôi xuống → trang resume có thể
+ * chứa commit đã ghi (upsert bỏ qua), không bỏ sót commit nào; commit mới đó sẽ
+ * được lấy ở lần incremental kế tiếp.
+ * </p>
+ *
+ * <h3>Upsert hàng loạt theo trang</h3>
+ * <p>
+ * Commit được đọc qua {@link GitHubClient#commitPages} và mỗi trang được ghi qua
+ * {@link GitHubCommitIngestor} (preload 1 query, MERGE/UPDATE theo JDBC batch)
+ * trong lúc trang kế tiếp đang được fetch, nên bộ nhớ không phụ thuộc kích thước
+ * repository. Tác giả được liên kết qua {@link GitHubAuthorResolver} dựng một
+ * lần cho mỗi lần sync.
+ * </p>
+ *
  * <p>
  * <b>Không có @Transactional ở method level</b> vì mỗi lệnh gọi
  * {@link SyncLogService} đã dùng REQUIRES_NEW transaction riêng.
@@ -52,8 +93,10 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
     private final TokenCryptoService tokenCryptoService;
     private final GitHubClient gitHubClient;
     private final RepositoryRepository repositoryRepository;
+    private final GitHubSyncConfig gitHubSyncConfig;
+    private final GitHubAuthorResolver authorResolver;
+    private final GitHubCommitIngestor commitIngestor;
     private final GitCommitRepository gitCommitRepository;
-    private final UserRepository userRepository;
 
     // -------------------------------------------------------------------------
     // syncNow
@@ -61,16 +104,31 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
 
     @Override
     public SyncResultResponse syncNow(Long groupId) {
+        return syncNow(groupId, false);
+    }
+
+    @Override
+    public SyncResultResponse syncNow(Long groupId, boolean fullResync) {
         // ── Bước 1: Bắt đầu SyncLog ─────────────────────────────────────────
         // Nếu begin() ném 409 CONFLICT (đang có RUNNING), exception đi thẳng lên
         // Controller mà KHÔNG qua các catch bên dưới → không cần gọi end().
         SyncLog syncLog = syncLogService.begin(groupId, "GITHUB");
-        Long syncId = syncLog.getId();
+        return runSync(groupId, syncLog.getId(), fullResync);
+    }
+
+    @Override
+    public SyncResultResponse runSync(SyncLog syncLog, boolean fullResync) {
+        return runSync(syncLog.getGroupId(), syncLog.getId(), fullResync);
+    }
+
+    private SyncResultResponse runSync(Long groupId, Long syncId, boolean fullResync) {
+        syncLogService.progress(syncId, SyncPhase.FETCHING, 0, 0, 0, 0);
 
         int insertedCount = 0;
         int updatedCount = 0;
 
-        try {
+        // Budget retry dùng chung cho mọi request GitHub của lượt sync (kể cả thread prefetch)
+        try (RetryBudget.Scope retryBudget = RetryBudget.open(gitHubSyncConfig.getRetryBudget())) {
             // ── Bước 2: Lấy cấu hình & giải mã token ─────────────────────
             IntegrationConfig config = configRepository
                     .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.GITHUB)
@@ -93,80 +151,91 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
                                     .fullName(config.getRepoFullName())
                                     .build()));
 
-            // ── Bước 4: Gọi GitHub API (có phân trang bên trong) ─────────
-            List<GitHubCommitDTO> commits = gitHubClient.fetchAllCommits(config.getRepoFullName(), token);
+            // ── Bước 4: Tiếp tục checkpoint dở dang hoặc bắt đầu lượt crawl mới ─
+            SyncLog resumeFrom = syncLogService.findResumable(groupId, "GITHUB")
+                    .filter(previous -> canResume(previous, repo, fullResync))
+                    .orElse(null);
 
-            // ── Bước 5: Upsert commits ───────────────────────────────────
-            for (GitHubCommitDTO dto : commits) {
-                // Bỏ qua commit không có SHA (dữ liệu dị thường từ API)
-                if (dto.getSha() == null) {
-                    log.warn("[GitHub Sync] Skipping commit with null SHA, group={}", groupId);
-                    continue;
-                }
-
-                // Bỏ qua commit không có date (null sẽ vi phạm NOT NULL constraint)
-                if (dto.getCommit() == null
-                        || dto.getCommit().getAuthor() == null
-                        || dto.getCommit().getAuthor().getDate() == null) {
-                    log.warn("[GitHub Sync] Skipping commit {} – missing author/date info", dto.getSha());
-                    continue;
-                }
+            boolean incremental;
+            String headSha;
+            LocalDateTime newestDate;
+            int pagesFetched;
+            GitHubPageIterator<GitHubCommitDTO> pageIterator;
+            if (resumeFrom != null) {
+                incremental = hasSinceParam(resumeFrom.getResumeCursor());
+                headSha = resumeFrom.getResumeHeadSha();
+                newestDate = resumeFrom.getResumeNewestDate();
+                pagesFetched = resumeFrom.getPagesFetched();
+                pageIterator = gitHubClient.commitPagesFrom(resumeFrom.getResumeCursor(), token);
+                // Chuyển checkpoint sang SyncLog mới để lỗi ngay từ trang đầu vẫn resume được
+                syncLogService.checkpoint(syncId, resumeFrom.getResumeCursor(), headSha, newestDate,
+                        pagesFetched, 0, 0);
+                log.info("[GitHub Sync] group={} resuming sync #{} after {} page(s)",
+                        groupId, resumeFrom.getId(), pagesFetched);
+            } else {
+                incremental = !fullResync && repo.getLastCommitDate() != null;
+                headSha = null;
+                newestDate = null;
+                pagesFetched = 0;
+                pageIterator = gitHubClient.commitPages(config.getRepoFullName(), token,
+                        incremental ? toSinceParam(repo.getLastCommitDate()) : null);
+            }
+            AuthorIndex authors = authorResolver.forGroup(groupId);
 
-                Optional<GitCommit> existingOpt = gitCommitRepository.findByRepoIdAndSha(repo.getRepoId(),
-                        dto.getSha());
-
-                GitCommit commit = existingOpt.orElseGet(() -> GitCommit.builder()
-                        .repoId(repo.getRepoId())
-                        .sha(dto.getSha())
-                        .build());
-
-                commit.setAuthorName(dto.getCommit().getAuthor().getName());
-                commit.setAuthorEmail(dto.getCommit().getAuthor().getEmail());
-                commit.setCommitDate(java.time.ZonedDateTime.parse(
-                        dto.getCommit().getAuthor().getDate(),
-                        java.time.format.DateTimeFormatter.ISO_DATE_TIME)
-                        .withZoneSameInstant(java.time.ZoneId.of("Asia/Ho_Chi_Minh"))
-                        .toLocalDateTime());
-                commit.setMessage(dto.getCommit().getMessage());
-
-                if (dto.getAuthor() != null) {
-                    commit.setAuthorLogin(dto.getAuthor().getLogin());
-                }
+            int unchangedCount = 0;
+            Map<String, String> detailFailures = new LinkedHashMap<>();
 
-                // Liên kết với User nội bộ nếu email khớp
-                if (commit.getAuthorEmail() != null) {
-                    userRepository.findByEmailIgnoreCase(commit.getAuthorEmail())
-                            .ifPresent(u -> commit.setAuthorUserId(u.getUserId()));
-                }
+            try (GitHubPageIterator<GitHubCommitDTO> pages = pageIterator) {
+                while (pages.hasNext()) {
+                    List<GitHubCommitDTO> page = pages.next();
 
-                // Fetch detailed stats (additions, deletions, filesChanged) if missing
-                if (commit.getAdditions() == null || commit.getDeletions() == null) {
-                    try {
-                        com.swp391.backend.dto.response.GitHubCommitDetailedDTO detailed = gitHubClient.fetchSingleCommit(config.getRepoFullName(), dto.getSha(), token);
-                        if (detailed != null) {
-                            if (detailed.getStats() != null) {
-                                commit.setAdditions(detailed.getStats().getAdditions());
-                                commit.setDeletions(detailed.getStats().getDeletions());
-                            }
-                            if (detailed.getFiles() != null) {
-                                commit.setFilesChanged(detailed.getFiles().size());
-                            }
+                    if (headSha == null) {
+                        headSha = page.get(0).getSha();
+                        if (incremental && headSha != null && headSha.equals(repo.getLastCommitSha())) {
+                            // HEAD chưa đổi kể từ lần sync trước → các commit trong khoảng overlap đã có trong DB
+                            String upToDateMsg = "Repository is up to date (no new commits since last sync)";
+                            syncLogService.end(syncId, SyncStatus.SUCCESS, 0, 0, upToDateMsg);
+                            log.info("[GitHub Sync] group={} SUCCESS – up to date at {}", groupId, headSha);
+                            return SyncResultResponse.builder()
+                                    .status("SUCCESS")
+                                    .insertedCount(0)
+                                    .updatedCount(0)
+                                    .message(upToDateMsg)
+                                    .build();
+                        }
+                    }
+                    for (GitHubCommitDTO dto : page) {
+                        LocalDateTime date = watermarkDateOf(dto);
+                        if (dto.getSha() != null && date != null && (newestDate == null || date.isAfter(newestDate))) {
+                            newestDate = date;
                         }
-                    } catch (Exception ex) {
-                         log.warn("Could not fetch detailed stats for commit {}", dto.getSha());
                     }
-                }
 
-                gitCommitRepository.save(commit);
+                    // ── Bước 5–7: Upsert trang hiện tại (trang sau đang được fetch song song) ─
+                    IngestResult written = commitIngestor.ingest(repo, config.getRepoFullName(), token, page, authors);
+                    insertedCount += written.inserted();
+                    updatedCount += written.updated();
+                    unchangedCount += written.unchanged();
+                    detailFailures.putAll(written.detailFailures());
 
-                if (existingOpt.isPresent())
-                    updatedCount++;
-                else
-                    insertedCount++;
+                    // Trang đã commit → ghi checkpoint
+                    pagesFetched++;
+                    syncLogService.checkpoint(syncId, pages.nextPageUrl(), headSha, newestDate,
+                            pagesFetched, insertedCount, updatedCount);
+                    syncLogService.progress(syncId, SyncPhase.FETCHING, pagesFetched,
+                            insertedCount, updatedCount, unchangedCount);
+                }
             }
 
-            // ── Bước 6: Kết thúc thành công ─────────────────────────────
-            String successMsg = "Synced " + (insertedCount + updatedCount) + " commit(s) successfully";
+            // ── Bước 8: Dời watermark (chỉ khi mọi trang đã upsert xong) ─
+            advanceWatermark(repo, headSha, newestDate, !incremental);
+
+            // ── Bước 9: Kết thúc thành công ─────────────────────────────
+            String successMsg = "Synced " + (insertedCount + updatedCount) + " commit(s) successfully"
+                    + (incremental ? " (incremental)" : " (full)")
+                    + (resumeFrom != null ? " – resumed sync #" + resumeFrom.getId() : "")
+                    + ", " + unchangedCount + " unchanged"
+                    + describeDetailFailures(detailFailures);
             syncLogService.end(syncId, SyncStatus.SUCCESS, insertedCount, updatedCount, successMsg);
             log.info("[GitHub Sync] group={} SUCCESS – inserted={}, updated={}", groupId, insertedCount, updatedCount);
 
@@ -174,6 +243,7 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
                     .status("SUCCESS")
                     .insertedCount(insertedCount)
                     .updatedCount(updatedCount)
+                    .unchangedCount(unchangedCount)
                     .message(successMsg)
                     .build();
 
@@ -185,6 +255,12 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
             syncLogService.end(syncId, SyncStatus.FAILED, insertedCount, updatedCount, reason);
             throw ex; // giữ nguyên HTTP status, trả lên Controller
 
+        } catch (GitHubApiException ex) {
+            // Rate limit: giữ 429 + Retry-After cho người đang chờ
+            log.error("[GitHub Sync] group={} FAILED [{}]: {}", groupId, ex.getStatus(), ex.getMessage());
+            syncLogService.end(syncId, SyncStatus.FAILED, insertedCount, updatedCount, ex.getMessage());
+            throw ex;
+
         } catch (Exception ex) {
             // Lỗi không mong đợi: network timeout, decrypt fail, DB error…
             String msg = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
@@ -194,4 +270,95 @@ public class GitHubSyncServiceImpl implements GitHubSyncService {
                     HttpStatus.INTERNAL_SERVER_ERROR, "Sync failed: " + msg, ex);
         }
     }
+
+    /**
+     * Commit lỗi khi lấy stats vẫn được lưu (stats = null) và sẽ được thử lại ở lần sync sau.
+     */
+    private String describeDetailFailures(Map<String, String> failures) {
+        if (failures.isEmpty()) {
+            return "";
+        }
+        String sample = failures.keySet().stream()
+                .limit(5)
+                .map(sha -> sha.length() > 7 ? sha.substring(0, 7) : sha)
+                .reduce((a, b) -> a + ", " + b)
+                .orElse("");
+        return ". Warning: stats unavailable for " + failures.size() + " commit(s) [" + sample
+                + (failures.size() > 5 ? ", ..." : "") + "]";
+    }
+
+    // -------------------------------------------------------------------------
+    // Resume helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Checkpoint chỉ dùng được khi:
+     * <ul>
+     * <li>cursor trỏ về GitHub API (token không bị gửi tới host khác);</li>
+     * <li>HEAD của lượt crawl dở đã nằm trong repository hiện tại – đổi
+     * {@code repoFullName} giữa chừng thì bỏ checkpoint cũ;</li>
+     * <li>không yêu cầu full resync trên một lượt incremental.</li>
+     * </ul>
+     */
+    private boolean canResume(SyncLog previous, Repository repo, boolean fullResync) {
+        String cursor = previous.getResumeCursor();
+        if (!cursor.startsWith("https://api.github.com/") || previous.getResumeHeadSha() == null) {
+            return false;
+        }
+        if (fullResync && hasSinceParam(cursor)) {
+            return false;
+        }
+        return repo.getRepoId() != null
+                && gitCommitRepository.existsByRepoIdAndSha(repo.getRepoId(), previous.getResumeHeadSha());
+    }
+
+    private boolean hasSinceParam(String pageUrl) {
+        return UriComponentsBuilder.fromUriString(pageUrl).build().getQueryParams().containsKey("since");
+    }
+
+    // -------------------------------------------------------------------------
+    // Watermark helpers
+    // -------------------------------------------------------------------------
+
+    /**
+     * Cập nhật high-water mark của Repository: SHA của HEAD (commit đầu tiên GitHub trả
+     * về) và committer date mới nhất đã thấy.
+     * Khi full resync, watermark được ghi đè (kể cả khi lùi lại, ví dụ sau force-push).
+     */
+    private void advanceWatermark(Repository repo, String headSha, LocalDateTime newestDate, boolean fullResync) {
+        if (headSha == null || newestDate == null) {
+            return;
+        }
+        if (fullResync || repo.getLastCommitDate() == null || !newestDate.isBefore(repo.getLastCommitDate())) {
+            repo.setLastCommitSha(headSha);
+            repo.setLastCommitDate(newestDate);
+            repositoryRepository.save(repo);
+        }
+    }
+
+    /** Committer date (GitHub lọc {@code since} theo trường này), fallback về author date. */
+    private LocalDateTime watermarkDateOf(GitHubCommitDTO dto) {
+        if (dto.getCommit() == null) {
+            return null;
+        }
+        GitHubCommitDTO.Author source = dto.getCommit().getCommitter() != null
+                && dto.getCommit().getCommitter().getDate() != null
+                        ? dto.getCommit().getCommitter()
+                        : dto.getCommit().getAuthor();
+        if (source == null || source.getDate() == null) {
+            return null;
+        }
+        try {
+            return GitHubCommitIngestor.parseCommitDate(source.getDate());
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private String toSinceParam(LocalDateTime watermark) {
+        return watermark.atZone(GitHubCommitIngestor.COMMIT_ZONE)
+                .minusHours(gitHubSyncConfig.getIncrementalOverlapHours())
+                .toInstant()
+                .toString();
+    }
 }
@@ -0,0 +1,200 @@
+package com.swp391.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.config.WebhookQueueConfig;
+import com.swp391.backend.dto.request.GitHubPushEvent;
+import com.swp391.backend.dto.response.GitHubCommitDTO;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
+import com.swp391.backend.integration.github.GitHubCommitIngestor;
+import com.swp391.backend.integration.github.GitHubCommitIngestor.IngestResult;
+import com.swp391.backend.integration.http.KeyedSerialQueue;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RepositoryRepository;
+import com.swp391.backend.service.GitHubWebhookService;
+import com.swp391.backend.service.TokenCryptoService;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import com.swp391.backend.utils.WebhookSignatureVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ghi commit từ GitHub webhook {@code push} vào DB.
+ *
+ * <h3>Luồng xử lý</h3>
+ *
+ * <pre>
+ *  POST /api/webhooks/github/{groupId}
+ *      ├─ Không có cấu hình GitHub         → 404
+ *      ├─ Chưa đặt webhook secret           → 403
+ *      ├─ Sai chữ ký X-Hub-Signature-256    → 401
+ *      ├─ event = ping                      → SUCCESS ("pong")
+ *      ├─ event khác push / nhánh khác default / xoá nhánh → IGNORED
+ *      └─ push lên default branch → xếp vào {@link KeyedSerialQueue} theo group|repo → ACCEPTED (202)
+ *            └─ map commit → {@link GitHubCommitIngestor} (dedup theo SHA)
+ * </pre>
+ *
+ * <p>
+ * Ingest gọi GitHub lấy thống kê từng commit nên có thể lâu: chỉ kiểm tra chữ ký và
+ * lọc event trên thread request, phần ghi chạy bất đồng bộ để trả lời GitHub ngay
+ * (GitHub huỷ delivery sau 10 giây).
+ * </p>
+ *
+ * <p>
+ * Chỉ nhận commit trên default branch để khớp với luồng sync theo API
+ * ({@code GET /commits} không truyền {@code sha}). Webhook <b>không</b> dời
+ * watermark của Repository: lần sync incremental kế tiếp vẫn quét từ watermark cũ
+ * và bù lại những push bị lỡ (commit trùng được MERGE bỏ qua).
+ * </p>
+ *
+ * <p>
+ * Không tạo SyncLog (tránh 409 khi đang có sync chạy); ghi song song với sync
+ * an toàn nhờ MERGE WITH (HOLDLOCK).
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GitHubWebhookServiceImpl implements GitHubWebhookService {
+
+    private static final String EVENT_PUSH = "push";
+    private static final String EVENT_PING = "ping";
+
+    private final IntegrationConfigRepository configRepository;
+    private final TokenCryptoService tokenCryptoService;
+    private final RepositoryRepository repositoryRepository;
+    private final GitHubAuthorResolver authorResolver;
+    private final GitHubCommitIngestor commitIngestor;
+    @Qualifier(WebhookQueueConfig.GITHUB)
+    private final KeyedSerialQueue webhookQueue;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public SyncResultResponse handle(Long groupId, String event, String signature, byte[] payload) {
+        // ── Bước 1: Lấy cấu hình & kiểm tra chữ ký ───────────────────────────
+        IntegrationConfig config = configRepository
+                .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.GITHUB)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "GitHub integration not configured"));
+
+        if (config.getWebhookSecretEncrypted() == null || config.getWebhookSecretEncrypted().length == 0) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "GitHub webhook secret not configured");
+        }
+        String secret = tokenCryptoService.decryptFromBytes(config.getWebhookSecretEncrypted());
+        if (!WebhookSignatureVerifier.isValidSha256(secret, payload, signature)) {
+            log.warn("[GitHub Webhook] group={} rejected – invalid signature", groupId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid webhook signature");
+        }
+
+        // ── Bước 2: Lọc event ────────────────────────────────────────────────
+        if (EVENT_PING.equalsIgnoreCase(event)) {
+            return result("SUCCESS", 0, 0, "pong");
+        }
+        if (!EVENT_PUSH.equalsIgnoreCase(event)) {
+            return result("IGNORED", 0, 0, "Event '" + event + "' is not handled");
+        }
+
+        GitHubPushEvent push;
+        try {
+            push = objectMapper.readValue(payload, GitHubPushEvent.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed push payload");
+        }
+
+        String pushedRepo = push.getRepository() != null ? push.getRepository().getFullName() : null;
+        if (pushedRepo == null || !pushedRepo.equalsIgnoreCase(config.getRepoFullName())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Push is for repository '" + pushedRepo + "', expected '" + config.getRepoFullName() + "'");
+        }
+        String defaultBranch = push.getRepository().getDefaultBranch();
+        if (push.isDeleted() || defaultBranch == null || !("refs/heads/" + defaultBranch).equals(push.getRef())) {
+            return result("IGNORED", 0, 0, "Push to " + push.getRef() + " ignored (only default branch is tracked)");
+        }
+        if (push.getCommits() == null || push.getCommits().isEmpty()) {
+            return result("SUCCESS", 0, 0, "No commits in push");
+        }
+
+        // ── Bước 3: Xếp hàng theo repo, ghi bất đồng bộ ─────────────────────
+        String repoFullName = config.getRepoFullName();
+        String token = config.getTokenEncrypted() != null
+                ? tokenCryptoService.decryptFromBytes(config.getTokenEncrypted())
+                : null;
+        List<GitHubCommitDTO> commits = toCommitDtos(push.getCommits());
+
+        webhookQueue.submit(groupId + "|" + repoFullName, () -> ingest(groupId, repoFullName, token, commits));
+        log.info("[GitHub Webhook] group={} queued {} commit(s) pushed to {}", groupId, commits.size(), defaultBranch);
+        return result("ACCEPTED", 0, 0, "Queued " + commits.size() + " commit(s) from push to " + defaultBranch);
+    }
+
+    /** Chạy trên thread của hàng đợi: ghi commit qua pipeline chung với sync. */
+    void ingest(Long groupId, String repoFullName, String token, List<GitHubCommitDTO> commits) {
+        Repository repo = repositoryRepository
+                .findByGroupIdAndFullName(groupId, repoFullName)
+                .orElseGet(() -> repositoryRepository.save(
+                        Repository.builder()
+                                .groupId(groupId)
+                                .fullName(repoFullName)
+                                .build()));
+
+        IngestResult ingested = commitIngestor.ingest(repo, repoFullName, token, commits,
+                authorResolver.forGroup(groupId));
+
+        log.info("[GitHub Webhook] group={} inserted={}, updated={}, unchanged={}", groupId,
+                ingested.inserted(), ingested.updated(), ingested.unchanged());
+        if (!ingested.detailFailures().isEmpty()) {
+            log.warn("[GitHub Webhook] group={} stats unavailable for {} commit(s)", groupId,
+                    ingested.detailFailures().size());
+        }
+    }
+
+    /**
+     * Chuyển commit của push payload về định dạng của {@code GET /commits} để dùng
+     * chung pipeline ghi.
+     */
+    private List<GitHubCommitDTO> toCommitDtos(List<GitHubPushEvent.PushCommit> pushCommits) {
+        List<GitHubCommitDTO> dtos = new ArrayList<>(pushCommits.size());
+        for (GitHubPushEvent.PushCommit pc : pushCommits) {
+            GitHubPushEvent.PushAuthor author = pc.getAuthor();
+            GitHubPushEvent.PushAuthor committer = pc.getCommitter();
+            dtos.add(GitHubCommitDTO.builder()
+                    .sha(pc.getId())
+                    .commit(GitHubCommitDTO.CommitInfo.builder()
+                            .message(pc.getMessage())
+                            .author(GitHubCommitDTO.Author.builder()
+                                    .name(author != null ? author.getName() : null)
+                                    .email(author != null ? author.getEmail() : null)
+                                    .date(pc.getTimestamp())
+                                    .build())
+                            .committer(committer == null ? null : GitHubCommitDTO.Author.builder()
+                                    .name(committer.getName())
+                                    .email(committer.getEmail())
+                                    .date(pc.getTimestamp())
+                                    .build())
+                            .build())
+                    .author(author != null && author.getUsername() != null
+                            ? GitHubCommitDTO.RootAuthor.builder().login(author.getUsername()).build()
+                            : null)
+                    .build());
+        }
+        return dtos;
+    }
+
+    private SyncResultResponse result(String status, int inserted, int updated, String message) {
+        return SyncResultResponse.builder()
+                .status(status)
+                .insertedCount(inserted)
+                .updatedCount(updated)
+                .message(message)
+                .build();
+    }
+}
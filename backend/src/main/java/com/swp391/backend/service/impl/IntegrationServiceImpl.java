@@ -10,12 +10,15 @@ import com.swp391.backend.entity.IntegrationType;
 import com.swp391.backend.entity.StudentGroup;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.service.IntegrationService;
 import com.swp391.backend.service.TokenHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -31,6 +34,7 @@ public class IntegrationServiceImpl implements IntegrationService {
     private final com.swp391.backend.service.TokenCryptoService tokenCryptoService;
     private final com.swp391.backend.integration.github.GitHubClient gitHubClient;
     private final JiraClient jiraClient;
+    private final JiraMetadataCache jiraMetadataCache;
 
     // ── GitHub ──────────────────────────────────────────────────────────────
 
@@ -77,6 +81,22 @@ public class IntegrationServiceImpl implements IntegrationService {
         }
     }
 
+    @Override
+    @Transactional
+    public IntegrationConfig saveGitHubWebhookSecret(Long groupId, String webhookSecret) {
+        IntegrationConfig config = repository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId,
+                IntegrationTypeIds.GITHUB)
+                .orElseThrow(() -> new BusinessException(
+                        "GitHub integration configuration not found for group: " + groupId, 404));
+
+        if (webhookSecret == null || webhookSecret.trim().isEmpty()) {
+            config.setWebhookSecretEncrypted(null);
+        } else {
+            config.setWebhookSecretEncrypted(tokenHelper.encryptToBytes(webhookSecret.trim()));
+        }
+        return repository.save(config);
+    }
+
     // ── Jira ─────────────────────────────────────────────────────────────────
 
     private static final Pattern EMAIL_PATTERN = Pattern
@@ -115,7 +135,10 @@ public class IntegrationServiceImpl implements IntegrationService {
                 config.setTokenEncrypted(tokenHelper.encryptToBytes(token));
             }
 
-            return repository.save(config);
+            IntegrationConfig saved = repository.save(config);
+            // Board/sprint/version/label đã cache có thể thuộc project hoặc token cũ
+            evictJiraMetadataAfterCommit(groupId);
+            return saved;
         } else {
             if (token == null || token.trim().isEmpty()) {
                 throw new BusinessException("Token is required when creating a new Jira integration configuration",
@@ -140,6 +163,39 @@ public class IntegrationServiceImpl implements IntegrationService {
         }
     }
 
+    /**
+     * Xoá cache metadata Jira của group sau khi transaction commit: xoá trước commit thì
+     * request song song có thể nạp lại cache bằng cấu hình cũ (chưa commit) và giữ nó tới hết TTL.
+     */
+    private void evictJiraMetadataAfterCommit(Long groupId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jiraMetadataCache.evictGroup(groupId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                jiraMetadataCache.evictGroup(groupId);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public IntegrationConfig saveJiraWebhookSecret(Long groupId, String webhookSecret) {
+        IntegrationConfig config = repository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId,
+                IntegrationTypeIds.JIRA)
+                .orElseThrow(() -> new BusinessException(
+                        "Jira integration configuration not found for group: " + groupId, 404));
+
+        if (webhookSecret == null || webhookSecret.trim().isEmpty()) {
+            config.setWebhookSecretEncrypted(null);
+        } else {
+            config.setWebhookSecretEncrypted(tokenHelper.encryptToBytes(webhookSecret.trim()));
+        }
+        return repository.save(config);
+    }
+
     // ── private helpers ───────────────────────────────────────────────────────
 
     private void validateBaseUrl(String baseUrl) {
@@ -5,6 +5,7 @@ import com.swp391.backend.dto.response.JiraBoardDto;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.integration.jira.dto.JiraBoard;
 import com.swp391.backend.integration.jira.dto.JiraBoardListResponse;
 import com.swp391.backend.repository.IntegrationConfigRepository;
@@ -24,13 +25,14 @@ public class JiraBoardServiceImpl implements JiraBoardService {
     private final IntegrationConfigRepository integrationConfigRepository;
     private final TokenCryptoService tokenCryptoService;
     private final JiraClient jiraClient;
+    private final JiraMetadataCache metadataCache;
 
     private static final int PAGE_SIZE = 50;
     private static final int MAX_LOOPS = 20;
 
     @Override
     @Transactional(readOnly = true)
-    public List<JiraBoardDto> listBoards(Long groupId) {
+    public List<JiraBoardDto> listBoards(Long groupId, boolean refresh) {
         // 1. Load config
         IntegrationConfig cfg = integrationConfigRepository
                 .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA)
@@ -40,18 +42,20 @@ public class JiraBoardServiceImpl implements JiraBoardService {
         // 2. Validate config
         validateConfig(cfg);
 
-        // 3. Decrypt token
-        String rawToken;
-        try {
-            rawToken = tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
-        } catch (Exception e) {
-            throw new BusinessException("Failed to decrypt Jira token", 500);
-        }
-
-        // 4. Normalize baseUrl
+        // 3. Normalize baseUrl
         String baseUrl = cfg.getBaseUrl().stripTrailing().replaceAll("/+$", "");
 
-        // 5. Paginate all boards with safety guard
+        // 4. Cache hit → không gọi Jira
+        return metadataCache.get(groupId, cfg.getProjectKey(), "boards", refresh,
+                () -> fetchBoards(cfg, baseUrl));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<JiraBoardDto> fetchBoards(IntegrationConfig cfg, String baseUrl) {
+        String rawToken = decryptToken(cfg);
+
+        // Paginate all boards with safety guard
         List<JiraBoardDto> result = new ArrayList<>();
         int startAt = 0;
         int loops = 0;
@@ -85,10 +89,16 @@ public class JiraBoardServiceImpl implements JiraBoardService {
             throw new BusinessException("Jira pagination aborted (safety guard triggered)", 500);
         }
 
-        return result;
+        return List.copyOf(result);
     }
 
-    // ── Helpers ───────────────────────────────────────────────────────────────
+    private String decryptToken(IntegrationConfig cfg) {
+        try {
+            return tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
+        } catch (Exception e) {
+            throw new BusinessException("Failed to decrypt Jira token", 500);
+        }
+    }
 
     private void validateConfig(IntegrationConfig cfg) {
         if (cfg.getBaseUrl() == null || cfg.getBaseUrl().isBlank()
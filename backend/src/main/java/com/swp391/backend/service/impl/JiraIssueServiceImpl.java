@@ -1,11 +1,13 @@
 package com.swp391.backend.service.impl;
 
+import com.swp391.backend.config.JiraSyncConfig;
 import com.swp391.backend.utils.IntegrationTypeIds;
 import com.swp391.backend.dto.response.JiraIssueExportDto;
 import com.swp391.backend.dto.response.JiraIssuePageResponse;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraIssuePageIterator;
 import com.swp391.backend.integration.jira.JiraJqlBuilder;
 import com.swp391.backend.integration.jira.JiraJqlBuilder.FilterType;
 import com.swp391.backend.integration.jira.dto.JiraAssignee;
@@ -19,14 +21,16 @@ import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.service.JiraIssueService;
 import com.swp391.backend.service.TokenCryptoService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class JiraIssueServiceImpl implements JiraIssueService {
@@ -39,6 +43,7 @@ public class JiraIssueServiceImpl implements JiraIssueService {
     private final TokenCryptoService tokenCryptoService;
     private final JiraClient jiraClient;
     private final JiraJqlBuilder jiraJqlBuilder;
+    private final JiraSyncConfig jiraSyncConfig;
 
     // ── fetchAllIssues ────────────────────────────────────────────────────────
 
@@ -51,6 +56,17 @@ public class JiraIssueServiceImpl implements JiraIssueService {
         return loopAllPages(ctx);
     }
 
+    // ── prepareExport (streaming) ─────────────────────────────────────────────
+
+    @Override
+    @Transactional(readOnly = true)
+    public IssueExport prepareExport(Long groupId, FilterType filterType,
+            Long sprintId, String versionId, String label,
+            int maxResults) {
+        JiraContext ctx = buildContext(groupId, filterType, sprintId, versionId, label, maxResults);
+        return sink -> streamAllPages(ctx, sink);
+    }
+
     // ── fetchIssuePage ────────────────────────────────────────────────────────
 
     @Override
@@ -79,56 +95,53 @@ public class JiraIssueServiceImpl implements JiraIssueService {
 
     private List<JiraIssueExportDto> loopAllPages(JiraContext ctx) {
         List<JiraIssueExportDto> collected = new ArrayList<>();
-        String currentToken = null;
-        String prevToken = null;
-        int loops = 0;
-        boolean firstLoop = true;
-
-        while (true) {
-            // Safety guard: max loops
-            if (loops >= MAX_LOOPS) {
-                throw new BusinessException(
-                        "Jira pagination aborted (safety guard triggered): max loops reached", 500);
-            }
-            // Safety guard: max issues
-            if (collected.size() >= MAX_ISSUES) {
-                throw new BusinessException(
-                        "Jira pagination aborted (safety guard triggered): max issues limit (" + MAX_ISSUES
-                                + ") reached",
-                        500);
-            }
-            // Safety guard: token not advancing (only checked after first round)
-            if (!firstLoop && Objects.equals(currentToken, prevToken)) {
-                throw new BusinessException(
-                        "Jira pagination aborted (safety guard triggered): nextPageToken not advancing", 500);
+        int pages = 0;
+
+        // search trang N+1 và bulkfetch trang N chạy song song (JiraIssuePageIterator)
+        try (JiraIssuePageIterator pageIterator = jiraClient.issuePages(ctx.baseUrl(), ctx.jiraEmail(),
+                ctx.token(), ctx.jql(), ctx.effectiveMax(), jiraSyncConfig.getFetchPipelineDepth())) {
+            while (pageIterator.hasNext()) {
+                // Safety guard: max loops
+                if (pages >= MAX_LOOPS) {
+                    throw new BusinessException(
+                            "Jira pagination aborted (safety guard triggered): max loops reached", 500);
+                }
+                // Safety guard: max issues
+                if (collected.size() >= MAX_ISSUES) {
+                    throw new BusinessException(
+                            "Jira pagination aborted (safety guard triggered): max issues limit (" + MAX_ISSUES
+                                    + ") reached",
+                            500);
+                }
+                collected.addAll(mapToDto(pageIterator.next()));
+                pages++;
             }
-
-            JiraSearchJqlResponse searchResp = jiraClient.searchIssueIdsByJql(
-                    ctx.baseUrl(), ctx.jiraEmail(), ctx.token(),
-                    ctx.jql(), ctx.effectiveMax(), currentToken);
-
-            List<String> ids = extractIds(searchResp.getIssues());
-
-            // Safety guard: empty ids
-            if (ids.isEmpty())
-                break;
-
-            collected.addAll(fetchAndMap(ctx, ids));
-
-            boolean isLast = Boolean.TRUE.equals(searchResp.getIsLast())
-                    || searchResp.getNextPageToken() == null;
-            if (isLast)
-                break;
-
-            prevToken = currentToken;
-            currentToken = searchResp.getNextPageToken();
-            firstLoop = false;
-            loops++;
         }
 
         return collected;
     }
 
+    /**
+     * Như {@link #loopAllPages} nhưng không gom list: mỗi trang đi thẳng ra
+     * {@code sink}. Không cần guard MAX_ISSUES vì RAM chỉ giữ tối đa
+     * {@code fetchPipelineDepth} trang; sink ghi chậm thì iterator cũng dừng fetch.
+     */
+    private void streamAllPages(JiraContext ctx, PageSink sink) throws IOException {
+        int issues = 0;
+        try (JiraIssuePageIterator pageIterator = jiraClient.issuePages(ctx.baseUrl(), ctx.jiraEmail(),
+                ctx.token(), ctx.jql(), ctx.effectiveMax(), jiraSyncConfig.getFetchPipelineDepth())) {
+            while (pageIterator.hasNext()) {
+                List<JiraIssueExportDto> page = mapToDto(pageIterator.next());
+                sink.accept(page);
+                issues += page.size();
+            }
+        } catch (IOException e) {
+            log.debug("[Jira Export] client disconnected after {} issue(s): {}", issues, e.getMessage());
+            throw e;
+        }
+        log.debug("[Jira Export] streamed {} issue(s)", issues);
+    }
+
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private JiraContext buildContext(Long groupId, FilterType filterType,
@@ -196,7 +209,7 @@ public class JiraIssueServiceImpl implements JiraIssueService {
         return JiraIssueExportDto.builder()
                 .key(issue.getKey())
                 .summary(f.getSummary())
-                .description(extractPlainText(f.getDescription()))
+                .description(f.getDescription())
                 .issueType(nameOf(f.getIssuetype()))
                 .status(nameOf(f.getStatus()))
                 .priority(nameOf(f.getPriority()))
@@ -213,67 +226,6 @@ public class JiraIssueServiceImpl implements JiraIssueService {
         return assignee != null ? assignee.getDisplayName() : null;
     }
 
-    // ── ADF → Plain text ──────────────────────────────────────────────────────
-
-    /**
-     * Converts Atlassian Document Format (ADF) to plain text by recursively
-     * collecting all "text" nodes.
-     *
-     * @param description raw ADF object from Jira API (typically Map or null)
-     * @return plain text, or null if description is null
-     */
-    @SuppressWarnings("unchecked")
-    private String extractPlainText(Object description) {
-        if (description == null) {
-            return null;
-        }
-        if (description instanceof String s) {
-            return s;
-        }
-        if (description instanceof Map<?, ?> map) {
-            StringBuilder sb = new StringBuilder();
-            traverseAdf((Map<String, Object>) map, sb);
-            String result = sb.toString().trim();
-            return result.isEmpty() ? null : result;
-        }
-        return description.toString();
-    }
-
-    @SuppressWarnings("unchecked")
-    private void traverseAdf(Map<String, Object> node, StringBuilder sb) {
-        Object type = node.get("type");
-        Object text = node.get("text");
-
-        if ("text".equals(type) && text instanceof String textStr) {
-            sb.append(textStr);
-        }
-
-        // Traverse "content" array
-        Object content = node.get("content");
-        if (content instanceof List<?> contentList) {
-            for (Object child : contentList) {
-                if (child instanceof Map<?, ?> childMap) {
-                    traverseAdf((Map<String, Object>) childMap, sb);
-                }
-            }
-            // Add newline after block-level nodes
-            if (isBlockNode(type)) {
-                sb.append("\n");
-            }
-        }
-    }
-
-    private boolean isBlockNode(Object type) {
-        if (!(type instanceof String t))
-            return false;
-        return switch (t) {
-            case "paragraph", "heading", "bulletList", "orderedList",
-                    "listItem", "blockquote", "codeBlock" ->
-                true;
-            default -> false;
-        };
-    }
-
     // ── Config validation ─────────────────────────────────────────────────────
 
     private void validateConfig(IntegrationConfig config) {
@@ -5,6 +5,7 @@ import com.swp391.backend.dto.response.JiraSprintDto;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.integration.jira.dto.JiraSprint;
 import com.swp391.backend.integration.jira.dto.JiraSprintListResponse;
 import com.swp391.backend.repository.IntegrationConfigRepository;
@@ -24,6 +25,7 @@ public class JiraSprintByBoardServiceImpl implements JiraSprintByBoardService {
     private final IntegrationConfigRepository integrationConfigRepository;
     private final TokenCryptoService tokenCryptoService;
     private final JiraClient jiraClient;
+    private final JiraMetadataCache metadataCache;
 
     private static final String DEFAULT_STATE = "active,future";
     private static final int PAGE_SIZE = 50;
@@ -31,7 +33,7 @@ public class JiraSprintByBoardServiceImpl implements JiraSprintByBoardService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<JiraSprintDto> listSprintsByBoard(Long groupId, Long boardId, String state) {
+    public List<JiraSprintDto> listSprintsByBoard(Long groupId, Long boardId, String state, boolean refresh) {
         // 1. Load config
         IntegrationConfig cfg = integrationConfigRepository
                 .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA)
@@ -41,19 +43,22 @@ public class JiraSprintByBoardServiceImpl implements JiraSprintByBoardService {
         // 2. Validate config
         validateConfig(cfg);
 
-        // 3. Decrypt token
-        String rawToken;
-        try {
-            rawToken = tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
-        } catch (Exception e) {
-            throw new BusinessException("Failed to decrypt Jira token", 500);
-        }
-
-        // 4. Normalize baseUrl + resolve effective state
+        // 3. Normalize baseUrl + resolve effective state
         String baseUrl = cfg.getBaseUrl().stripTrailing().replaceAll("/+$", "");
         String effectiveState = (state == null || state.isBlank()) ? DEFAULT_STATE : state;
 
-        // 5. Paginate all sprints for the given boardId with safety guard
+        // 4. Cache hit → không gọi Jira
+        return metadataCache.get(groupId, cfg.getProjectKey(), "board-sprints:" + boardId + ":" + effectiveState,
+                refresh, () -> fetchSprints(cfg, baseUrl, boardId, effectiveState));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<JiraSprintDto> fetchSprints(IntegrationConfig cfg, String baseUrl, Long boardId,
+            String effectiveState) {
+        String rawToken = decryptToken(cfg);
+
+        // Paginate all sprints for the given boardId with safety guard
         List<JiraSprintDto> result = new ArrayList<>();
         int startAt = 0;
         int loops = 0;
@@ -87,10 +92,16 @@ public class JiraSprintByBoardServiceImpl implements JiraSprintByBoardService {
             throw new BusinessException("Jira pagination aborted (safety guard triggered)", 500);
         }
 
-        return result;
+        return List.copyOf(result);
     }
 
-    // ── Helpers ───────────────────────────────────────────────────────────────
+    private String decryptToken(IntegrationConfig cfg) {
+        try {
+            return tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
+        } catch (Exception e) {
+            throw new BusinessException("Failed to decrypt Jira token", 500);
+        }
+    }
 
     private void validateConfig(IntegrationConfig cfg) {
         if (cfg.getBaseUrl() == null || cfg.getBaseUrl().isBlank()
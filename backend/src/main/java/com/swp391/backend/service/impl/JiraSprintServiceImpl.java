@@ -5,6 +5,7 @@ import com.swp391.backend.dto.response.JiraSprintResponse;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.integration.jira.dto.JiraBoard;
 import com.swp391.backend.integration.jira.dto.JiraBoardListResponse;
 import com.swp391.backend.integration.jira.dto.JiraSprint;
@@ -26,12 +27,13 @@ public class JiraSprintServiceImpl implements JiraSprintService {
     private final IntegrationConfigRepository integrationConfigRepository;
     private final TokenCryptoService tokenCryptoService;
     private final JiraClient jiraClient;
+    private final JiraMetadataCache metadataCache;
 
     private static final String DEFAULT_STATE = "active,future,closed";
 
     @Override
     @Transactional(readOnly = true)
-    public List<JiraSprintResponse> listSprints(Long groupId, String state) {
+    public List<JiraSprintResponse> listSprints(Long groupId, String state, boolean refresh) {
         // 1. Load config
         IntegrationConfig cfg = integrationConfigRepository
                 .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA)
@@ -41,22 +43,26 @@ public class JiraSprintServiceImpl implements JiraSprintService {
         // 2. Validate config
         validateConfig(cfg);
 
-        // 3. Decrypt token
-        String rawToken;
-        try {
-            rawToken = tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
-        } catch (Exception e) {
-            throw new BusinessException("Failed to decrypt Jira token", 500);
-        }
-
-        // 4. Normalize baseUrl
+        // 3. Normalize baseUrl
         String baseUrl = cfg.getBaseUrl().stripTrailing().replaceAll("/+$", "");
         String effectiveState = (state == null || state.isBlank()) ? DEFAULT_STATE : state;
 
-        // 5. Find boardId for projectKey
-        Long boardId = findBoardId(baseUrl, cfg.getJiraEmail(), rawToken, cfg.getProjectKey());
+        // 4. Cache hit → không gọi Jira, không cần giải mã token
+        return metadataCache.get(groupId, cfg.getProjectKey(), "sprints:" + effectiveState, refresh,
+                () -> fetchSprints(groupId, cfg, baseUrl, effectiveState, refresh));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private List<JiraSprintResponse> fetchSprints(Long groupId, IntegrationConfig cfg, String baseUrl,
+            String effectiveState, boolean refresh) {
+        String rawToken = decryptToken(cfg);
 
-        // 6. Paginate and collect all sprints
+        // Find boardId for projectKey (cũng được cache: board hầu như không đổi)
+        Long boardId = metadataCache.get(groupId, cfg.getProjectKey(), "board-id", refresh,
+                () -> findBoardId(baseUrl, cfg.getJiraEmail(), rawToken, cfg.getProjectKey()));
+
+        // Paginate and collect all sprints
         List<JiraSprintResponse> result = new ArrayList<>();
         int startAt = 0;
         int pageSize = 50;
@@ -81,11 +87,9 @@ public class JiraSprintServiceImpl implements JiraSprintService {
             startAt += pageSize;
         }
 
-        return result;
+        return List.copyOf(result);
     }
 
-    // ── Helpers ───────────────────────────────────────────────────────────────
-
     private Long findBoardId(String baseUrl, String jiraEmail, String rawToken, String projectKey) {
         JiraBoardListResponse boardList = jiraClient.getBoardsByProject(
                 baseUrl, jiraEmail, rawToken, projectKey, 50, 0);
@@ -108,6 +112,14 @@ public class JiraSprintServiceImpl implements JiraSprintService {
                 .build();
     }
 
+    private String decryptToken(IntegrationConfig cfg) {
+        try {
+            return tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
+        } catch (Exception e) {
+            throw new BusinessException("Failed to decrypt Jira token", 500);
+        }
+    }
+
     private void validateConfig(IntegrationConfig cfg) {
         if (cfg.getBaseUrl() == null || cfg.getBaseUrl().isBlank()
                 || cfg.getProjectKey() == null || cfg.getProjectKey().isBlank()
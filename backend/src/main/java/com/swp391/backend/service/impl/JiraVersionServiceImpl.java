@@ -5,6 +5,7 @@ import com.swp391.backend.dto.response.JiraVersionResponse;
 import com.swp391.backend.entity.IntegrationConfig;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.integration.jira.dto.JiraVersion;
 import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.service.JiraVersionService;
@@ -23,10 +24,12 @@ public class JiraVersionServiceImpl implements JiraVersionService {
     private final IntegrationConfigRepository integrationConfigRepository;
     private final TokenCryptoService tokenCryptoService;
     private final JiraClient jiraClient;
+    private final JiraMetadataCache metadataCache;
 
     @Override
     @Transactional(readOnly = true)
-    public List<JiraVersionResponse> listVersions(Long groupId, boolean includeArchived, boolean includeReleased) {
+    public List<JiraVersionResponse> listVersions(Long groupId, boolean includeArchived, boolean includeReleased,
+            boolean refresh) {
         // 1. Load config
         IntegrationConfig cfg = integrationConfigRepository
                 .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA)
@@ -36,26 +39,20 @@ public class JiraVersionServiceImpl implements JiraVersionService {
         // 2. Validate config
         validateConfig(cfg);
 
-        // 3. Decrypt token
-        String rawToken;
-        try {
-            rawToken = tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
-        } catch (Exception e) {
-            throw new BusinessException("Failed to decrypt Jira token", 500);
-        }
-
-        // 4. Normalize baseUrl
+        // 3. Normalize baseUrl
         String baseUrl = cfg.getBaseUrl().stripTrailing().replaceAll("/+$", "");
 
-        // 5. Call Jira API
-        List<JiraVersion> versions = jiraClient.getProjectVersions(
-                baseUrl, cfg.getJiraEmail(), rawToken, cfg.getProjectKey());
+        // 4. Call Jira API (cache toàn bộ versions, lọc archived/released tại chỗ)
+        List<JiraVersionResponse> versions = metadataCache.get(groupId, cfg.getProjectKey(), "versions", refresh,
+                () -> jiraClient.getProjectVersions(baseUrl, cfg.getJiraEmail(), decryptToken(cfg),
+                        cfg.getProjectKey()).stream()
+                        .map(this::mapToResponse)
+                        .toList());
 
-        // 6. Filter and map
+        // 5. Filter
         return versions.stream()
                 .filter(v -> includeArchived || !Boolean.TRUE.equals(v.getArchived()))
                 .filter(v -> includeReleased || !Boolean.TRUE.equals(v.getReleased()))
-                .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
@@ -72,6 +69,14 @@ public class JiraVersionServiceImpl implements JiraVersionService {
                 .build();
     }
 
+    private String decryptToken(IntegrationConfig cfg) {
+        try {
+            return tokenCryptoService.decryptFromBytes(cfg.getTokenEncrypted());
+        } catch (Exception e) {
+            throw new BusinessException("Failed to decrypt Jira token", 500);
+        }
+    }
+
     private void validateConfig(IntegrationConfig cfg) {
         if (cfg.getBaseUrl() == null || cfg.getBaseUrl().isBlank()
                 || cfg.getProjectKey() == null || cfg.getProjectKey().isBlank()
@@ -0,0 +1,158 @@
+package com.swp391.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.config.WebhookQueueConfig;
+import com.swp391.backend.dto.request.JiraWebhookEvent;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.StudentGroup;
+import com.swp391.backend.entity.User;
+import com.swp391.backend.integration.http.KeyedSerialQueue;
+import com.swp391.backend.integration.jira.JiraIssueUpserter;
+import com.swp391.backend.integration.jira.JiraIssueUpserter.SyncContext;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.StudentGroupRepository;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.JiraWebhookService;
+import com.swp391.backend.service.TokenCryptoService;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import com.swp391.backend.utils.WebhookSignatureVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Áp dụng event issue từ Jira webhook vào Requirement/Task.
+ *
+ * <h3>Luồng xử lý</h3>
+ *
+ * <pre>
+ *  POST /api/webhooks/jira/{groupId}
+ *      ├─ Không có cấu hình Jira             → 404
+ *      ├─ Chưa đặt webhook secret             → 403
+ *      ├─ Sai chữ ký X-Hub-Signature          → 401
+ *      ├─ event khác issue_created/updated/deleted, issue ngoài projectKey → IGNORED
+ *      └─ xếp vào {@link KeyedSerialQueue} theo group|projectKey → ACCEPTED (202)
+ *            ├─ created / updated → {@link JiraIssueUpserter} (cùng quy tắc với sync)
+ *            └─ deleted           → {@link JiraIssueUpserter#deleteIssue}
+ * </pre>
+ *
+ * <p>
+ * Event được ghi bất đồng bộ để trả lời Jira ngay (Jira retry nếu phản hồi chậm).
+ * Hàng đợi tuần tự theo project giữ đúng thứ tự nhận; event giao trễ mang
+ * {@code updated} cũ hơn DB bị upserter bỏ qua. Không tạo SyncLog (giống GitHub
+ * webhook); lần sync kế tiếp bù lại event bị lỡ.
+ * </p>
+ *
+ * <p>
+ * Requirement mới tạo từ webhook lấy leader của nhóm làm {@code createdBy}; nhóm chưa
+ * có leader → admin hệ thống.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JiraWebhookServiceImpl implements JiraWebhookService {
+
+    static final String EVENT_ISSUE_CREATED = "jira:issue_created";
+    static final String EVENT_ISSUE_UPDATED = "jira:issue_updated";
+    static final String EVENT_ISSUE_DELETED = "jira:issue_deleted";
+
+    private static final String ROLE_LEADER = "LEADER";
+    private static final String ROLE_ADMIN = "ADMIN";
+
+    private final IntegrationConfigRepository configRepository;
+    private final TokenCryptoService tokenCryptoService;
+    private final StudentGroupRepository studentGroupRepository;
+    private final UserRepository userRepository;
+    private final JiraIssueUpserter upserter;
+    @Qualifier(WebhookQueueConfig.JIRA)
+    private final KeyedSerialQueue webhookQueue;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public SyncResultResponse handle(Long groupId, String signature, byte[] payload) {
+        // ── Bước 1: Lấy cấu hình & kiểm tra chữ ký ───────────────────────────
+        IntegrationConfig config = configRepository
+                .findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA)
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Jira integration not configured"));
+
+        if (config.getWebhookSecretEncrypted() == null || config.getWebhookSecretEncrypted().length == 0) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Jira webhook secret not configured");
+        }
+        String secret = tokenCryptoService.decryptFromBytes(config.getWebhookSecretEncrypted());
+        if (!WebhookSignatureVerifier.isValidSha256(secret, payload, signature)) {
+            log.warn("[Jira Webhook] group={} rejected – invalid signature", groupId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid webhook signature");
+        }
+
+        // ── Bước 2: Parse & lọc event ────────────────────────────────────────
+        JiraWebhookEvent event;
+        try {
+            event = objectMapper.readValue(payload, JiraWebhookEvent.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed Jira webhook payload");
+        }
+
+        String type = event.getWebhookEvent();
+        if (!EVENT_ISSUE_CREATED.equals(type) && !EVENT_ISSUE_UPDATED.equals(type)
+                && !EVENT_ISSUE_DELETED.equals(type)) {
+            return result("IGNORED", "Event '" + type + "' is not handled");
+        }
+        String issueKey = event.getIssue() != null ? event.getIssue().getKey() : null;
+        if (issueKey == null || issueKey.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook payload has no issue key");
+        }
+        String projectKey = config.getProjectKey();
+        if (projectKey == null || !issueKey.startsWith(projectKey + "-")) {
+            return result("IGNORED", "Issue " + issueKey + " is not in project " + projectKey);
+        }
+
+        // ── Bước 3: Xếp hàng theo project, ghi bất đồng bộ ──────────────────
+        webhookQueue.submit(groupId + "|" + projectKey, () -> apply(groupId, event));
+        log.info("[Jira Webhook] group={} queued {} for {}", groupId, type, issueKey);
+        return result("ACCEPTED", "Queued " + type + " for " + issueKey);
+    }
+
+    /** Chạy trên thread của hàng đợi, tuần tự với các event khác của project. */
+    void apply(Long groupId, JiraWebhookEvent event) {
+        String issueKey = event.getIssue().getKey();
+
+        if (EVENT_ISSUE_DELETED.equals(event.getWebhookEvent())) {
+            int deleted = upserter.deleteIssue(groupId, issueKey);
+            log.info("[Jira Webhook] group={} deleted {} record(s) for {}", groupId, deleted, issueKey);
+            return;
+        }
+
+        StudentGroup group = studentGroupRepository.findById(groupId).orElse(null);
+        if (group == null) {
+            log.warn("[Jira Webhook] group={} no longer exists, {} dropped", groupId, issueKey);
+            return;
+        }
+        User owner = userRepository.findGroupMemberByRole(groupId, ROLE_LEADER)
+                .or(() -> userRepository.findFirstByRole_RoleCodeOrderByUserIdAsc(ROLE_ADMIN))
+                .orElse(null);
+
+        SyncContext ctx = upserter.openContext(group, owner);
+        upserter.upsertPage(ctx, List.of(event.getIssue()));
+        upserter.resolveDeferred(ctx);
+
+        log.info("[Jira Webhook] group={} {}: inserted={}, updated={}, unchanged={}", groupId, issueKey,
+                ctx.inserted(), ctx.updated(), ctx.unchanged());
+        ctx.warnings().forEach(w -> log.warn("[Jira Webhook] group={} {}", groupId, w));
+    }
+
+    private SyncResultResponse result(String status, String message) {
+        return SyncResultResponse.builder()
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -1,19 +1,27 @@
 package com.swp391.backend.service.impl;
 
+import com.swp391.backend.config.SyncLeaseConfig;
 import com.swp391.backend.entity.SyncLog;
 import com.swp391.backend.entity.SyncStatus;
 import com.swp391.backend.repository.SyncLogRepository;
 import com.swp391.backend.service.SyncLogService;
+import com.swp391.backend.service.sync.SyncPhase;
+import com.swp391.backend.service.sync.SyncProgressTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Quản lý vòng đời đồng bộ (Sync Lifecycle) dựa trên bảng SyncLog.
@@ -35,6 +43,16 @@ import java.time.LocalDateTime;
  * trên {@code (group_id, source) WHERE status = 'RUNNING'} đảm bảo tính
  * an toàn tuyệt đối ngay cả khi nhiều request đến đồng thời.</li>
  * </ol>
+ *
+ * <p>
+ * <b>Lease (nhiều instance):</b> bản ghi RUNNING ghi {@code owner_node_id} và được node
+ * đó làm mới {@code heartbeat_at} mỗi {@code sync.lease.heartbeat-seconds}. Node chết
+ * giữa chừng → heartbeat dừng; quá {@code sync.lease.timeout-seconds} thì bản ghi bị
+ * đánh FAILED (bởi {@link #begin} của lượt sync kế tiếp hoặc lượt quét định kỳ) thay
+ * vì chặn mọi lượt sync sau bằng 409. Checkpoint được giữ nên sync GitHub tiếp tục từ
+ * trang dở. Node có phiên bị tiếp quản sẽ dừng phiên đó ở trang kế tiếp
+ * ({@link #progress} / {@link #checkpoint} ném 409) và không ghi đè kết quả.
+ * </p>
  */
 @Slf4j
 @Service
@@ -42,6 +60,13 @@ import java.time.LocalDateTime;
 public class SyncLogServiceImpl implements SyncLogService {
 
     private final SyncLogRepository syncLogRepository;
+    private final SyncProgressTracker progressTracker;
+    private final SyncLeaseConfig leaseConfig;
+
+    /** Phiên RUNNING do node này giữ (cần heartbeat). */
+    private final Set<Long> heldLeases = ConcurrentHashMap.newKeySet();
+    /** Phiên đã bị node khác tiếp quản trong lúc node này vẫn đang chạy. */
+    private final Set<Long> lostLeases = ConcurrentHashMap.newKeySet();
 
     // -------------------------------------------------------------------------
     // begin
@@ -51,7 +76,8 @@ public class SyncLogServiceImpl implements SyncLogService {
      * Bắt đầu một phiên sync mới.
      *
      * <ul>
-     * <li>Nếu đã có bản ghi RUNNING → ném {@code 409 CONFLICT}.</li>
+     * <li>Nếu đã có bản ghi RUNNING còn lease → ném {@code 409 CONFLICT}; lease đã
+     * hết hạn → đánh FAILED bản ghi đó và tiếp tục.</li>
      * <li>Nếu không → tạo bản ghi mới với status = RUNNING và trả về.</li>
      * </ul>
      *
@@ -64,8 +90,15 @@ public class SyncLogServiceImpl implements SyncLogService {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public SyncLog begin(Long groupId, String source) {
         // Lớp 1: kiểm tra ở application level
+        LocalDateTime now = LocalDateTime.now();
         syncLogRepository.findByGroupIdAndSourceAndStatus(groupId, source, SyncStatus.RUNNING)
                 .ifPresent(existing -> {
+                    // Lease hết hạn → node chủ đã chết, tiếp quản
+                    if (expire(existing.getId(), now) > 0) {
+                        log.warn("[SyncLog] begin() took over expired lease: syncId={}, owner={}, group={}, source={}",
+                                existing.getId(), existing.getOwnerNodeId(), groupId, source);
+                        return;
+                    }
                     log.warn("[SyncLog] begin() aborted – already RUNNING: syncId={}, group={}, source={}",
                             existing.getId(), groupId, source);
                     throw new ResponseStatusException(HttpStatus.CONFLICT,
@@ -76,6 +109,8 @@ public class SyncLogServiceImpl implements SyncLogService {
                 .groupId(groupId)
                 .source(source)
                 .status(SyncStatus.RUNNING)
+                .ownerNodeId(leaseConfig.getNodeId())
+                .heartbeatAt(now)
                 // insertedCount và updatedCount mặc định = 0 qua @Builder.Default trong entity
                 .build();
 
@@ -83,6 +118,8 @@ public class SyncLogServiceImpl implements SyncLogService {
             // Lớp 2: DB Unique Index sẽ bắt race condition còn sót lại
             SyncLog saved = syncLogRepository.saveAndFlush(syncLog);
             log.info("[SyncLog] begin() → syncId={}, group={}, source={}", saved.getId(), groupId, source);
+            heldLeases.add(saved.getId());
+            progressTracker.started(saved);
             return saved;
         } catch (DataIntegrityViolationException ex) {
             // Race condition: hai luồng vượt qua lớp 1 cùng lúc → DB unique index chặn lại
@@ -118,18 +155,129 @@ public class SyncLogServiceImpl implements SyncLogService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "SyncLog not found: id=" + syncId));
 
+        heldLeases.remove(syncId);
+        lostLeases.remove(syncId);
+        if (syncLog.getStatus() != SyncStatus.RUNNING) {
+            // Lease đã bị tiếp quản (hoặc end() gọi lần hai) → giữ nguyên kết quả đã ghi
+            log.warn("[SyncLog] end() ignored – syncId={} is already {}", syncId, syncLog.getStatus());
+            progressTracker.finished(syncLog);
+            return syncLog;
+        }
+
         syncLog.setStatus(status);
         syncLog.setEndedAt(LocalDateTime.now());
         syncLog.setInsertedCount(inserted != null ? inserted : 0);
         syncLog.setUpdatedCount(updated != null ? updated : 0);
         syncLog.setDetailMessage(message);
+        if (status == SyncStatus.SUCCESS) {
+            // Đã chạy hết → checkpoint không còn ý nghĩa
+            syncLog.setResumeCursor(null);
+        }
 
         SyncLog saved = syncLogRepository.save(syncLog);
         log.info("[SyncLog] end() → syncId={}, status={}, inserted={}, updated={}",
                 syncId, status, saved.getInsertedCount(), saved.getUpdatedCount());
+        progressTracker.finished(saved);
         return saved;
     }
 
+    // -------------------------------------------------------------------------
+    // checkpoint / resume
+    // -------------------------------------------------------------------------
+
+    /**
+     * Ghi lại tiến độ của một phiên sync đang RUNNING. Gọi SAU khi trang tương ứng đã
+     * commit: nếu checkpoint mất (crash giữa hai bước) thì lần sau chỉ ghi lại trang
+     * đó một lần nữa – an toàn vì upsert idempotent theo SHA.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SyncLog checkpoint(Long syncId, String nextCursor, String headSha, LocalDateTime newestDate,
+            int pagesFetched, Integer inserted, Integer updated) {
+        ensureLease(syncId);
+        SyncLog syncLog = syncLogRepository.findById(syncId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "SyncLog not found: id=" + syncId));
+
+        syncLog.setResumeCursor(nextCursor);
+        syncLog.setResumeHeadSha(headSha);
+        syncLog.setResumeNewestDate(newestDate);
+        syncLog.setPagesFetched(pagesFetched);
+        syncLog.setInsertedCount(inserted != null ? inserted : 0);
+        syncLog.setUpdatedCount(updated != null ? updated : 0);
+
+        log.debug("[SyncLog] checkpoint() → syncId={}, pages={}", syncId, pagesFetched);
+        return syncLogRepository.save(syncLog);
+    }
+
+    @Override
+    public void progress(Long syncId, SyncPhase phase, int pagesFetched, int inserted, int updated,
+            int unchanged) {
+        ensureLease(syncId);
+        progressTracker.progress(syncId, phase, pagesFetched, inserted, updated, unchanged);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SyncLog> findById(Long syncId) {
+        return syncLogRepository.findById(syncId);
+    }
+
+    /**
+     * Chỉ xét phiên đã kết thúc GẦN NHẤT: nếu sau lần FAILED đã có một lần SUCCESS thì
+     * checkpoint cũ bị bỏ qua.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SyncLog> findResumable(Long groupId, String source) {
+        return syncLogRepository
+                .findFirstByGroupIdAndSourceAndStatusNotOrderByStartedAtDesc(groupId, source, SyncStatus.RUNNING)
+                .filter(last -> last.getStatus() == SyncStatus.FAILED)
+                .filter(last -> last.getResumeCursor() != null);
+    }
+
+    // -------------------------------------------------------------------------
+    // Lease
+    // -------------------------------------------------------------------------
+
+    /**
+     * Làm mới heartbeat các phiên node này đang giữ, rồi đánh FAILED mọi phiên RUNNING
+     * (của bất kỳ node nào) đã quá hạn – kể cả group không còn ai bấm sync.
+     */
+    @Scheduled(fixedDelayString = "${sync.lease.heartbeat-seconds:15}",
+            initialDelayString = "${sync.lease.heartbeat-seconds:15}", timeUnit = TimeUnit.SECONDS)
+    @Transactional
+    public void renewLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long syncId : heldLeases) {
+            if (syncLogRepository.renewLease(syncId, leaseConfig.getNodeId(), now, SyncStatus.RUNNING) == 0) {
+                // Ghi xong trước khi end() kịp gỡ, hoặc node khác đã tiếp quản
+                if (heldLeases.remove(syncId)) {
+                    lostLeases.add(syncId);
+                    log.warn("[SyncLog] lease lost: syncId={}, node={}", syncId, leaseConfig.getNodeId());
+                }
+            }
+        }
+        int expired = expire(null, now);
+        if (expired > 0) {
+            log.warn("[SyncLog] expired {} orphaned RUNNING sync(s)", expired);
+        }
+    }
+
+    private int expire(Long syncId, LocalDateTime now) {
+        LocalDateTime cutoff = now.minusSeconds(leaseConfig.getTimeoutSeconds());
+        return syncLogRepository.expireLeases(syncId, cutoff, now,
+                "Lease expired – owner node stopped heartbeating before " + cutoff,
+                SyncStatus.RUNNING, SyncStatus.FAILED);
+    }
+
+    private void ensureLease(Long syncId) {
+        if (lostLeases.contains(syncId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Sync lease lost: syncId=" + syncId + " was taken over by another node");
+        }
+    }
+
     // -------------------------------------------------------------------------
     // Shorthand helpers
     // -------------------------------------------------------------------------
@@ -7,6 +7,7 @@ import com.swp391.backend.dto.response.UserResponse;
 import com.swp391.backend.entity.Role;
 import com.swp391.backend.entity.User;
 import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
 import com.swp391.backend.repository.RoleRepository;
 import com.swp391.backend.repository.UserRepository;
 import com.swp391.backend.service.UserService;
@@ -29,13 +30,16 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final GitHubAuthorResolver gitHubAuthorResolver;
 
     public UserServiceImpl(UserRepository userRepository,
                            RoleRepository roleRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           GitHubAuthorResolver gitHubAuthorResolver) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.gitHubAuthorResolver = gitHubAuthorResolver;
     }
 
     @Override
@@ -87,12 +91,14 @@ public class UserServiceImpl implements UserService {
         user.setRole(role);
         user.setPasswordHash(passwordEncoder.encode(rawPassword));
 
+        User saved;
         try {
-            User saved = userRepository.save(user);
-            return toResponse(saved);
+            saved = userRepository.save(user);
         } catch (DataIntegrityViolationException e) {
             throw new BusinessException("Unique constraint violated (username/email/github/jira)", 409);
         }
+        relinkCommitsIfGithubChanged(saved, null);
+        return toResponse(saved);
     }
 
     @Override
@@ -139,6 +145,7 @@ public class UserServiceImpl implements UserService {
         }
 
         Role role = getRoleOrThrow(newRoleCode);
+        String previousGithub = user.getGithubUsername();
         user.setEmail(newEmail.isEmpty() ? null : newEmail);
         user.setFullName(newFullName);
         user.setStudentCode(newStudentCode.isEmpty() ? null : newStudentCode);
@@ -146,13 +153,27 @@ public class UserServiceImpl implements UserService {
         user.setGithubUsername(newGithub.isEmpty() ? null : newGithub);
         user.setJiraAccountId(newJira.isEmpty() ? null : newJira);
 
+        User saved;
         try {
-            User saved = userRepository.save(user);
-            return toResponse(saved);
+            saved = userRepository.save(user);
         } catch (DataIntegrityViolationException e) {
             throw new BusinessException("Unique constraint violated (email/github/jira)", 409);
         }
+        relinkCommitsIfGithubChanged(saved, previousGithub);
+        return toResponse(saved);
     }
+
+    /**
+     * GitHub username mới được đặt → liên kết các commit đã sync trước đó nhưng
+     * chưa map được tác giả.
+     */
+    private void relinkCommitsIfGithubChanged(User user, String previousGithub) {
+        String github = user.getGithubUsername();
+        if (github != null && !github.equalsIgnoreCase(previousGithub)) {
+            gitHubAuthorResolver.relinkHistoricalCommits(user.getUserId(), github);
+        }
+    }
+
     private boolean isValidEmail(String email) {
         String regex = "^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}$";
         return email.matches(regex);
@@ -285,11 +306,13 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("Email already exists: " + email, 409);
         }
 
+        String previousGithub = user.getGithubUsername();
         user.setGithubUsername(github.isEmpty() ? null : github);
         user.setJiraAccountId(jira.isEmpty() ? null : jira);
         user.setEmail(email.isEmpty() ? null : email);
 
         userRepository.save(user);
+        relinkCommitsIfGithubChanged(user, previousGithub);
 
         return toResponse(user);
     }
@@ -0,0 +1,51 @@
+package com.swp391.backend.service.sync;
+
+import com.swp391.backend.dto.response.SyncResultResponse;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Một lượt sync (GitHub hoặc Jira) của một group đang chờ trong {@link SyncWorkQueue}.
+ */
+@Getter
+public final class SyncJob {
+
+    private final Long groupId;
+
+    /** Lớp của group – đơn vị chia lượt (round-robin) giữa các job nền. */
+    private final Long classId;
+
+    /** {@code "GITHUB"} hoặc {@code "JIRA"}. */
+    private final String source;
+
+    /** true → người dùng bấm sync, chạy trước mọi job nền. */
+    private final boolean manual;
+
+    private final Supplier<SyncResultResponse> work;
+
+    /** Hoàn tất khi job chạy xong; lỗi của sync được chuyển nguyên vào đây. */
+    private final CompletableFuture<SyncResultResponse> result = new CompletableFuture<>();
+
+    public SyncJob(Long groupId, Long classId, String source, boolean manual, Supplier<SyncResultResponse> work) {
+        this.groupId = groupId;
+        this.classId = classId;
+        this.source = source;
+        this.manual = manual;
+        this.work = work;
+    }
+
+    /** Mỗi (source, group) chỉ có tối đa một job trong hàng đợi. */
+    public String key() {
+        return source + ":" + groupId;
+    }
+
+    void run() {
+        try {
+            result.complete(work.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
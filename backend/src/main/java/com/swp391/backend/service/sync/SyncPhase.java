@@ -0,0 +1,15 @@
+package com.swp391.backend.service.sync;
+
+/**
+ * Giai đoạn của một phiên sync (chỉ để hiển thị tiến độ, không lưu DB).
+ */
+public enum SyncPhase {
+    /** Đã có SyncLog RUNNING, đang chờ worker. */
+    QUEUED,
+    /** Đang tải trang và ghi xuống DB. */
+    FETCHING,
+    /** Jira: lượt cuối gắn parent cho issue có parent ở trang sau. */
+    RESOLVING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,166 @@
+package com.swp391.backend.service.sync;
+
+import com.swp391.backend.dto.response.SyncProgressResponse;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.SyncStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tiến độ trong RAM của các phiên sync đang chạy trên node này, và các client SSE
+ * đang theo dõi chúng.
+ *
+ * <p>
+ * SyncLog trong DB vẫn là nguồn chính (status, counts, pagesFetched của GitHub); ở
+ * đây chỉ thêm phase, số bản ghi không đổi và số trang của Jira – những thứ thay đổi
+ * sau mỗi trang và không đáng một lần ghi DB. Phiên kết thúc thì bị gỡ khỏi RAM.
+ * </p>
+ *
+ * <p>
+ * Event SSE: {@code progress} sau mỗi thay đổi, {@code done} khi kết thúc (rồi đóng
+ * stream).
+ * </p>
+ */
+@Slf4j
+@Component
+public class SyncProgressTracker {
+
+    private static final String EVENT_PROGRESS = "progress";
+    private static final String EVENT_DONE = "done";
+
+    private final Map<Long, SyncProgressResponse> live = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /** Phiên vừa được begin() – đang chờ worker. */
+    public void started(SyncLog syncLog) {
+        live.put(syncLog.getId(), fromLog(syncLog).toBuilder()
+                .phase(SyncPhase.QUEUED.name())
+                .build());
+    }
+
+    /** Cập nhật sau mỗi trang / khi đổi phase. Phiên không còn theo dõi thì bỏ qua. */
+    public void progress(Long syncId, SyncPhase phase, int pagesFetched, int inserted, int updated,
+            int unchanged) {
+        SyncProgressResponse next = live.computeIfPresent(syncId, (id, current) -> current.toBuilder()
+                .phase(phase.name())
+                .pagesFetched(pagesFetched)
+                .insertedCount(inserted)
+                .updatedCount(updated)
+                .unchangedCount(unchanged)
+                .build());
+        if (next != null) {
+            publish(syncId, EVENT_PROGRESS, next);
+        }
+    }
+
+    /** SyncLog đã ghi SUCCESS / FAILED: gửi event cuối, đóng stream, gỡ khỏi RAM. */
+    public void finished(SyncLog syncLog) {
+        SyncProgressResponse last = live.remove(syncLog.getId());
+        SyncProgressResponse done = fromLog(syncLog).toBuilder()
+                .unchangedCount(last != null ? last.getUnchangedCount() : 0)
+                .pagesFetched(Math.max(syncLog.getPagesFetched() != null ? syncLog.getPagesFetched() : 0,
+                        last != null ? last.getPagesFetched() : 0))
+                .build();
+        publish(syncLog.getId(), EVENT_DONE, done);
+        List<SseEmitter> emitters = subscribers.remove(syncLog.getId());
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Trạng thái hiện tại: SyncLog trong DB, phủ thêm tiến độ trong RAM nếu phiên đang
+     * chạy trên node này.
+     */
+    public SyncProgressResponse snapshot(SyncLog syncLog) {
+        SyncProgressResponse current = live.get(syncLog.getId());
+        if (current != null && syncLog.getStatus() == SyncStatus.RUNNING) {
+            return current;
+        }
+        return fromLog(syncLog);
+    }
+
+    /**
+     * Mở stream SSE: gửi ngay trạng thái hiện tại; phiên đã kết thúc (hoặc chạy ở node
+     * khác) thì gửi một event rồi đóng.
+     */
+    public SseEmitter subscribe(SyncLog syncLog) {
+        SseEmitter emitter = new SseEmitter();
+        Long syncId = syncLog.getId();
+        SyncProgressResponse current = snapshot(syncLog);
+        if (!live.containsKey(syncId)) {
+            send(emitter, syncLog.getStatus() == SyncStatus.RUNNING ? EVENT_PROGRESS : EVENT_DONE, current);
+            emitter.complete();
+            return emitter;
+        }
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(syncId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        Runnable unsubscribe = () -> emitters.remove(emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        send(emitter, EVENT_PROGRESS, current);
+        // finished() có thể đã chạy giữa lúc kiểm tra và đăng ký
+        if (!live.containsKey(syncId) && subscribers.remove(syncId, emitters)) {
+            emitters.forEach(SseEmitter::complete);
+        }
+        return emitter;
+    }
+
+    private void publish(Long syncId, String event, SyncProgressResponse data) {
+        List<SseEmitter> emitters = subscribers.get(syncId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, event, data)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, String event, SyncProgressResponse data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // client đã ngắt kết nối
+            log.debug("[Sync Progress] dropping subscriber of sync #{}: {}", data.getSyncId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static SyncProgressResponse fromLog(SyncLog syncLog) {
+        return SyncProgressResponse.builder()
+                .syncId(syncLog.getId())
+                .groupId(syncLog.getGroupId())
+                .source(syncLog.getSource())
+                .status(syncLog.getStatus() != null ? syncLog.getStatus().name() : null)
+                .phase(phaseOf(syncLog.getStatus()).name())
+                .pagesFetched(syncLog.getPagesFetched() != null ? syncLog.getPagesFetched() : 0)
+                .insertedCount(syncLog.getInsertedCount() != null ? syncLog.getInsertedCount() : 0)
+                .updatedCount(syncLog.getUpdatedCount() != null ? syncLog.getUpdatedCount() : 0)
+                .message(syncLog.getDetailMessage())
+                .startedAt(syncLog.getStartedAt())
+                .endedAt(syncLog.getEndedAt())
+                .build();
+    }
+
+    private static SyncPhase phaseOf(SyncStatus status) {
+        if (status == SyncStatus.SUCCESS) {
+            return SyncPhase.COMPLETED;
+        }
+        if (status == SyncStatus.FAILED) {
+            return SyncPhase.FAILED;
+        }
+        return SyncPhase.FETCHING;
+    }
+}
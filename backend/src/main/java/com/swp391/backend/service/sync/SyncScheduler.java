@@ -0,0 +1,253 @@
+package com.swp391.backend.service.sync;
+
+import com.swp391.backend.config.SyncSchedulerConfig;
+import com.swp391.backend.dto.response.SyncProgressResponse;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.User;
+import com.swp391.backend.integration.http.BackgroundCall;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.IntegrationConfigRepository.SyncTarget;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.GitHubSyncService;
+import com.swp391.backend.service.JiraManualSyncService;
+import com.swp391.backend.service.SyncLogService;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Chạy mọi lượt sync GitHub/Jira qua một worker pool cố định.
+ *
+ * <pre>
+ *  @Scheduled mỗi intervalMinutes
+ *      └─ mỗi IntegrationConfig → xếp hàng sau jitter ngẫu nhiên ─┐
+ *  POST .../sync (thủ công) → làn ưu tiên ────────────────────────┤
+ *                                                                 ▼
+ *                                   SyncWorkQueue ──▶ N worker ──▶ syncNow(...)
+ * </pre>
+ *
+ * <p>
+ * Sync thủ công tạo SyncLog (RUNNING) ngay khi nhận request – 409 nếu đang có phiên
+ * cùng source – rồi mới xếp hàng, nên client có syncId để theo dõi trong lúc chờ.
+ * </p>
+ *
+ * <p>
+ * Số sync chạy cùng lúc không vượt quá {@code sync.scheduler.workers} dù bao nhiêu
+ * người bấm sync; job thủ công chen lên trước job nền, job nền chia lượt theo lớp.
+ * Sync nền là incremental; Jira dùng leader của nhóm (không có → admin hệ thống)
+ * làm {@code createdBy} cho Requirement mới (như webhook).
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncScheduler {
+
+    public static final String SOURCE_GITHUB = "GITHUB";
+    public static final String SOURCE_JIRA = "JIRA";
+
+    private static final String ROLE_LEADER = "LEADER";
+    private static final String ROLE_ADMIN = "ADMIN";
+
+    private final SyncSchedulerConfig config;
+    private final IntegrationConfigRepository integrationConfigRepository;
+    private final UserRepository userRepository;
+    private final GitHubSyncService gitHubSyncService;
+    private final JiraManualSyncService jiraManualSyncService;
+    private final SyncLogService syncLogService;
+    private final SyncProgressTracker progressTracker;
+    private final TaskScheduler taskScheduler;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private SyncWorkQueue queue;
+
+    @PostConstruct
+    void start() {
+        queue = new SyncWorkQueue(config.getQueueCapacity());
+        for (int i = 0; i < Math.max(1, config.getWorkers()); i++) {
+            workers.add(Thread.ofVirtual().name("sync-worker-" + i).start(this::workLoop));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Sync thủ công
+    // ─────────────────────────────────────────────────────────────────────────
+
+    /**
+     * Xếp {@code work} vào làn ưu tiên và chờ kết quả tối đa
+     * {@link SyncSchedulerConfig#getManualWaitSeconds()}. Làn ưu tiên chỉ chen lên đầu
+     * hàng, không giành worker đang chạy sync nền, nên không chờ vô hạn: quá hạn thì trả
+     * trạng thái hiện tại để client theo dõi tiếp như {@code async=true}.
+     *
+     * @throws ResponseStatusException 409 nếu group đang có sync cùng source (chạy hoặc
+     *                                 chờ); 503 nếu hàng đợi đầy
+     */
+    public ManualRun runManual(Long groupId, String source, Function<SyncLog, SyncResultResponse> work) {
+        SyncLog syncLog = syncLogService.begin(groupId, source);
+        SyncJob job = enqueueManual(syncLog, work);
+        try {
+            return new ManualRun(job.getResult().get(config.getManualWaitSeconds(), TimeUnit.SECONDS), null);
+        } catch (TimeoutException e) {
+            return new ManualRun(null, currentProgress(syncLog));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ManualRun(null, currentProgress(syncLog));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private SyncProgressResponse currentProgress(SyncLog syncLog) {
+        return progressTracker.snapshot(syncLogService.findById(syncLog.getId()).orElse(syncLog));
+    }
+
+    /**
+     * Như {@link #runManual} nhưng trả về ngay: SyncLog (RUNNING, phase QUEUED) đã được
+     * tạo, kết quả theo dõi qua {@code GET /api/sync/{syncId}}.
+     */
+    public SyncProgressResponse submitManual(Long groupId, String source, Function<SyncLog, SyncResultResponse> work) {
+        SyncLog syncLog = syncLogService.begin(groupId, source);
+        SyncProgressResponse queued = progressTracker.snapshot(syncLog);
+        // Không ai chờ response → được chờ rate limit lâu như sync nền
+        enqueueManual(syncLog, started -> inBackground(() -> work.apply(started)));
+        return queued;
+    }
+
+    /**
+     * Kết quả của {@link #runManual}: {@code result} nếu sync xong trong hạn chờ, ngược lại
+     * {@code pending} (syncId + tiến độ) để trả 202.
+     */
+    public record ManualRun(SyncResultResponse result, SyncProgressResponse pending) {
+
+        public boolean finished() {
+            return result != null;
+        }
+    }
+
+    private SyncJob enqueueManual(SyncLog syncLog, Function<SyncLog, SyncResultResponse> work) {
+        SyncJob job = new SyncJob(syncLog.getGroupId(), null, syncLog.getSource(), true, () -> work.apply(syncLog));
+        SyncWorkQueue.Offer offer = queue.offer(job);
+        if (offer == SyncWorkQueue.Offer.DUPLICATE || offer == SyncWorkQueue.Offer.FULL) {
+            String reason = offer == SyncWorkQueue.Offer.FULL
+                    ? "Hệ thống đang bận đồng bộ, vui lòng thử lại sau"
+                    : "Sync " + syncLog.getSource() + " cho group " + syncLog.getGroupId() + " đang chờ trong hàng đợi";
+            syncLogService.fail(syncLog.getId(), reason);
+            throw new ResponseStatusException(
+                    offer == SyncWorkQueue.Offer.FULL ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.CONFLICT, reason);
+        }
+        return job;
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Sync nền
+    // ─────────────────────────────────────────────────────────────────────────
+
+    @Scheduled(initialDelayString = "${sync.scheduler.interval-minutes:60}",
+            fixedDelayString = "${sync.scheduler.interval-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void scheduleAll() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        List<SyncTarget> targets = integrationConfigRepository.findAllSyncTargets();
+        long jitterMillis = TimeUnit.SECONDS.toMillis(Math.max(0, config.getJitterSeconds()));
+        for (SyncTarget target : targets) {
+            SyncJob job = backgroundJob(target);
+            if (job == null) {
+                continue;
+            }
+            long delay = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+            taskScheduler.schedule(() -> enqueueBackground(job), Instant.now().plusMillis(delay));
+        }
+        log.info("[Sync Scheduler] {} background sync(s) scheduled over {}s, {} job(s) waiting",
+                targets.size(), config.getJitterSeconds(), queue.size());
+    }
+
+    private SyncJob backgroundJob(SyncTarget target) {
+        Long groupId = target.getGroupId();
+        if (target.getIntegrationTypeId() == IntegrationTypeIds.GITHUB) {
+            return new SyncJob(groupId, target.getClassId(), SOURCE_GITHUB, false,
+                    () -> inBackground(() -> gitHubSyncService.syncNow(groupId, false)));
+        }
+        if (target.getIntegrationTypeId() == IntegrationTypeIds.JIRA) {
+            return new SyncJob(groupId, target.getClassId(), SOURCE_JIRA, false, () -> inBackground(() -> {
+                // Nhóm chưa có leader → admin hệ thống làm createdBy, Epic mới không bị bỏ qua
+                Long leaderId = userRepository.findGroupMemberByRole(groupId, ROLE_LEADER)
+                        .or(() -> userRepository.findFirstByRole_RoleCodeOrderByUserIdAsc(ROLE_ADMIN))
+                        .map(User::getUserId)
+                        .orElse(null);
+                return jiraManualSyncService.syncNow(groupId, leaderId, false);
+            }));
+        }
+        return null;
+    }
+
+    /** Chạy {@code work} trong {@link BackgroundCall}: được chờ GitHub reset quota. */
+    private static SyncResultResponse inBackground(Supplier<SyncResultResponse> work) {
+        try (BackgroundCall.Scope background = BackgroundCall.open()) {
+            return work.get();
+        }
+    }
+
+    private void enqueueBackground(SyncJob job) {
+        SyncWorkQueue.Offer offer = queue.offer(job);
+        if (offer == SyncWorkQueue.Offer.FULL) {
+            log.warn("[Sync Scheduler] queue full, skipping {} until next round", job.key());
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Worker
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            SyncJob job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            job.run();
+            if (!job.isManual()) {
+                job.getResult().whenComplete((result, error) -> logBackground(job, error));
+            }
+        }
+    }
+
+    private static void logBackground(SyncJob job, Throwable error) {
+        if (error == null) {
+            log.debug("[Sync Scheduler] background sync {} done", job.key());
+        } else if (error instanceof ResponseStatusException rse && rse.getStatusCode() == HttpStatus.CONFLICT) {
+            log.debug("[Sync Scheduler] {} already running, skipped", job.key());
+        } else {
+            // Service đã ghi FAILED vào SyncLog; ở đây chỉ cần không làm chết worker
+            log.warn("[Sync Scheduler] background sync {} failed: {}", job.key(), error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.swp391.backend.service.sync;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hàng đợi sync có giới hạn, chia lượt công bằng.
+ *
+ * <ul>
+ * <li><b>Làn ưu tiên:</b> job thủ công, FIFO, luôn được lấy trước.</li>
+ * <li><b>Làn nền:</b> mỗi lớp một hàng; {@link #take()} lấy lần lượt một job của mỗi
+ * lớp (round-robin) nên lớp có nhiều group không chiếm hết worker của lớp khác.</li>
+ * <li>Mỗi (source, group) chỉ chờ một lần. Người dùng bấm sync cho group đang có job
+ * nền chờ → job đó được thay bằng job thủ công ở làn ưu tiên.</li>
+ * </ul>
+ */
+public class SyncWorkQueue {
+
+    public enum Offer {
+        QUEUED,
+        /** Job nền cùng key đã được thay bằng job thủ công. */
+        BUMPED,
+        /** Đã có job cùng key đang chờ. */
+        DUPLICATE,
+        FULL
+    }
+
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final ArrayDeque<SyncJob> manual = new ArrayDeque<>();
+    /** classId → job nền; thứ tự duyệt = thứ tự tới lượt. */
+    private final LinkedHashMap<Long, ArrayDeque<SyncJob>> background = new LinkedHashMap<>();
+    private final Map<String, SyncJob> queued = new HashMap<>();
+
+    public SyncWorkQueue(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    public Offer offer(SyncJob job) {
+        lock.lock();
+        try {
+            SyncJob existing = queued.get(job.key());
+            if (existing != null) {
+                if (!job.isManual() || existing.isManual()) {
+                    return Offer.DUPLICATE;
+                }
+                removeBackground(existing);
+                queued.put(job.key(), job);
+                manual.addLast(job);
+                notEmpty.signal();
+                return Offer.BUMPED;
+            }
+            if (queued.size() >= capacity) {
+                return Offer.FULL;
+            }
+            queued.put(job.key(), job);
+            if (job.isManual()) {
+                manual.addLast(job);
+            } else {
+                background.computeIfAbsent(job.getClassId(), k -> new ArrayDeque<>()).addLast(job);
+            }
+            notEmpty.signal();
+            return Offer.QUEUED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Chờ tới khi có job; job thủ công trước, sau đó lần lượt theo lớp. */
+    public SyncJob take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queued.isEmpty()) {
+                notEmpty.await();
+            }
+            SyncJob job = manual.pollFirst();
+            if (job == null) {
+                Iterator<Map.Entry<Long, ArrayDeque<SyncJob>>> lanes = background.entrySet().iterator();
+                Map.Entry<Long, ArrayDeque<SyncJob>> lane = lanes.next();
+                lanes.remove();
+                job = lane.getValue().pollFirst();
+                if (!lane.getValue().isEmpty()) {
+                    background.put(lane.getKey(), lane.getValue()); // xuống cuối vòng
+                }
+            }
+            queued.remove(job.key());
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return queued.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeBackground(SyncJob job) {
+        ArrayDeque<SyncJob> lane = background.get(job.getClassId());
+        if (lane != null) {
+            lane.remove(job);
+            if (lane.isEmpty()) {
+                background.remove(job.getClassId());
+            }
+        }
+    }
+}
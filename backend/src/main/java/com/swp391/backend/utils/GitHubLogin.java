@@ -0,0 +1,21 @@
+package com.swp391.backend.utils;
+
+/**
+ * Quy tắc username GitHub: chữ/số và gạch ngang, không bắt đầu bằng gạch ngang,
+ * tối đa 39 ký tự. Chuỗi rỗng được chấp nhận (bỏ liên kết GitHub).
+ *
+ * <p>
+ * Login được dùng để khớp commit chưa có tác giả, nên không được chứa ký tự đại diện
+ * của SQL như {@code %} hay {@code _}.
+ * </p>
+ */
+public final class GitHubLogin {
+
+    public static final String PATTERN = "^$|^[A-Za-z0-9](?:[A-Za-z0-9-]{0,38})$";
+    public static final String MESSAGE = "Github username must be a valid GitHub login "
+            + "(letters, digits and hyphens, max 39 characters)";
+
+    private GitHubLogin() {
+        // utility class – no instantiation
+    }
+}
@@ -0,0 +1,69 @@
+package com.swp391.backend.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Kiểm tra chữ ký HMAC-SHA256 của webhook (GitHub {@code X-Hub-Signature-256},
+ * Jira {@code X-Hub-Signature}).
+ * <p>
+ * Chữ ký được tính trên <b>raw body</b> (byte gốc, chưa parse JSON) và so sánh
+ * constant-time để không lộ thông tin qua thời gian phản hồi.
+ */
+public final class WebhookSignatureVerifier {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final String SHA256_PREFIX = "sha256=";
+
+    private WebhookSignatureVerifier() {
+        // utility class – no instantiation
+    }
+
+    /**
+     * @param secret          secret đã cấu hình cho webhook
+     * @param payload         raw body của request
+     * @param signatureHeader giá trị header, dạng {@code sha256=<hex>}
+     * @return true nếu chữ ký hợp lệ
+     */
+    public static boolean isValidSha256(String secret, byte[] payload, String signatureHeader) {
+        if (secret == null || secret.isEmpty() || payload == null || signatureHeader == null) {
+            return false;
+        }
+        String header = signatureHeader.trim();
+        if (!header.regionMatches(true, 0, SHA256_PREFIX, 0, SHA256_PREFIX.length())) {
+            return false;
+        }
+
+        byte[] expected;
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(header.substring(SHA256_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        expected = hmacSha256(secret, payload);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * @return {@code sha256=<hex>} của payload (dùng cho test / gửi webhook)
+     */
+    public static String signSha256(String secret, byte[] payload) {
+        return SHA256_PREFIX + HexFormat.of().formatHex(hmacSha256(secret, payload));
+    }
+
+    private static byte[] hmacSha256(String secret, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256));
+            return mac.doFinal(payload);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
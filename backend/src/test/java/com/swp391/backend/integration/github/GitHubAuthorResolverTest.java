@@ -0,0 +1,71 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.dto.response.AuthorIdentityProjection;
+import com.swp391.backend.repository.GitCommitRepository;
+import com.swp391.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GitHubAuthorResolverTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final GitCommitRepository gitCommitRepository = mock(GitCommitRepository.class);
+    private final GitHubAuthorResolver resolver = new GitHubAuthorResolver(userRepository, gitCommitRepository);
+
+    @Test
+    void forGroup_ShouldResolveByLoginEmailAndNoreplyEmailWithoutExtraQueries() {
+        when(userRepository.findAuthorCandidatesByGroupId(1L)).thenReturn(List.of(
+                identity(10L, "Alice@Example.com", "alice-dev"),
+                identity(20L, "bob@example.com", "BobGH"),
+                identity(30L, null, null)));
+
+        GitHubAuthorResolver.AuthorIndex index = resolver.forGroup(1L);
+
+        assertEquals(10L, index.resolve("ALICE-DEV", "someone-else@example.com"));
+        assertEquals(10L, index.resolve(null, " alice@example.com "));
+        assertEquals(20L, index.resolve(null, "12345+bobgh@users.noreply.github.com"));
+        assertEquals(20L, index.resolve(null, "bobgh@users.noreply.github.com"));
+        assertNull(index.resolve("stranger", "stranger@example.com"));
+        assertNull(index.resolve(null, null));
+
+        verify(userRepository, times(1)).findAuthorCandidatesByGroupId(1L);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void loginFromNoreplyEmail_ShouldIgnoreRegularEmails() {
+        assertEquals("octocat", GitHubAuthorResolver.loginFromNoreplyEmail("583231+octocat@users.noreply.github.com"));
+        assertNull(GitHubAuthorResolver.loginFromNoreplyEmail("octocat@github.com"));
+        assertNull(GitHubAuthorResolver.loginFromNoreplyEmail(null));
+    }
+
+    @Test
+    void relinkHistoricalCommits_ShouldDelegateToRepository() {
+        when(gitCommitRepository.relinkUnmappedCommits(10L, "alice-dev")).thenReturn(3);
+
+        assertEquals(3, resolver.relinkHistoricalCommits(10L, "alice-dev"));
+    }
+
+    private static AuthorIdentityProjection identity(Long userId, String email, String githubUsername) {
+        return new AuthorIdentityProjection() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getGithubUsername() {
+                return githubUsername;
+            }
+        };
+    }
+}
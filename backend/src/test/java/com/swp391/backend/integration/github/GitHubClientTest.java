@@ -1,17 +1,24 @@
 package com.swp391.backend.integration.github;
 
+import com.swp391.backend.config.GitHubClientConfig;
 import com.swp391.backend.dto.request.CommitSearchRequest;
 import com.swp391.backend.dto.response.GitHubCommitResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 class GitHubClientTest {
@@ -23,10 +30,16 @@ class GitHubClientTest {
     private final String repoFullName = "owner/repo";
     private final String token = "test-token";
 
+    @TempDir
+    Path cacheDir;
+
     @BeforeEach
     void setUp() {
+        GitHubClientConfig config = new GitHubClientConfig();
+        config.setCommitCacheDir(cacheDir.toString());
         restTemplate = new RestTemplate();
-        gitHubClient = new GitHubClient(restTemplate);
+        gitHubClient = new GitHubClient(restTemplate, new GitHubResponseCache(config),
+                new GitHubRateLimitScheduler(config, new SimpleMeterRegistry()), config);
         server = MockRestServiceServer.createServer(restTemplate);
     }
 
@@ -51,12 +64,9 @@ class GitHubClientTest {
                 .andExpect(header("Authorization", "Bearer " + token))
                 .andRespond(withSuccess(jsonResponse, MediaType.APPLICATION_JSON));
 
-        // Thoát vòng lặp while
-        server.expect(requestTo(org.hamcrest.Matchers.containsString("page=2")))
-                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
-
         List<GitHubCommitResponse> result = gitHubClient.fetchCommitsWithCriteria(repoFullName, token, criteria);
 
+        // Không có Link: rel="next" → dừng ngay, không tốn thêm request lấy trang rỗng
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("sha123", result.get(0).getSha());
@@ -78,4 +88,100 @@ class GitHubClientTest {
 
         server.verify();
     }
+
+    @Test
+    void fetchAllCommits_WithSince_ShouldPassSinceParam() {
+        server.expect(
+                requestTo(org.hamcrest.Matchers.containsString("https://api.github.com/repos/owner/repo/commits")))
+                .andExpect(queryParam("since", "2024-03-01T00:00:00Z"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        List<com.swp391.backend.dto.response.GitHubCommitDTO> result =
+                gitHubClient.fetchAllCommits(repoFullName, token, "2024-03-01T00:00:00Z");
+
+        assertTrue(result.isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void getRepoInfo_SecondCall_ShouldSendIfNoneMatchAndReuseCachedBodyOn304() {
+        HttpHeaders etag = new HttpHeaders();
+        etag.setETag("\"abc\"");
+
+        server.expect(requestTo("https://api.github.com/repos/owner/repo"))
+                .andRespond(withSuccess("{\"full_name\": \"owner/repo\", \"private\": true}", MediaType.APPLICATION_JSON)
+                        .headers(etag));
+        server.expect(requestTo("https://api.github.com/repos/owner/repo"))
+                .andExpect(header("If-None-Match", "\"abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        gitHubClient.getRepoInfo(repoFullName, token);
+        com.swp391.backend.dto.response.GitHubRepoResponse second = gitHubClient.getRepoInfo(repoFullName, token);
+
+        assertNotNull(second);
+        assertEquals("owner/repo", second.getFullName());
+        server.verify();
+    }
+
+    @Test
+    void fetchSingleCommit_SecondCall_ShouldBeServedFromDiskCache() {
+        String sha = "0123456789abcdef0123456789abcdef01234567";
+        server.expect(requestTo("https://api.github.com/repos/owner/repo/commits/" + sha))
+                .andRespond(withSuccess("{\"sha\": \"" + sha + "\", \"stats\": {\"additions\": 3, \"deletions\": 1, \"total\": 4},"
+                        + " \"files\": [{\"filename\": \"A.java\", \"patch\": \"@@ -1 +1 @@\"}]}", MediaType.APPLICATION_JSON));
+
+        gitHubClient.fetchSingleCommit(repoFullName, sha, token);
+        com.swp391.backend.dto.response.GitHubCommitDetailedDTO cached =
+                gitHubClient.fetchSingleCommit(repoFullName, sha, token);
+
+        assertEquals(3, cached.getStats().getAdditions());
+        assertEquals(1, cached.getFiles().size());
+        server.verify();
+    }
+
+    @Test
+    void getRepoInfo_WhenRateLimited_ShouldWaitAndRetryInsteadOfFailing() {
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "0");
+
+        server.expect(requestTo("https://api.github.com/repos/owner/repo"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+        server.expect(requestTo("https://api.github.com/repos/owner/repo"))
+                .andRespond(withSuccess("{\"full_name\": \"owner/repo\"}", MediaType.APPLICATION_JSON));
+
+        assertEquals("owner/repo", gitHubClient.getRepoInfo(repoFullName, token).getFullName());
+        server.verify();
+    }
+
+    @Test
+    void commitPages_ShouldFollowLinkHeaderUntilLastPage() {
+        HttpHeaders firstPageHeaders = new HttpHeaders();
+        firstPageHeaders.set(HttpHeaders.LINK,
+                "<https://api.github.com/repositories/1/commits?per_page=100&page=2>; rel=\"next\", "
+                        + "<https://api.github.com/repositories/1/commits?per_page=100&page=2>; rel=\"last\"");
+
+        server.expect(requestTo("https://api.github.com/repos/owner/repo/commits?per_page=100"))
+                .andRespond(withSuccess("[{\"sha\": \"sha1\"}, {\"sha\": \"sha2\"}]", MediaType.APPLICATION_JSON)
+                        .headers(firstPageHeaders));
+        server.expect(requestTo("https://api.github.com/repositories/1/commits?per_page=100&page=2"))
+                .andRespond(withSuccess("[{\"sha\": \"sha3\"}]", MediaType.APPLICATION_JSON));
+
+        List<List<String>> pages = new java.util.ArrayList<>();
+        try (GitHubPageIterator<com.swp391.backend.dto.response.GitHubCommitDTO> it =
+                     gitHubClient.commitPages(repoFullName, token, null)) {
+            it.forEachRemaining(page -> pages.add(page.stream()
+                    .map(com.swp391.backend.dto.response.GitHubCommitDTO::getSha)
+                    .toList()));
+        }
+
+        assertEquals(List.of(List.of("sha1", "sha2"), List.of("sha3")), pages);
+        server.verify();
+    }
+
+    @Test
+    void nextLinkOf_ShouldPickRelNextOnly() {
+        assertEquals("https://x/2", GitHubClient.nextLinkOf("<https://x/1>; rel=\"prev\", <https://x/2>; rel=\"next\""));
+        assertNull(GitHubClient.nextLinkOf("<https://x/1>; rel=\"prev\""));
+        assertNull(GitHubClient.nextLinkOf(null));
+    }
 }
@@ -0,0 +1,75 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubSyncConfig;
+import com.swp391.backend.dto.response.GitHubCommitDetailedDTO;
+import com.swp391.backend.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GitHubCommitDetailFetcherTest {
+
+    private GitHubClient gitHubClient;
+    private GitHubSyncConfig config;
+    private GitHubCommitDetailFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        gitHubClient = mock(GitHubClient.class);
+        config = new GitHubSyncConfig();
+        config.setDetailConcurrencyPerToken(2);
+        fetcher = new GitHubCommitDetailFetcher(gitHubClient, config);
+    }
+
+    @Test
+    void fetchDetails_OneCommitFails_ShouldReportFailureAndKeepOthers() {
+        when(gitHubClient.fetchSingleCommit(eq("owner/repo"), eq("a"), anyString()))
+                .thenReturn(detail("a", 3, 1));
+        when(gitHubClient.fetchSingleCommit(eq("owner/repo"), eq("b"), anyString()))
+                .thenThrow(new BusinessException("GitHub API Error: Not Found", 404));
+
+        GitHubCommitDetailFetcher.DetailFetchResult result =
+                fetcher.fetchDetails("owner/repo", "token", List.of("a", "b", "a"));
+
+        assertEquals(1, result.details().size());
+        assertEquals(3, result.details().get("a").getStats().getAdditions());
+        assertEquals(1, result.failures().size());
+        assertTrue(result.failures().get("b").contains("Not Found"));
+    }
+
+    @Test
+    void fetchDetails_ShouldNotExceedPerTokenConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(gitHubClient.fetchSingleCommit(anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return detail(inv.getArgument(1), 1, 1);
+        });
+
+        GitHubCommitDetailFetcher.DetailFetchResult result =
+                fetcher.fetchDetails("owner/repo", "token", List.of("1", "2", "3", "4", "5", "6"));
+
+        assertEquals(6, result.details().size());
+        assertTrue(result.failures().isEmpty());
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+    }
+
+    private GitHubCommitDetailedDTO detail(String sha, int additions, int deletions) {
+        return GitHubCommitDetailedDTO.builder()
+                .sha(sha)
+                .stats(new GitHubCommitDetailedDTO.Stats(additions, deletions, additions + deletions))
+                .files(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.swp391.backend.integration.github;
+
+import com.swp391.backend.config.GitHubClientConfig;
+import com.swp391.backend.exception.GitHubApiException;
+import com.swp391.backend.integration.http.BackgroundCall;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubRateLimitSchedulerTest {
+
+    private static final long NOW_SECONDS = 1_700_000_000L;
+
+    private final String token = "test-token";
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private GitHubClientConfig config;
+    private SimpleMeterRegistry registry;
+    private GitHubRateLimitScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config = new GitHubClientConfig();
+        config.setRateLimitReserve(10);
+        config.setRateLimitPaceBelow(100);
+        registry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(NOW_SECONDS), ZoneOffset.UTC);
+        scheduler = new GitHubRateLimitScheduler(config, registry, clock) {
+            @Override
+            protected void sleep(long millis) {
+                sleeps.add(millis);
+            }
+        };
+    }
+
+    @Test
+    void acquire_WithPlentyOfQuota_ShouldNotWait() {
+        scheduler.record(token, rateLimitHeaders(4000, NOW_SECONDS + 600));
+
+        scheduler.acquire(token);
+
+        assertTrue(sleeps.isEmpty());
+        assertEquals(3999, scheduler.remaining(token));
+        assertEquals(3999, registry.get("github.ratelimit.remaining").gauge().value());
+    }
+
+    @Test
+    void acquire_AtReserve_ShouldParkUntilResetInBackground() {
+        scheduler.record(token, rateLimitHeaders(10, NOW_SECONDS + 60));
+
+        try (BackgroundCall.Scope background = BackgroundCall.open()) {
+            scheduler.acquire(token);
+        }
+
+        assertEquals(List.of(61_000L), sleeps);
+    }
+
+    @Test
+    void acquire_BelowPaceThreshold_ShouldSpreadRemainingQuotaUntilReset() {
+        // 60 request dùng được (70 - reserve 10) trong 60 giây → 1 request / giây
+        scheduler.record(token, rateLimitHeaders(70, NOW_SECONDS + 60));
+
+        scheduler.acquire(token);
+        scheduler.acquire(token);
+
+        assertEquals(List.of(1_000L), sleeps);
+    }
+
+    @Test
+    void acquire_WhenResetTooFar_ShouldFailWithRateLimitError() {
+        config.setRateLimitMaxWaitSeconds(30);
+        scheduler.record(token, rateLimitHeaders(0, NOW_SECONDS + 3600));
+
+        try (BackgroundCall.Scope background = BackgroundCall.open()) {
+            GitHubApiException ex = assertThrows(GitHubApiException.class, () -> scheduler.acquire(token));
+            assertEquals(429, ex.getStatus());
+        }
+    }
+
+    @Test
+    void acquire_WithUserWaiting_ShouldFailFastWithRetryAfter() {
+        config.setRateLimitInteractiveMaxWaitSeconds(10);
+        scheduler.record(token, rateLimitHeaders(10, NOW_SECONDS + 60));
+
+        GitHubApiException ex = assertThrows(GitHubApiException.class, () -> scheduler.acquire(token));
+
+        assertEquals(429, ex.getStatus());
+        assertEquals(61L, ex.getRetryAfterSeconds());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void onRateLimited_ShouldOnlyAcceptRateLimitResponses() {
+        assertFalse(scheduler.onRateLimited(token, HttpStatus.FORBIDDEN, new HttpHeaders()));
+        assertFalse(scheduler.onRateLimited(token, HttpStatus.NOT_FOUND, rateLimitHeaders(0, NOW_SECONDS + 60)));
+
+        assertTrue(scheduler.onRateLimited(token, HttpStatus.FORBIDDEN, rateLimitHeaders(0, NOW_SECONDS + 60)));
+        assertEquals(0, scheduler.remaining(token));
+    }
+
+    private static HttpHeaders rateLimitHeaders(long remaining, long resetEpochSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("X-RateLimit-Reset", String.valueOf(resetEpochSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,61 @@
+package com.swp391.backend.integration.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * gzip: request được gắn Accept-Encoding, response nén được giải nén trong suốt.
+ */
+class GzipResponseInterceptorTest {
+
+    private final GzipResponseInterceptor interceptor = new GzipResponseInterceptor();
+
+    @Test
+    void intercept_ShouldAskForGzipAndInflateCompressedBody() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://jira.test/x"));
+        MockClientHttpResponse compressed = new MockClientHttpResponse(gzip("{\"key\":\"P-1\"}"), HttpStatus.OK);
+        compressed.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        compressed.getHeaders().setContentLength(99);
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> compressed);
+
+        assertEquals("gzip", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals("{\"key\":\"P-1\"}", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(-1, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void intercept_ShouldPassThroughPlainAndEmptyGzipResponses() throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.github.com/x"));
+        MockClientHttpResponse plain = new MockClientHttpResponse("[]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        assertSame(plain, interceptor.intercept(request, new byte[0], (req, body) -> plain));
+
+        MockClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        notModified.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> notModified);
+        assertEquals(0, response.getBody().readAllBytes().length);
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
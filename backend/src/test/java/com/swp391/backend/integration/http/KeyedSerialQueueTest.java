@@ -0,0 +1,47 @@
+package com.swp391.backend.integration.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedSerialQueueTest {
+
+    @Test
+    void submit_SameKey_ShouldRunInOrderAndSurviveFailures() throws Exception {
+        KeyedSerialQueue queue = new KeyedSerialQueue("test-queue", "[Test]");
+        List<String> ran = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        queue.submit("g1|repo", () -> {
+            await(release);
+            ran.add("first");
+        });
+        queue.submit("g1|repo", () -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Void> last = queue.submit("g1|repo", () -> ran.add("third"));
+        // Key khác không phải chờ hàng của g1
+        queue.submit("g2|repo", () -> ran.add("other")).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("other"), ran);
+
+        release.countDown();
+        last.get(5, TimeUnit.SECONDS);
+
+        // task lỗi chỉ được log, task sau vẫn chạy đúng thứ tự
+        assertEquals(List.of("other", "first", "third"), ran);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.swp391.backend.integration.http;
+
+import com.swp391.backend.config.OutboundHttpConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry: 5xx / 429 được gửi lại, Retry-After được tôn trọng, budget của lượt sync
+ * chặn retry, mạch mở thì lỗi ngay.
+ */
+class RetryInterceptorTest {
+
+    private final OutboundHttpConfig config = new OutboundHttpConfig();
+    private final List<Duration> sleeps = new ArrayList<>();
+    private final MockClientHttpRequest request =
+            new MockClientHttpRequest(HttpMethod.GET, URI.create("https://jira.test/rest/api/3/search"));
+
+    private RetryInterceptor interceptor(HostCircuitBreaker breaker) {
+        return new RetryInterceptor(config, Set.of(429, 503), breaker, sleeps::add, () -> 0L);
+    }
+
+    @Test
+    void intercept_ShouldRetryRetryableStatusThenReturnSuccess() throws IOException {
+        Deque<MockClientHttpResponse> responses = new ArrayDeque<>(List.of(
+                new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE),
+                new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        ClientHttpResponse response = interceptor(new HostCircuitBreaker(5, 30))
+                .intercept(request, new byte[0], (req, body) -> responses.poll());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, sleeps.size());
+        assertTrue(sleeps.get(0).toMillis() <= config.getRetryBaseDelayMs());
+    }
+
+    @Test
+    void intercept_ShouldHonourRetryAfterAndGiveUpWhenTooLong() throws IOException {
+        MockClientHttpResponse throttled = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        throttled.getHeaders().set(HttpHeaders.RETRY_AFTER, "2");
+        Deque<MockClientHttpResponse> responses = new ArrayDeque<>(List.of(
+                throttled, new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+        RetryInterceptor interceptor = interceptor(new HostCircuitBreaker(5, 30));
+
+        interceptor.intercept(request, new byte[0], (req, body) -> responses.poll());
+        assertEquals(List.of(Duration.ofSeconds(2)), sleeps);
+
+        MockClientHttpResponse tooLong = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+        tooLong.getHeaders().set(HttpHeaders.RETRY_AFTER, "3600");
+        assertSame(tooLong, interceptor.intercept(request, new byte[0], (req, body) -> tooLong));
+        assertEquals(1, sleeps.size());
+
+        HttpHeaders dated = new HttpHeaders();
+        dated.set(HttpHeaders.RETRY_AFTER, "Thu, 01 Jan 1970 00:00:05 GMT");
+        assertEquals(5000, interceptor.retryAfterMillis(dated));
+    }
+
+    @Test
+    void intercept_ShouldStopRetryingWhenSyncBudgetIsSpent() throws IOException {
+        int[] calls = {0};
+        try (RetryBudget.Scope ignored = RetryBudget.open(1)) {
+            RetryInterceptor interceptor = interceptor(new HostCircuitBreaker(100, 30));
+            ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> {
+                calls[0]++;
+                return new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+            });
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals(2, calls[0]); // lần đầu + 1 retry từ budget
+            assertEquals(0, RetryBudget.remaining());
+        }
+        assertEquals(-1, RetryBudget.remaining());
+    }
+
+    @Test
+    void intercept_ShouldFailFastWhileCircuitIsOpen() {
+        long[] now = {0};
+        HostCircuitBreaker breaker = new HostCircuitBreaker(2, 30, () -> now[0]);
+        config.setRetryMaxAttempts(1);
+        RetryInterceptor interceptor = interceptor(breaker);
+        int[] calls = {0};
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IOException.class, () -> interceptor.intercept(request, new byte[0], (req, body) -> {
+                calls[0]++;
+                throw new IOException("connection reset");
+            }));
+        }
+        assertThrows(HostCircuitBreaker.CircuitOpenException.class,
+                () -> interceptor.intercept(request, new byte[0], (req, body) -> {
+                    calls[0]++;
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                }));
+        assertEquals(2, calls[0]);
+
+        // hết thời gian mở → một request thử; thành công thì mạch đóng
+        now[0] = Duration.ofSeconds(31).toNanos();
+        assertDoesNotThrow(() -> interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+        assertDoesNotThrow(() -> breaker.acquire("jira.test"));
+    }
+}
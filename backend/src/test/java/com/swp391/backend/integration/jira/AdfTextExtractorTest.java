@@ -0,0 +1,55 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.integration.jira.dto.JiraFields;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ADF → plain text trên token stream: cùng kết quả với cách duyệt cây Map/List cũ.
+ */
+class AdfTextExtractorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void description_ShouldFlattenAdfBlocksAndSkipAttrsAndMarks() throws Exception {
+        String json = """
+                {"summary":"S","description":{"type":"doc","version":1,"content":[
+                  {"type":"heading","attrs":{"level":2},"content":[{"type":"text","text":"Goal"}]},
+                  {"type":"paragraph","content":[
+                    {"type":"text","text":"Hello ","marks":[{"type":"strong"}]},
+                    {"type":"mention","attrs":{"id":"abc","text":"@Bob"}},
+                    {"type":"text","text":"world"}]},
+                  {"type":"bulletList","content":[
+                    {"type":"listItem","content":[{"type":"paragraph","content":[{"type":"text","text":"a"}]}]}]}
+                ]}}
+                """;
+
+        JiraFields fields = mapper.readValue(json, JiraFields.class);
+
+        assertEquals("Goal\nHello world\na", fields.getDescription());
+        assertEquals("S", fields.getSummary());
+    }
+
+    @Test
+    void description_ShouldHandleContentBeforeTypeAndTextFields() throws Exception {
+        String json = """
+                {"description":{"content":[
+                  {"content":[{"text":"x","type":"text"},{"type":"text","text":"y"}],"type":"paragraph"}
+                ],"type":"doc"}}
+                """;
+
+        assertEquals("xy", mapper.readValue(json, JiraFields.class).getDescription());
+    }
+
+    @Test
+    void description_ShouldMapNullBlankAndPlainString() throws Exception {
+        assertNull(mapper.readValue("{\"description\":null}", JiraFields.class).getDescription());
+        assertNull(mapper.readValue("{\"description\":\"  \"}", JiraFields.class).getDescription());
+        assertNull(mapper.readValue("{\"description\":{\"type\":\"doc\",\"content\":[]}}", JiraFields.class)
+                .getDescription());
+        assertEquals("plain", mapper.readValue("{\"description\":\"plain\"}", JiraFields.class).getDescription());
+    }
+}
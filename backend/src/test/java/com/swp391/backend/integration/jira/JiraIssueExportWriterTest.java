@@ -0,0 +1,76 @@
+package com.swp391.backend.integration.jira;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.dto.response.JiraIssueExportDto;
+import com.swp391.backend.integration.jira.JiraIssueExportWriter.Format;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Export theo trang: mỗi trang được flush ngay, CSV escape đúng RFC 4180.
+ */
+class JiraIssueExportWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLineAndFlushEachPage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JiraIssueExportWriter writer = JiraIssueExportWriter.open(Format.NDJSON, out, mapper);
+
+        writer.writePage(List.of(issue("P-1", "Login"), issue("P-2", "Logout")));
+        assertEquals(2, out.toString(StandardCharsets.UTF_8).lines().count(), "page flushed before the next one");
+        writer.writePage(List.of(issue("P-3", "Đăng ký")));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertEquals("P-3", mapper.readTree(lines.get(2)).get("key").asText());
+        assertEquals("Đăng ký", mapper.readTree(lines.get(2)).get("summary").asText());
+    }
+
+    @Test
+    void csv_ShouldQuoteFieldsWithSeparatorsQuotesAndNewlines() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JiraIssueExportWriter writer = JiraIssueExportWriter.open(Format.CSV, out, mapper);
+        JiraIssueExportDto issue = JiraIssueExportDto.builder()
+                .key("P-1").summary("Login, \"SSO\"").description("line 1\nline 2").status("Done").build();
+
+        writer.writePage(List.of(issue));
+
+        assertEquals("key,summary,description,issueType,status,priority,assignee,updated\r\n"
+                + "P-1,\"Login, \"\"SSO\"\"\",\"line 1\nline 2\",,Done,,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csv_ShouldNeutralizeCellsThatStartLikeFormulas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JiraIssueExportWriter writer = JiraIssueExportWriter.open(Format.CSV, out, mapper);
+        JiraIssueExportDto issue = JiraIssueExportDto.builder()
+                .key("P-1").summary("=HYPERLINK(\"http://evil\",\"x\")").description("+1 then -2")
+                .issueType("@SUM(A1)").status("\tDone").priority("-High").build();
+
+        writer.writePage(List.of(issue));
+
+        assertEquals("key,summary,description,issueType,status,priority,assignee,updated\r\n"
+                + "P-1,\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'+1 then -2,'@SUM(A1),'\tDone,'-High,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parse_ShouldTreatJsonAsNonStreamingAndRejectUnknown() {
+        assertNull(Format.parse("json"));
+        assertEquals(Format.CSV, Format.parse("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> Format.parse("xml"));
+    }
+
+    private static JiraIssueExportDto issue(String key, String summary) {
+        return JiraIssueExportDto.builder().key(key).summary(summary).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
+import com.swp391.backend.integration.jira.dto.JiraIssueIdRef;
+import com.swp391.backend.integration.jira.dto.JiraSearchJqlResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JiraIssuePageIteratorTest {
+
+    @Test
+    void shouldReturnPagesInSearchOrder() {
+        List<String> searchedTokens = Collections.synchronizedList(new ArrayList<>());
+        try (JiraIssuePageIterator pages = new JiraIssuePageIterator(token -> {
+            searchedTokens.add(String.valueOf(token));
+            return switch (String.valueOf(token)) {
+                case "null" -> searchPage("t2", false, "1", "2");
+                case "t2" -> searchPage("t3", false, "3");
+                default -> searchPage(null, true, "4");
+            };
+        }, JiraIssuePageIteratorTest::issues, 2)) {
+            List<String> keys = new ArrayList<>();
+            pages.forEachRemaining(page -> page.forEach(issue -> keys.add(issue.getKey())));
+
+            assertEquals(List.of("K-1", "K-2", "K-3", "K-4"), keys);
+            assertEquals(List.of("null", "t2", "t3"), searchedTokens);
+        }
+    }
+
+    @Test
+    void shouldSearchNextPageWhileBulkFetchIsInFlight() throws InterruptedException {
+        CountDownLatch secondSearch = new CountDownLatch(1);
+        try (JiraIssuePageIterator pages = new JiraIssuePageIterator(token -> {
+            if (token == null) {
+                return searchPage("t2", false, "1");
+            }
+            secondSearch.countDown();
+            return searchPage(null, true, "2");
+        }, ids -> {
+            // bulkfetch trang 1 chỉ xong khi search trang 2 đã được gửi
+            if (ids.contains("1")) {
+                await(secondSearch);
+            }
+            return issues(ids);
+        }, 1)) {
+            assertEquals("K-1", pages.next().get(0).getKey());
+            assertEquals("K-2", pages.next().get(0).getKey());
+            assertFalse(pages.hasNext());
+        }
+        assertEquals(0, secondSearch.getCount());
+    }
+
+    @Test
+    void shouldAbortWhenPageTokenDoesNotAdvance() {
+        try (JiraIssuePageIterator pages = new JiraIssuePageIterator(
+                token -> searchPage("same", false, "1"), JiraIssuePageIteratorTest::issues, 1)) {
+            assertTrue(pages.hasNext());
+            pages.next();
+            assertTrue(pages.hasNext());
+            pages.next();
+            BusinessException ex = assertThrows(BusinessException.class, pages::hasNext);
+            assertTrue(ex.getMessage().contains("not advancing"));
+        }
+    }
+
+    @Test
+    void shouldNotBulkFetchPageSearchedAfterClose() throws InterruptedException {
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(1);
+        CountDownLatch secondFetch = new CountDownLatch(1);
+        JiraIssuePageIterator pages = new JiraIssuePageIterator(token -> {
+            if (token == null) {
+                return searchPage("t2", false, "1");
+            }
+            searching.countDown();
+            try {
+                closed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                // close() ngắt producer; search vẫn trả kết quả như request HTTP đã xong
+            }
+            return searchPage(null, true, "2");
+        }, ids -> {
+            if (ids.contains("2")) {
+                secondFetch.countDown();
+            }
+            return issues(ids);
+        }, 1);
+
+        assertEquals("K-1", pages.next().get(0).getKey());
+        assertTrue(searching.await(5, TimeUnit.SECONDS));
+        // caller đóng iterator trong lúc search trang 2 đang chạy
+        pages.close();
+        closed.countDown();
+
+        assertFalse(pages.hasNext());
+        assertFalse(secondFetch.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static JiraSearchJqlResponse searchPage(String nextToken, boolean last, String... ids) {
+        JiraSearchJqlResponse resp = new JiraSearchJqlResponse();
+        List<JiraIssueIdRef> refs = new ArrayList<>();
+        for (String id : ids) {
+            JiraIssueIdRef ref = new JiraIssueIdRef();
+            ref.setId(id);
+            refs.add(ref);
+        }
+        resp.setIssues(refs);
+        resp.setNextPageToken(nextToken);
+        resp.setIsLast(last);
+        return resp;
+    }
+
+    private static List<JiraIssue> issues(List<String> ids) {
+        return ids.stream().map(id -> {
+            JiraIssue issue = new JiraIssue();
+            issue.setId(id);
+            issue.setKey("K-" + id);
+            return issue;
+        }).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("search was not pipelined");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.entity.*;
+import com.swp391.backend.integration.jira.JiraIssueUpserter.SyncContext;
+import com.swp391.backend.integration.jira.dto.JiraAssignee;
+import com.swp391.backend.integration.jira.dto.JiraFields;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
+import com.swp391.backend.integration.jira.dto.JiraName;
+import com.swp391.backend.integration.jira.dto.JiraParentRef;
+import com.swp391.backend.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Ghi theo trang: Story/Sub-task có parent ở trang sau được hoãn và ghi ở lượt cuối.
+ */
+class JiraIssueUpserterTest {
+
+    private final RequirementRepository requirementRepository = mock(RequirementRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskStatusRepository taskStatusRepository = mock(TaskStatusRepository.class);
+    private final RequirementStatusRepository requirementStatusRepository = mock(RequirementStatusRepository.class);
+    private final PriorityRepository priorityRepository = mock(PriorityRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JiraIssueLabelRepository labelRepository = mock(JiraIssueLabelRepository.class);
+    private final JiraLabelIndex labelIndex = mock(JiraLabelIndex.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private final AtomicInteger ids = new AtomicInteger(100);
+    private final List<Task> savedTasks = new ArrayList<>();
+    private JiraIssueUpserter upserter;
+
+    @BeforeEach
+    void setUp() {
+        upserter = new JiraIssueUpserter(requirementRepository, taskRepository, taskStatusRepository,
+                requirementStatusRepository, priorityRepository, userRepository, labelRepository,
+                labelIndex, entityManager,
+                mock(PlatformTransactionManager.class));
+
+        when(taskStatusRepository.findAll()).thenReturn(List.of(TaskStatus.builder().statusId(1).code("TODO").build()));
+        when(requirementStatusRepository.findAll())
+                .thenReturn(List.of(RequirementStatus.builder().statusId(1).code("ACTIVE").build()));
+        when(priorityRepository.findByCode("MEDIUM")).thenReturn(Optional.of(Priority.builder().code("MEDIUM").build()));
+        when(requirementRepository.getReferenceById(any()))
+                .thenAnswer(inv -> Requirement.builder().requirementId(inv.getArgument(0)).build());
+        when(taskRepository.getReferenceById(any()))
+                .thenAnswer(inv -> Task.builder().taskId(inv.getArgument(0)).build());
+        when(requirementRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Requirement> reqs = inv.getArgument(0);
+            reqs.forEach(r -> r.setRequirementId(ids.incrementAndGet()));
+            return reqs;
+        });
+        when(taskRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Task> tasks = inv.getArgument(0);
+            tasks.forEach(t -> t.setTaskId(ids.incrementAndGet()));
+            savedTasks.addAll(tasks);
+            return tasks;
+        });
+    }
+
+    @Test
+    void upsertPage_ShouldDeferChildrenUntilParentPageArrives() {
+        SyncContext ctx = upserter.openContext(new StudentGroup(), new User());
+
+        // Trang 1: sub-task và story tới trước epic
+        upserter.upsertPage(ctx, List.of(issue("P-3", "Sub-task", "P-2"), issue("P-2", "Story", "P-1")));
+        assertTrue(savedTasks.isEmpty());
+
+        // Trang 2: epic
+        upserter.upsertPage(ctx, List.of(issue("P-1", "Epic", null)));
+        upserter.resolveDeferred(ctx);
+
+        assertEquals(3, ctx.inserted());
+        assertTrue(ctx.warnings().isEmpty());
+        Task story = savedTasks.stream().filter(t -> "P-2".equals(t.getJiraIssueKey())).findFirst().orElseThrow();
+        Task subtask = savedTasks.stream().filter(t -> "P-3".equals(t.getJiraIssueKey())).findFirst().orElseThrow();
+        assertEquals(story.getTaskId(), subtask.getParentTask().getTaskId());
+        assertEquals(story.getRequirement().getRequirementId(), subtask.getRequirement().getRequirementId());
+        // Mỗi trang + lượt cuối: flush/clear persistence context
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void resolveDeferred_ShouldWarnWhenParentNeverArrives() {
+        SyncContext ctx = upserter.openContext(new StudentGroup(), new User());
+
+        upserter.upsertPage(ctx, List.of(issue("P-9", "Story", "OTHER-1")));
+        upserter.resolveDeferred(ctx);
+
+        assertEquals(0, ctx.inserted());
+        assertEquals(1, ctx.warnings().size());
+        assertTrue(ctx.warnings().get(0).contains("P-9"));
+    }
+
+    @Test
+    void upsertPage_ShouldResolveAssigneesAndKnownParentsWithOneQueryEach() {
+        User alice = User.builder().jiraAccountId("acc-1").build();
+        when(userRepository.findAllByJiraAccountIdIn(any())).thenReturn(List.of(alice));
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1")))
+                .thenReturn(List.of(Requirement.builder().requirementId(7).jiraIssueKey("P-1").build()));
+        SyncContext ctx = upserter.openContext(new StudentGroup(), new User());
+
+        // Epic P-1 đã sync ở lần trước, không có trong trang này
+        JiraIssue first = issue("P-2", "Story", "P-1");
+        JiraIssue second = issue("P-3", "Story", "P-1");
+        assign(first, "acc-1");
+        assign(second, "acc-1");
+        upserter.upsertPage(ctx, List.of(first, second));
+
+        assertEquals(2, ctx.inserted());
+        assertTrue(savedTasks.stream().allMatch(t -> t.getAssignee() == alice));
+        assertTrue(savedTasks.stream().allMatch(t -> t.getRequirement().getRequirementId() == 7));
+        verify(userRepository, times(1)).findAllByJiraAccountIdIn(any());
+        verify(requirementRepository, times(1)).findAllByJiraIssueKeyIn(List.of("P-1"));
+        verify(userRepository, never()).findByJiraAccountId(any());
+        verify(requirementRepository, never()).findByJiraIssueKey(any());
+    }
+
+    @Test
+    void upsertPage_ShouldSkipIssuesUnchangedSinceLastSync() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        Requirement epic = Requirement.builder().requirementId(7).jiraIssueKey("P-1").studentGroup(group)
+                .jiraUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 0, 0, 123_000_000)).build();
+        Task story = Task.builder().taskId(8).jiraIssueKey("P-2").studentGroup(group).requirement(epic)
+                .jiraUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 0)).build();
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1"))).thenReturn(List.of(epic));
+        when(taskRepository.findAllByJiraIssueKeyIn(List.of("P-2"))).thenReturn(List.of(story));
+        SyncContext ctx = upserter.openContext(group, new User());
+
+        JiraIssue epicIssue = issue("P-1", "Epic", null);
+        epicIssue.getFields().setUpdated("2026-10-01T09:00:00.123+0000");
+        JiraIssue storyIssue = issue("P-2", "Story", "P-1");
+        storyIssue.getFields().setUpdated("2026-10-01T09:05:00.000+0000"); // đổi trên Jira
+        upserter.upsertPage(ctx, List.of(epicIssue, storyIssue));
+
+        assertEquals(1, ctx.unchanged());
+        assertEquals(1, ctx.updated());
+        verify(requirementRepository).saveAll(List.of());
+        assertEquals(List.of(story), savedTasks);
+    }
+
+    @Test
+    void upsertPage_ShouldIgnoreOlderVersionDeliveredLate() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        Requirement epic = Requirement.builder().requirementId(7).jiraIssueKey("P-1").studentGroup(group).build();
+        Task story = Task.builder().taskId(8).jiraIssueKey("P-2").studentGroup(group).requirement(epic)
+                .title("Newer title").jiraUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 5)).build();
+        when(taskRepository.findAllByJiraIssueKeyIn(List.of("P-2"))).thenReturn(List.of(story));
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1"))).thenReturn(List.of(epic));
+        SyncContext ctx = upserter.openContext(group, new User());
+
+        JiraIssue late = issue("P-2", "Story", "P-1");
+        late.getFields().setUpdated("2026-10-01T09:00:00.000+0000");
+        upserter.upsertPage(ctx, List.of(late));
+
+        assertEquals(1, ctx.unchanged());
+        assertEquals("Newer title", story.getTitle());
+        assertTrue(savedTasks.isEmpty());
+        verify(labelRepository, never()).findByGroupIdAndJiraIssueKeyIn(any(), any());
+    }
+
+    @Test
+    void upsertPage_ShouldCompareUpdatedAcrossOffsetsInUtc() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        Requirement epic = Requirement.builder().requirementId(7).jiraIssueKey("P-1").studentGroup(group).build();
+        Task story = Task.builder().taskId(8).jiraIssueKey("P-2").studentGroup(group).requirement(epic)
+                .title("Stored title").jiraUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 0)).build();
+        when(taskRepository.findAllByJiraIssueKeyIn(List.of("P-2"))).thenReturn(List.of(story));
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1"))).thenReturn(List.of(epic));
+        SyncContext ctx = upserter.openContext(group, new User());
+
+        // 15:59+07:00 = 08:59Z: cũ hơn bản đã lưu dù giờ địa phương lớn hơn
+        JiraIssue older = issue("P-2", "Story", "P-1");
+        older.getFields().setUpdated("2026-10-01T15:59:00.000+0700");
+        older.getFields().setSummary("Older title");
+        upserter.upsertPage(ctx, List.of(older));
+
+        assertEquals("Stored title", story.getTitle());
+        assertTrue(savedTasks.isEmpty());
+
+        // 16:05+07:00 = 09:05Z: mới hơn → ghi, lưu giờ UTC
+        JiraIssue newer = issue("P-2", "Story", "P-1");
+        newer.getFields().setUpdated("2026-10-01T16:05:00.000+0700");
+        newer.getFields().setSummary("Newer title");
+        upserter.upsertPage(ctx, List.of(newer));
+
+        assertEquals("Newer title", story.getTitle());
+        assertEquals(LocalDateTime.of(2026, 10, 1, 9, 5), story.getJiraUpdatedAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertPage_ShouldBackfillLabelsOfUnchangedIssues() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        Requirement epic = Requirement.builder().requirementId(7).jiraIssueKey("P-1").studentGroup(group)
+                .jiraUpdatedAt(LocalDateTime.of(2026, 10, 1, 9, 0)).build();
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1"))).thenReturn(List.of(epic));
+        when(labelRepository.findByGroupIdAndJiraIssueKeyIn(eq(1L), any())).thenReturn(List.of());
+        SyncContext ctx = upserter.openContext(group, new User());
+
+        JiraIssue same = issue("P-1", "Epic", null);
+        same.getFields().setUpdated("2026-10-01T09:00:00.000+0000");
+        same.getFields().setLabels(List.of("backend"));
+        upserter.upsertPage(ctx, List.of(same));
+
+        assertEquals(1, ctx.unchanged());
+        verify(requirementRepository).saveAll(List.of());
+        ArgumentCaptor<List<JiraIssueLabel>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(labelRepository).saveAll(inserted.capture());
+        assertEquals(List.of("backend"), inserted.getValue().stream().map(JiraIssueLabel::getLabel).toList());
+    }
+
+    @Test
+    void deleteIssue_ShouldRemoveTaskWithSubtasksButKeepEpicThatStillHasTasks() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        Task story = Task.builder().taskId(8).jiraIssueKey("P-2").studentGroup(group).build();
+        Task subtask = Task.builder().taskId(9).jiraIssueKey("P-3").studentGroup(group).parentTask(story).build();
+        when(taskRepository.findAllByJiraIssueKeyIn(List.of("P-2"))).thenReturn(List.of(story));
+        when(taskRepository.findAllByParentTask_TaskId(8)).thenReturn(List.of(subtask));
+        Requirement epic = Requirement.builder().requirementId(7).jiraIssueKey("P-1").studentGroup(group).build();
+        when(requirementRepository.findAllByJiraIssueKeyIn(List.of("P-1"))).thenReturn(List.of(epic));
+        when(taskRepository.existsByRequirement_RequirementId(7)).thenReturn(true);
+        JiraIssueLabel storyLabel = JiraIssueLabel.builder().groupId(1L).jiraIssueKey("P-2").label("backend").build();
+        JiraIssueLabel subtaskLabel = JiraIssueLabel.builder().groupId(1L).jiraIssueKey("P-3").label("api").build();
+        when(labelRepository.findByGroupIdAndJiraIssueKeyIn(1L, List.of("P-2", "P-3")))
+                .thenReturn(List.of(storyLabel, subtaskLabel));
+
+        assertEquals(2, upserter.deleteIssue(1L, "P-2"));
+        verify(taskRepository).deleteAll(List.of(subtask));
+        verify(taskRepository).delete(story);
+        // label của sub-task bị xoá kèm cũng phải rời index
+        verify(labelRepository).deleteAllInBatch(List.of(storyLabel, subtaskLabel));
+        verify(labelIndex).evictGroup(1L);
+
+        assertEquals(0, upserter.deleteIssue(1L, "P-1"));
+        verify(requirementRepository, never()).delete(any());
+        // group khác không bị đụng tới
+        assertEquals(0, upserter.deleteIssue(2L, "P-2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertPage_ShouldWriteOnlyChangedLabels() {
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(1L);
+        JiraIssueLabel kept = JiraIssueLabel.builder().groupId(1L).jiraIssueKey("P-1").label("backend").build();
+        JiraIssueLabel removed = JiraIssueLabel.builder().groupId(1L).jiraIssueKey("P-1").label("old").build();
+        when(labelRepository.findByGroupIdAndJiraIssueKeyIn(eq(1L), any())).thenReturn(List.of(kept, removed));
+        SyncContext ctx = upserter.openContext(group, new User());
+
+        JiraIssue epic = issue("P-1", "Epic", null);
+        epic.getFields().setLabels(List.of("backend", " api ", "api"));
+        upserter.upsertPage(ctx, List.of(epic));
+
+        verify(labelRepository).deleteAllInBatch(List.of(removed));
+        ArgumentCaptor<List<JiraIssueLabel>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(labelRepository).saveAll(inserted.capture());
+        assertEquals(List.of("api"), inserted.getValue().stream().map(JiraIssueLabel::getLabel).toList());
+    }
+
+    private void assign(JiraIssue issue, String accountId) {
+        JiraAssignee assignee = new JiraAssignee();
+        assignee.setAccountId(accountId);
+        issue.getFields().setAssignee(assignee);
+    }
+
+    private JiraIssue issue(String key, String type, String parentKey) {
+        JiraName issueType = new JiraName();
+        issueType.setName(type);
+        JiraFields fields = new JiraFields();
+        fields.setSummary("Summary " + key);
+        fields.setIssuetype(issueType);
+        if (parentKey != null) {
+            JiraParentRef parent = new JiraParentRef();
+            parent.setKey(parentKey);
+            fields.setParent(parent);
+        }
+        JiraIssue issue = new JiraIssue();
+        issue.setKey(key);
+        issue.setFields(fields);
+        return issue;
+    }
+}
@@ -0,0 +1,72 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.dto.response.LabelUsageProjection;
+import com.swp391.backend.repository.JiraIssueLabelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Gợi ý label: prefix trước substring, xếp theo usage; chỉ nạp DB một lần.
+ */
+class JiraLabelIndexTest {
+
+    private final JiraIssueLabelRepository repository = mock(JiraIssueLabelRepository.class);
+    private final JiraLabelIndex index = new JiraLabelIndex(repository);
+
+    @BeforeEach
+    void setUp() {
+        when(repository.countUsageByGroup(1L, "P-")).thenReturn(List.of(
+                usage("backend", 3), usage("Back-office", 9), usage("fe-backlog", 20),
+                usage("frontend", 12), usage("bug", 1)));
+    }
+
+    @Test
+    void suggest_ShouldRankPrefixBeforeSubstringThenByUsage() {
+        assertEquals(List.of("Back-office", "backend", "fe-backlog"), index.suggest(1L, "P", "BACK", 10, false));
+        assertEquals(List.of("Back-office", "backend"), index.suggest(1L, "P", "back", 2, false));
+        assertEquals(List.of("fe-backlog", "frontend"), index.suggest(1L, "P", null, 2, false));
+        assertEquals(List.of(), index.suggest(1L, "P", "zzz", 10, false));
+
+        verify(repository, times(1)).countUsageByGroup(1L, "P-");
+    }
+
+    @Test
+    void suggest_ShouldReloadAfterEvictOrProjectChange() {
+        index.suggest(1L, "P", "b", 10, false);
+        index.evictGroup(1L);
+        index.suggest(1L, "P", "b", 10, false);
+        index.suggest(1L, "Q", "b", 10, false);
+
+        verify(repository, times(2)).countUsageByGroup(1L, "P-");
+        verify(repository).countUsageByGroup(1L, "Q-");
+    }
+
+    @Test
+    void suggest_AfterFailedLoad_ShouldRetryOnNextCall() {
+        when(repository.countUsageByGroup(2L, "P-"))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(usage("backend", 1)));
+
+        assertThrows(IllegalStateException.class, () -> index.suggest(2L, "P", "b", 10, false));
+        assertEquals(List.of("backend"), index.suggest(2L, "P", "b", 10, false));
+    }
+
+    private static LabelUsageProjection usage(String label, long count) {
+        return new LabelUsageProjection() {
+            @Override
+            public String getLabel() {
+                return label;
+            }
+
+            @Override
+            public long getUsageCount() {
+                return count;
+            }
+        };
+    }
+}
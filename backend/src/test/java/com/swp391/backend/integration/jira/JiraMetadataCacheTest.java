@@ -0,0 +1,83 @@
+package com.swp391.backend.integration.jira;
+
+import com.swp391.backend.config.JiraClientConfig;
+import com.swp391.backend.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cache metadata Jira: single-flight, refresh, evict theo group, không cache lỗi.
+ */
+class JiraMetadataCacheTest {
+
+    private final JiraMetadataCache cache = new JiraMetadataCache(new JiraClientConfig());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.get(1L, "P", "labels", false, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return List.of("backend");
+                })));
+            }
+            Thread.sleep(100); // để cả 4 request cùng chờ lượt tải đầu tiên
+            release.countDown();
+            for (Future<List<String>> result : results) {
+                assertEquals(List.of("backend"), result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldReloadOnRefreshAndAfterEvict() {
+        assertEquals(1, load(false));
+        assertEquals(1, load(false));
+        assertEquals(2, load(true));
+
+        cache.evictGroup(1L);
+        assertEquals(3, load(false));
+        // group khác không bị ảnh hưởng
+        assertEquals("x", cache.get(2L, "P", "boards", false, () -> "x"));
+        cache.evictGroup(1L);
+        assertEquals("x", cache.get(2L, "P", "boards", false, () -> "y"));
+    }
+
+    @Test
+    void get_ShouldNotCacheFailures() {
+        assertThrows(BusinessException.class, () -> cache.get(1L, "P", "versions", false, () -> {
+            throw new BusinessException("Jira down", 502);
+        }));
+        assertEquals(1, load(false));
+    }
+
+    private int load(boolean refresh) {
+        return cache.get(1L, "P", "versions", refresh, loads::incrementAndGet);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
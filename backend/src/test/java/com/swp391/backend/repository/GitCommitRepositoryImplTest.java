@@ -0,0 +1,143 @@
+package com.swp391.backend.repository;
+
+import com.swp391.backend.entity.GitCommit;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SQL ghi tay của GitCommit: tham số được bind đúng thứ tự (kể cả null), đếm dòng
+ * ảnh hưởng khi driver trả SUCCESS_NO_INFO, phạm vi relink giới hạn theo nhóm của user.
+ */
+class GitCommitRepositoryImplTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final GitCommitRepositoryImpl repository = new GitCommitRepositoryImpl(jdbcTemplate);
+
+    private final PreparedStatement ps = mock(PreparedStatement.class);
+
+    @Test
+    void batchInsertIfAbsent_ShouldBindColumnsInMergeOrderWithTypedNulls() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        GitCommit full = GitCommit.builder().repoId(3).sha("abc").authorUserId(9L).authorName("Alice")
+                .authorEmail("alice@example.com").authorLogin("alice").commitDate(date).message("init")
+                .additions(10).deletions(2).filesChanged(1).build();
+        GitCommit bare = GitCommit.builder().repoId(3).sha("def").commitDate(date).build();
+        stubBatch(new int[][] { { 1, 0 } });
+
+        int inserted = repository.batchInsertIfAbsent(List.of(full, bare), 500);
+
+        assertEquals(1, inserted);
+        InOrder order = inOrder(ps);
+        order.verify(ps).setInt(1, 3);
+        order.verify(ps).setString(2, "abc");
+        order.verify(ps).setLong(3, 9L);
+        order.verify(ps).setString(4, "Alice");
+        order.verify(ps).setString(5, "alice@example.com");
+        order.verify(ps).setString(6, "alice");
+        order.verify(ps).setTimestamp(7, Timestamp.valueOf(date));
+        order.verify(ps).setString(8, "init");
+        order.verify(ps).setInt(9, 10);
+        order.verify(ps).setInt(10, 2);
+        order.verify(ps).setInt(11, 1);
+        // Commit thiếu tác giả / stats → setNull có kiểu, không setInt(0)
+        order.verify(ps).setString(2, "def");
+        order.verify(ps).setNull(3, Types.BIGINT);
+        order.verify(ps).setNull(9, Types.INTEGER);
+        order.verify(ps).setNull(10, Types.INTEGER);
+        order.verify(ps).setNull(11, Types.INTEGER);
+    }
+
+    @Test
+    void batchUpdateDerivedFields_ShouldBindCommitIdLast() throws Exception {
+        GitCommit commit = GitCommit.builder().commitId(77).authorLogin("bob").additions(5).build();
+        stubBatch(new int[][] { { 1 } });
+
+        assertEquals(1, repository.batchUpdateDerivedFields(List.of(commit), 100));
+
+        InOrder order = inOrder(ps);
+        order.verify(ps).setNull(1, Types.BIGINT);
+        order.verify(ps).setString(2, "bob");
+        order.verify(ps).setInt(3, 5);
+        order.verify(ps).setNull(4, Types.INTEGER);
+        order.verify(ps).setNull(5, Types.INTEGER);
+        order.verify(ps).setInt(6, 77);
+    }
+
+    @Test
+    void batchInsertIfAbsent_ShouldCountSuccessNoInfoAsOneRowAcrossBatches() {
+        GitCommit commit = GitCommit.builder().repoId(3).sha("abc").commitDate(LocalDateTime.now()).build();
+        stubBatch(new int[][] {
+                { 1, Statement.SUCCESS_NO_INFO, 0 },
+                { Statement.SUCCESS_NO_INFO, Statement.EXECUTE_FAILED } });
+
+        assertEquals(3, repository.batchInsertIfAbsent(List.of(commit), 0));
+        // batchSize <= 0 → vẫn gửi theo lô 1
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), eq(1), any());
+    }
+
+    @Test
+    void batchWrites_WithEmptyList_ShouldNotTouchJdbc() {
+        assertEquals(0, repository.batchInsertIfAbsent(List.of(), 500));
+        assertEquals(0, repository.batchUpdateDerivedFields(List.of(), 500));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void relinkUnmappedCommits_ShouldOnlyClaimCommitsInReposOfUsersGroups() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2);
+
+        int relinked = repository.relinkUnmappedCommits(42L, "  Alice ");
+
+        assertEquals(2, relinked);
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("repo_id IN (SELECT r.repo_id")
+                        && sql.contains("JOIN GroupMember gm ON gm.group_id = r.group_id")
+                        && sql.contains("gm.user_id = ?")
+                        && !sql.contains("LOWER(")),
+                eq(42L), eq(42L), eq("Alice"), eq("Alice@users.noreply.github.com"),
+                eq("%+Alice@users.noreply.github.com"));
+    }
+
+    @Test
+    void relinkUnmappedCommits_WithWildcardLogin_ShouldMatchItLiterally() {
+        repository.relinkUnmappedCommits(42L, "%_[");
+
+        // % _ [ được escape → chỉ khớp email noreply có đúng login "%_[", không khớp mọi commit
+        verify(jdbcTemplate).update(argThat(sql -> sql.contains("LIKE ? ESCAPE '\\'")),
+                eq(42L), eq(42L), eq("%_["), eq("%_[@users.noreply.github.com"),
+                eq("%+\\%\\_\\[@users.noreply.github.com"));
+    }
+
+    @Test
+    void relinkUnmappedCommits_ShouldSkipBlankLogin() {
+        assertEquals(0, repository.relinkUnmappedCommits(42L, " "));
+        assertEquals(0, repository.relinkUnmappedCommits(null, "alice"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /** batchUpdate giả: chạy setter trên {@link #ps} cho từng commit rồi trả {@code results}. */
+    @SuppressWarnings("unchecked")
+    private void stubBatch(int[][] results) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(inv -> {
+                    ParameterizedPreparedStatementSetter<GitCommit> setter = inv.getArgument(3);
+                    for (GitCommit commit : (Collection<GitCommit>) inv.getArgument(1)) {
+                        setter.setValues(ps, commit);
+                    }
+                    return results;
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.dto.request.CommitSearchRequest;
+import com.swp391.backend.dto.response.CommitSearchResult;
+import com.swp391.backend.entity.GitCommit;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.exception.BusinessException;
+import com.swp391.backend.repository.GitCommitRepository;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RepositoryRepository;
+import com.swp391.backend.repository.SyncLogRepository;
+import com.swp391.backend.service.impl.GitHubCommitQueryServiceImpl;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GitHubCommitQueryServiceTest {
+
+    private static final Long GROUP_ID = 3L;
+
+    private final IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+    private final RepositoryRepository repositoryRepository = mock(RepositoryRepository.class);
+    private final GitCommitRepository gitCommitRepository = mock(GitCommitRepository.class);
+    private final SyncLogRepository syncLogRepository = mock(SyncLogRepository.class);
+    private final IntegrationService integrationService = mock(IntegrationService.class);
+
+    private GitHubCommitQueryServiceImpl queryService;
+
+    @BeforeEach
+    void setUp() {
+        queryService = new GitHubCommitQueryServiceImpl(configRepository, repositoryRepository,
+                gitCommitRepository, syncLogRepository, integrationService);
+        when(configRepository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(
+                GROUP_ID, IntegrationTypeIds.GITHUB))
+                .thenReturn(Optional.of(IntegrationConfig.builder().repoFullName("swp-team/swp-demo").build()));
+        when(repositoryRepository.findByGroupIdAndFullName(GROUP_ID, "swp-team/swp-demo"))
+                .thenReturn(Optional.of(Repository.builder().repoId(10).groupId(GROUP_ID).build()));
+        when(syncLogRepository.findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(any(), any(), any()))
+                .thenReturn(Optional.empty());
+    }
+
+    @Test
+    void search_ShouldReturnCursorThatResumesAfterLastRow() {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(gitCommitRepository.findPageByRepoAndDateRange(eq(10), any(), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(commit(3, base), commit(2, base), commit(1, base.minusHours(1))));
+
+        CommitSearchRequest first = new CommitSearchRequest();
+        first.setLimit(2);
+        CommitSearchResult page = queryService.search(GROUP_ID, first);
+
+        assertEquals(2, page.getCommits().size());
+        assertEquals("db", page.getSource());
+        assertNotNull(page.getNextCursor());
+        // commit_date lưu theo giờ Việt Nam, trả ra ISO-8601 UTC như GitHub
+        assertEquals("2024-05-01T03:00:00Z", page.getCommits().get(0).getDate());
+
+        CommitSearchRequest second = new CommitSearchRequest();
+        second.setLimit(2);
+        second.setCursor(page.getNextCursor());
+        when(gitCommitRepository.findPageByRepoAndDateRangeAfter(eq(10), any(), any(), eq(base), eq(2),
+                eq(Limit.of(3))))
+                .thenReturn(List.of(commit(1, base.minusHours(1))));
+
+        CommitSearchResult next = queryService.search(GROUP_ID, second);
+        assertEquals(1, next.getCommits().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldReturnWholeRangeWhenNeitherLimitNorCursorGiven() {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(gitCommitRepository.findPageByRepoAndDateRange(eq(10), any(), any(), eq(Limit.unlimited())))
+                .thenReturn(List.of(commit(2, base), commit(1, base.minusHours(1))));
+
+        CommitSearchResult result = queryService.search(GROUP_ID, new CommitSearchRequest());
+
+        assertEquals(2, result.getCommits().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldRejectMalformedCursorAndDate() {
+        CommitSearchRequest badCursor = new CommitSearchRequest();
+        badCursor.setCursor("not-a-cursor");
+        assertThrows(BusinessException.class, () -> queryService.search(GROUP_ID, badCursor));
+
+        CommitSearchRequest badDate = new CommitSearchRequest();
+        badDate.setFromDate("yesterday");
+        assertThrows(BusinessException.class, () -> queryService.search(GROUP_ID, badDate));
+    }
+
+    @Test
+    void search_ShouldDelegateToGitHubWhenLiveRequested() {
+        CommitSearchRequest live = new CommitSearchRequest();
+        live.setLive(true);
+
+        CommitSearchResult result = queryService.search(GROUP_ID, live);
+
+        assertEquals("live", result.getSource());
+        verify(integrationService).fetchCommitsWithCriteria(GROUP_ID, live);
+        verifyNoInteractions(gitCommitRepository);
+    }
+
+    private GitCommit commit(int id, LocalDateTime date) {
+        return GitCommit.builder()
+                .commitId(id)
+                .repoId(10)
+                .sha("sha-" + id)
+                .commitDate(date)
+                .message("commit " + id)
+                .build();
+    }
+}
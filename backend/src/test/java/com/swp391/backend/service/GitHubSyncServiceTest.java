@@ -0,0 +1,138 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.config.GitHubSyncConfig;
+import com.swp391.backend.dto.response.GitHubCommitDTO;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.SyncStatus;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
+import com.swp391.backend.integration.github.GitHubClient;
+import com.swp391.backend.integration.github.GitHubCommitIngestor;
+import com.swp391.backend.integration.github.GitHubCommitIngestor.IngestResult;
+import com.swp391.backend.integration.github.GitHubPageIterator;
+import com.swp391.backend.repository.GitCommitRepository;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RepositoryRepository;
+import com.swp391.backend.service.impl.GitHubSyncServiceImpl;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checkpoint / resume của sync GitHub – không gọi mạng.
+ */
+class GitHubSyncServiceTest {
+
+    private static final Long GROUP_ID = 5L;
+    private static final Long SYNC_ID = 42L;
+    private static final String REPO = "swp-team/swp-demo";
+    private static final String PAGE_3 = "https://api.github.com/repositories/99/commits?per_page=100&page=3";
+
+    private final SyncLogService syncLogService = mock(SyncLogService.class);
+    private final IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+    private final TokenCryptoService tokenCryptoService = mock(TokenCryptoService.class);
+    private final GitHubClient gitHubClient = mock(GitHubClient.class);
+    private final RepositoryRepository repositoryRepository = mock(RepositoryRepository.class);
+    private final GitHubAuthorResolver authorResolver = mock(GitHubAuthorResolver.class);
+    private final GitHubCommitIngestor commitIngestor = mock(GitHubCommitIngestor.class);
+    private final GitCommitRepository gitCommitRepository = mock(GitCommitRepository.class);
+
+    private GitHubSyncServiceImpl syncService;
+    private Repository repo;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new GitHubSyncServiceImpl(syncLogService, configRepository, tokenCryptoService,
+                gitHubClient, repositoryRepository, new GitHubSyncConfig(), authorResolver, commitIngestor,
+                gitCommitRepository);
+
+        when(syncLogService.begin(GROUP_ID, "GITHUB")).thenReturn(SyncLog.builder().id(SYNC_ID).build());
+        when(configRepository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(
+                GROUP_ID, IntegrationTypeIds.GITHUB))
+                .thenReturn(Optional.of(IntegrationConfig.builder()
+                        .repoFullName(REPO)
+                        .tokenEncrypted("enc".getBytes(StandardCharsets.UTF_8))
+                        .build()));
+        when(tokenCryptoService.decryptFromBytes(any())).thenReturn("ghp_token");
+        repo = Repository.builder().repoId(9).groupId(GROUP_ID).fullName(REPO).build();
+        when(repositoryRepository.findByGroupIdAndFullName(GROUP_ID, REPO)).thenReturn(Optional.of(repo));
+        when(commitIngestor.ingest(any(), any(), any(), anyList(), any()))
+                .thenReturn(new IngestResult(1, 0, 0, Map.of()));
+    }
+
+    @Test
+    void syncNow_ShouldResumeFromCheckpointOfFailedSync() {
+        LocalDateTime newest = LocalDateTime.of(2024, 5, 2, 9, 0);
+        when(syncLogService.findResumable(GROUP_ID, "GITHUB")).thenReturn(Optional.of(SyncLog.builder()
+                .id(41L)
+                .status(SyncStatus.FAILED)
+                .resumeCursor(PAGE_3)
+                .resumeHeadSha("head-sha")
+                .resumeNewestDate(newest)
+                .pagesFetched(2)
+                .build()));
+        when(gitCommitRepository.existsByRepoIdAndSha(9, "head-sha")).thenReturn(true);
+        GitHubPageIterator<GitHubCommitDTO> pages = pagesOf(commit("old-sha"));
+        when(gitHubClient.commitPagesFrom(PAGE_3, "ghp_token")).thenReturn(pages);
+
+        SyncResultResponse result = syncService.syncNow(GROUP_ID, false);
+
+        assertEquals("SUCCESS", result.getStatus());
+        assertTrue(result.getMessage().contains("resumed sync #41"));
+        verify(gitHubClient, never()).commitPages(any(), any(), any());
+        verify(syncLogService).checkpoint(SYNC_ID, null, "head-sha", newest, 3, 1, 0);
+        // Watermark lấy HEAD của lượt crawl gốc, không phải commit đầu của trang resume
+        assertEquals("head-sha", repo.getLastCommitSha());
+        assertEquals(newest, repo.getLastCommitDate());
+    }
+
+    @Test
+    void syncNow_ShouldIgnoreCheckpointOfAnotherRepository() {
+        when(syncLogService.findResumable(GROUP_ID, "GITHUB")).thenReturn(Optional.of(SyncLog.builder()
+                .id(41L)
+                .status(SyncStatus.FAILED)
+                .resumeCursor(PAGE_3)
+                .resumeHeadSha("sha-from-previous-repo")
+                .pagesFetched(2)
+                .build()));
+        when(gitCommitRepository.existsByRepoIdAndSha(9, "sha-from-previous-repo")).thenReturn(false);
+        GitHubPageIterator<GitHubCommitDTO> pages = pagesOf(commit("new-head"));
+        when(gitHubClient.commitPages(REPO, "ghp_token", null)).thenReturn(pages);
+
+        syncService.syncNow(GROUP_ID, false);
+
+        verify(gitHubClient, never()).commitPagesFrom(any(), any());
+        verify(syncLogService).checkpoint(eq(SYNC_ID), isNull(), eq("new-head"), any(), eq(1), eq(1), eq(0));
+        assertEquals("new-head", repo.getLastCommitSha());
+    }
+
+    @SuppressWarnings("unchecked")
+    private GitHubPageIterator<GitHubCommitDTO> pagesOf(GitHubCommitDTO... commits) {
+        GitHubPageIterator<GitHubCommitDTO> pages = mock(GitHubPageIterator.class);
+        when(pages.hasNext()).thenReturn(true, false);
+        when(pages.next()).thenReturn(List.of(commits));
+        when(pages.nextPageUrl()).thenReturn(null);
+        return pages;
+    }
+
+    private GitHubCommitDTO commit(String sha) {
+        return GitHubCommitDTO.builder()
+                .sha(sha)
+                .commit(GitHubCommitDTO.CommitInfo.builder()
+                        .author(GitHubCommitDTO.Author.builder().date("2024-05-01T01:00:00Z").build())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.swp391.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.dto.response.GitHubCommitDTO;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.Repository;
+import com.swp391.backend.integration.github.GitHubAuthorResolver;
+import com.swp391.backend.integration.github.GitHubCommitIngestor;
+import com.swp391.backend.integration.github.GitHubCommitIngestor.IngestResult;
+import com.swp391.backend.integration.http.KeyedSerialQueue;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RepositoryRepository;
+import com.swp391.backend.service.impl.GitHubWebhookServiceImpl;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import com.swp391.backend.utils.WebhookSignatureVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Webhook push với payload ghi sẵn (src/test/resources/webhooks) – không gọi mạng.
+ */
+class GitHubWebhookServiceTest {
+
+    private static final Long GROUP_ID = 7L;
+    private static final String SECRET = "webhook-secret";
+
+    private final IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+    private final TokenCryptoService tokenCryptoService = mock(TokenCryptoService.class);
+    private final RepositoryRepository repositoryRepository = mock(RepositoryRepository.class);
+    private final GitHubAuthorResolver authorResolver = mock(GitHubAuthorResolver.class);
+    private final GitHubCommitIngestor commitIngestor = mock(GitHubCommitIngestor.class);
+    private final KeyedSerialQueue webhookQueue = mock(KeyedSerialQueue.class);
+
+    private GitHubWebhookServiceImpl webhookService;
+    private byte[] payload;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        webhookService = new GitHubWebhookServiceImpl(configRepository, tokenCryptoService, repositoryRepository,
+                authorResolver, commitIngestor, webhookQueue, new ObjectMapper());
+        try (InputStream in = getClass().getResourceAsStream("/webhooks/github-push.json")) {
+            payload = in.readAllBytes();
+        }
+
+        IntegrationConfig config = IntegrationConfig.builder()
+                .repoFullName("swp-team/swp-demo")
+                .tokenEncrypted("enc-token".getBytes(StandardCharsets.UTF_8))
+                .webhookSecretEncrypted("enc-secret".getBytes(StandardCharsets.UTF_8))
+                .build();
+        when(configRepository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(GROUP_ID,
+                IntegrationTypeIds.GITHUB)).thenReturn(Optional.of(config));
+        when(tokenCryptoService.decryptFromBytes(config.getWebhookSecretEncrypted())).thenReturn(SECRET);
+        when(tokenCryptoService.decryptFromBytes(config.getTokenEncrypted())).thenReturn("gh-token");
+        when(repositoryRepository.findByGroupIdAndFullName(GROUP_ID, "swp-team/swp-demo"))
+                .thenReturn(Optional.of(Repository.builder().repoId(3).groupId(GROUP_ID).fullName("swp-team/swp-demo").build()));
+        when(webhookQueue.submit(anyString(), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handle_SignedPush_ShouldQueueCommitsIntoIngestPipeline() {
+        when(commitIngestor.ingest(any(), anyString(), anyString(), anyList(), any()))
+                .thenReturn(new IngestResult(2, 0, 0, Map.of()));
+
+        SyncResultResponse result = webhookService.handle(GROUP_ID, "push",
+                WebhookSignatureVerifier.signSha256(SECRET, payload), payload);
+
+        ArgumentCaptor<List<GitHubCommitDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(commitIngestor).ingest(any(), eq("swp-team/swp-demo"), eq("gh-token"), captor.capture(), any());
+        List<GitHubCommitDTO> commits = captor.getValue();
+
+        verify(webhookQueue).submit(eq(GROUP_ID + "|swp-team/swp-demo"), any());
+        assertEquals("ACCEPTED", result.getStatus());
+        assertEquals(2, commits.size());
+        assertEquals("0d1a26e67d8f5eaf1f6ba5c57fc3c7d91ac0fd1c", commits.get(0).getSha());
+        assertEquals("alice-dev", commits.get(0).getAuthor().getLogin());
+        assertEquals("2024-03-05T09:15:02+07:00", commits.get(0).getCommit().getAuthor().getDate());
+        assertNull(commits.get(1).getAuthor(), "author without GitHub account has no login");
+        assertEquals("bob@example.com", commits.get(1).getCommit().getAuthor().getEmail());
+    }
+
+    @Test
+    void handle_InvalidSignature_ShouldRejectWith401() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> webhookService.handle(GROUP_ID, "push",
+                        WebhookSignatureVerifier.signSha256("wrong-secret", payload), payload));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verifyNoInteractions(webhookQueue, commitIngestor);
+    }
+
+    @Test
+    void handle_PushToOtherBranch_ShouldBeIgnored() {
+        byte[] featurePush = new String(payload, StandardCharsets.UTF_8)
+                .replace("\"ref\": \"refs/heads/main\"", "\"ref\": \"refs/heads/feature/login\"")
+                .getBytes(StandardCharsets.UTF_8);
+
+        SyncResultResponse result = webhookService.handle(GROUP_ID, "push",
+                WebhookSignatureVerifier.signSha256(SECRET, featurePush), featurePush);
+
+        assertEquals("IGNORED", result.getStatus());
+        verifyNoInteractions(webhookQueue, commitIngestor);
+    }
+}
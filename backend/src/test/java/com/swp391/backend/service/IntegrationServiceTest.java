@@ -7,6 +7,7 @@ import com.swp391.backend.entity.IntegrationType;
 import com.swp391.backend.entity.StudentGroup;
 import com.swp391.backend.exception.BusinessException;
 import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraMetadataCache;
 import com.swp391.backend.repository.IntegrationConfigRepository;
 import com.swp391.backend.service.impl.IntegrationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 
@@ -39,6 +42,9 @@ class IntegrationServiceTest {
         @Mock
         private JiraClient jiraClient;
 
+        @Mock
+        private JiraMetadataCache jiraMetadataCache;
+
         @InjectMocks
         private IntegrationServiceImpl integrationService;
 
@@ -216,6 +222,35 @@ class IntegrationServiceTest {
                 verify(tokenHelper, never()).encryptToBytes(anyString());
         }
 
+        @Test
+        void saveOrUpdateJira_Update_ShouldEvictMetadataCacheOnlyAfterCommit() {
+                Long groupId = 2L;
+                StudentGroup sg = new StudentGroup(); sg.setGroupId(groupId);
+                IntegrationConfig existing = IntegrationConfig.builder()
+                                .studentGroup(sg)
+                                .baseUrl("https://old.atlassian.net")
+                                .projectKey("OLD")
+                                .jiraEmail("old@gmail.com")
+                                .tokenEncrypted("old-jira-encrypted".getBytes())
+                                .build();
+                when(repository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(groupId, IntegrationTypeIds.JIRA))
+                                .thenReturn(Optional.of(existing));
+                when(repository.save(any(IntegrationConfig.class))).thenAnswer(i -> i.getArguments()[0]);
+
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        integrationService.saveOrUpdateJira(groupId, "https://new.atlassian.net", "NEW",
+                                        "new@gmail.com", null);
+                        verify(jiraMetadataCache, never()).evictGroup(any());
+
+                        TransactionSynchronizationManager.getSynchronizations()
+                                        .forEach(TransactionSynchronization::afterCommit);
+                        verify(jiraMetadataCache).evictGroup(groupId);
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+        }
+
         @Test
         void saveOrUpdateJira_UpdateWithNewToken_ShouldReEncrypt() {
                 Long groupId = 2L;
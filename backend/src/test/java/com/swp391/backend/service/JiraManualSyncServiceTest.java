@@ -0,0 +1,149 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.config.JiraSyncConfig;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.StudentGroup;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.SyncStatus;
+import com.swp391.backend.integration.jira.JiraClient;
+import com.swp391.backend.integration.jira.JiraIssuePageIterator;
+import com.swp391.backend.integration.jira.JiraIssueUpserter;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.RequirementRepository;
+import com.swp391.backend.repository.StudentGroupRepository;
+import com.swp391.backend.repository.SyncLogRepository;
+import com.swp391.backend.repository.TaskRepository;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.impl.JiraManualSyncServiceImpl;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Cửa sổ incremental của sync Jira: kiểm tra qua JQL gửi cho {@link JiraClient#issuePages}.
+ */
+class JiraManualSyncServiceTest {
+
+    private static final Long GROUP_ID = 4L;
+    private static final String FULL_JQL = "project = \"SWP\" ORDER BY created ASC";
+
+    private final IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+    private final TokenCryptoService tokenCryptoService = mock(TokenCryptoService.class);
+    private final JiraClient jiraClient = mock(JiraClient.class);
+    private final JiraIssueUpserter upserter = mock(JiraIssueUpserter.class);
+    private final RequirementRepository requirementRepository = mock(RequirementRepository.class);
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final StudentGroupRepository studentGroupRepository = mock(StudentGroupRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SyncLogService syncLogService = mock(SyncLogService.class);
+    private final SyncLogRepository syncLogRepository = mock(SyncLogRepository.class);
+
+    private JiraManualSyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        JiraSyncConfig jiraSyncConfig = new JiraSyncConfig();
+        jiraSyncConfig.setIncrementalOverlapMinutes(5);
+        syncService = new JiraManualSyncServiceImpl(configRepository, tokenCryptoService, jiraClient, upserter,
+                requirementRepository, taskRepository, studentGroupRepository, userRepository, syncLogService,
+                syncLogRepository, jiraSyncConfig);
+
+        IntegrationConfig config = IntegrationConfig.builder()
+                .baseUrl("https://swp.atlassian.net")
+                .projectKey("SWP")
+                .jiraEmail("leader@example.com")
+                .tokenEncrypted("enc-token".getBytes(StandardCharsets.UTF_8))
+                .build();
+        when(configRepository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(GROUP_ID,
+                IntegrationTypeIds.JIRA)).thenReturn(Optional.of(config));
+        when(tokenCryptoService.decryptFromBytes(config.getTokenEncrypted())).thenReturn("jira-token");
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(GROUP_ID);
+        when(studentGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+        when(syncLogService.begin(GROUP_ID, "JIRA")).thenReturn(SyncLog.builder().id(100L).groupId(GROUP_ID).build());
+        when(jiraClient.issuePages(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt()))
+                .thenReturn(mock(JiraIssuePageIterator.class));
+    }
+
+    @Test
+    void syncNow_WithoutPreviousSuccess_ShouldRunFullSync() {
+        when(syncLogRepository.findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(GROUP_ID, "JIRA",
+                SyncStatus.SUCCESS)).thenReturn(Optional.empty());
+
+        syncService.syncNow(GROUP_ID, null, false);
+
+        assertEquals(FULL_JQL, sentJql());
+    }
+
+    @Test
+    void syncNow_AfterProjectKeyChanged_ShouldRunFullSync() {
+        lastSuccessAt(LocalDateTime.now().minusMinutes(10));
+        // Chưa có issue nào mang prefix "SWP-" → project mới với nhóm
+        when(requirementRepository.existsByStudentGroup_GroupIdAndJiraIssueKeyStartingWith(GROUP_ID, "SWP-"))
+                .thenReturn(false);
+        when(taskRepository.existsByStudentGroup_GroupIdAndJiraIssueKeyStartingWith(GROUP_ID, "SWP-"))
+                .thenReturn(false);
+
+        syncService.syncNow(GROUP_ID, null, false);
+
+        assertEquals(FULL_JQL, sentJql());
+    }
+
+    @Test
+    void syncNow_WithFullResync_ShouldIgnorePreviousSuccess() {
+        lastSuccessAt(LocalDateTime.now().minusMinutes(10));
+        projectAlreadySynced();
+
+        syncService.syncNow(GROUP_ID, null, true);
+
+        assertEquals(FULL_JQL, sentJql());
+        verify(syncLogRepository, never()).findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(any(), any(), any());
+    }
+
+    @Test
+    void syncNow_Incremental_ShouldRoundElapsedMinutesUpAndAddOverlap() {
+        // 90 phút 30 giây → làm tròn lên 91, cộng overlap 5
+        lastSuccessAt(LocalDateTime.now().minusMinutes(90).minusSeconds(30));
+        projectAlreadySynced();
+
+        syncService.syncNow(GROUP_ID, null, false);
+
+        assertEquals("project = \"SWP\" AND updated >= \"-96m\" ORDER BY created ASC", sentJql());
+    }
+
+    @Test
+    void syncNow_IncrementalRightAfterSuccess_ShouldStillCoverOverlap() {
+        lastSuccessAt(LocalDateTime.now().plusSeconds(5));
+        projectAlreadySynced();
+
+        syncService.syncNow(GROUP_ID, null, false);
+
+        assertEquals("project = \"SWP\" AND updated >= \"-5m\" ORDER BY created ASC", sentJql());
+    }
+
+    private void lastSuccessAt(LocalDateTime endedAt) {
+        when(syncLogRepository.findFirstByGroupIdAndSourceAndStatusOrderByEndedAtDesc(GROUP_ID, "JIRA",
+                SyncStatus.SUCCESS)).thenReturn(Optional.of(SyncLog.builder().endedAt(endedAt).build()));
+    }
+
+    private void projectAlreadySynced() {
+        when(requirementRepository.existsByStudentGroup_GroupIdAndJiraIssueKeyStartingWith(GROUP_ID, "SWP-"))
+                .thenReturn(true);
+    }
+
+    private String sentJql() {
+        ArgumentCaptor<String> jql = ArgumentCaptor.forClass(String.class);
+        verify(jiraClient).issuePages(eq("https://swp.atlassian.net"), eq("leader@example.com"), eq("jira-token"),
+                jql.capture(), anyInt(), anyInt());
+        return jql.getValue();
+    }
+}
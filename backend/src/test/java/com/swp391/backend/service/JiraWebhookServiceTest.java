@@ -0,0 +1,156 @@
+package com.swp391.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.IntegrationConfig;
+import com.swp391.backend.entity.StudentGroup;
+import com.swp391.backend.entity.User;
+import com.swp391.backend.integration.http.KeyedSerialQueue;
+import com.swp391.backend.integration.jira.JiraIssueUpserter;
+import com.swp391.backend.integration.jira.JiraIssueUpserter.SyncContext;
+import com.swp391.backend.integration.jira.dto.JiraIssue;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.StudentGroupRepository;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.impl.JiraWebhookServiceImpl;
+import com.swp391.backend.utils.IntegrationTypeIds;
+import com.swp391.backend.utils.WebhookSignatureVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Webhook issue Jira với payload ghi sẵn (src/test/resources/webhooks) – hàng đợi
+ * được mock để chạy event ngay trên thread test.
+ */
+class JiraWebhookServiceTest {
+
+    private static final Long GROUP_ID = 7L;
+    private static final String SECRET = "jira-secret";
+
+    private final IntegrationConfigRepository configRepository = mock(IntegrationConfigRepository.class);
+    private final TokenCryptoService tokenCryptoService = mock(TokenCryptoService.class);
+    private final StudentGroupRepository studentGroupRepository = mock(StudentGroupRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JiraIssueUpserter upserter = mock(JiraIssueUpserter.class);
+    private final KeyedSerialQueue webhookQueue = mock(KeyedSerialQueue.class);
+
+    private JiraWebhookServiceImpl webhookService;
+
+    @BeforeEach
+    void setUp() {
+        webhookService = new JiraWebhookServiceImpl(configRepository, tokenCryptoService, studentGroupRepository,
+                userRepository, upserter, webhookQueue, new ObjectMapper());
+
+        IntegrationConfig config = IntegrationConfig.builder()
+                .projectKey("SWP")
+                .webhookSecretEncrypted("enc-secret".getBytes(StandardCharsets.UTF_8))
+                .build();
+        when(configRepository.findByStudentGroup_GroupIdAndIntegrationType_IntegrationTypeId(GROUP_ID,
+                IntegrationTypeIds.JIRA)).thenReturn(Optional.of(config));
+        when(tokenCryptoService.decryptFromBytes(config.getWebhookSecretEncrypted())).thenReturn(SECRET);
+        when(webhookQueue.submit(anyString(), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void handle_SignedIssueUpdated_ShouldUpsertThroughProjectQueue() throws IOException {
+        byte[] payload = load("/webhooks/jira-issue-updated.json");
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(GROUP_ID);
+        User leader = User.builder().userId(5L).build();
+        SyncContext ctx = mock(SyncContext.class);
+        when(studentGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+        when(userRepository.findGroupMemberByRole(GROUP_ID, "LEADER")).thenReturn(Optional.of(leader));
+        when(upserter.openContext(group, leader)).thenReturn(ctx);
+
+        SyncResultResponse result = webhookService.handle(GROUP_ID, sign(payload), payload);
+
+        assertEquals("ACCEPTED", result.getStatus());
+        verify(webhookQueue).submit(eq(GROUP_ID + "|SWP"), any());
+        ArgumentCaptor<List<JiraIssue>> captor = ArgumentCaptor.forClass(List.class);
+        verify(upserter).upsertPage(same(ctx), captor.capture());
+        verify(upserter).resolveDeferred(ctx);
+        JiraIssue issue = captor.getValue().get(0);
+        assertEquals("SWP-12", issue.getKey());
+        assertEquals("SWP-10", issue.getFields().getParent().getKey());
+        assertEquals("Form đăng nhập bằng email", issue.getFields().getDescription());
+        assertEquals(List.of("frontend", "auth"), issue.getFields().getLabels());
+    }
+
+    @Test
+    void handle_GroupWithoutLeader_ShouldFallBackToAdminAsOwner() throws IOException {
+        byte[] payload = load("/webhooks/jira-issue-updated.json");
+        StudentGroup group = new StudentGroup();
+        group.setGroupId(GROUP_ID);
+        User admin = User.builder().userId(1L).build();
+        when(studentGroupRepository.findById(GROUP_ID)).thenReturn(Optional.of(group));
+        when(userRepository.findGroupMemberByRole(GROUP_ID, "LEADER")).thenReturn(Optional.empty());
+        when(userRepository.findFirstByRole_RoleCodeOrderByUserIdAsc("ADMIN")).thenReturn(Optional.of(admin));
+        when(upserter.openContext(group, admin)).thenReturn(mock(SyncContext.class));
+
+        webhookService.handle(GROUP_ID, sign(payload), payload);
+
+        verify(upserter).openContext(group, admin);
+    }
+
+    @Test
+    void handle_SignedIssueDeleted_ShouldDeleteIssue() throws IOException {
+        byte[] payload = load("/webhooks/jira-issue-deleted.json");
+
+        SyncResultResponse result = webhookService.handle(GROUP_ID, sign(payload), payload);
+
+        assertEquals("ACCEPTED", result.getStatus());
+        verify(upserter).deleteIssue(GROUP_ID, "SWP-12");
+        verify(upserter, never()).upsertPage(any(), anyList());
+    }
+
+    @Test
+    void handle_InvalidSignature_ShouldRejectWith401() throws IOException {
+        byte[] payload = load("/webhooks/jira-issue-updated.json");
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> webhookService.handle(GROUP_ID,
+                        WebhookSignatureVerifier.signSha256("wrong-secret", payload), payload));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+        verifyNoInteractions(webhookQueue, upserter);
+    }
+
+    @Test
+    void handle_IssueOfOtherProjectOrUnhandledEvent_ShouldBeIgnored() throws IOException {
+        String json = new String(load("/webhooks/jira-issue-updated.json"), StandardCharsets.UTF_8);
+        byte[] otherProject = json.replace("\"SWP-12\"", "\"OPS-12\"").getBytes(StandardCharsets.UTF_8);
+        byte[] comment = json.replace("jira:issue_updated", "comment_created").getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("IGNORED", webhookService.handle(GROUP_ID, sign(otherProject), otherProject).getStatus());
+        assertEquals("IGNORED", webhookService.handle(GROUP_ID, sign(comment), comment).getStatus());
+        verifyNoInteractions(webhookQueue, upserter);
+    }
+
+    private byte[] load(String resource) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static String sign(byte[] payload) {
+        return WebhookSignatureVerifier.signSha256(SECRET, payload);
+    }
+}
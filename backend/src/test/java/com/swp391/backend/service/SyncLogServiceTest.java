@@ -0,0 +1,96 @@
+package com.swp391.backend.service;
+
+import com.swp391.backend.config.SyncLeaseConfig;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.SyncStatus;
+import com.swp391.backend.repository.SyncLogRepository;
+import com.swp391.backend.service.impl.SyncLogServiceImpl;
+import com.swp391.backend.service.sync.SyncPhase;
+import com.swp391.backend.service.sync.SyncProgressTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lease của SyncLog: tiếp quản phiên RUNNING hết hạn, 409 khi lease còn sống, phiên
+ * bị tiếp quản thì dừng ở trang kế tiếp và không ghi đè kết quả.
+ */
+class SyncLogServiceTest {
+
+    private static final Long GROUP_ID = 3L;
+
+    private final SyncLogRepository repository = mock(SyncLogRepository.class);
+    private final SyncLeaseConfig leaseConfig = new SyncLeaseConfig();
+    private SyncLogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        leaseConfig.setNodeId("node-a");
+        service = new SyncLogServiceImpl(repository, new SyncProgressTracker(), leaseConfig);
+        when(repository.saveAndFlush(any(SyncLog.class))).thenAnswer(inv -> {
+            SyncLog saved = inv.getArgument(0);
+            saved.setId(100L);
+            return saved;
+        });
+    }
+
+    @Test
+    void begin_ShouldTakeOverExpiredLeaseAndRecordOwner() {
+        SyncLog orphan = SyncLog.builder().id(1L).groupId(GROUP_ID).source("GITHUB")
+                .status(SyncStatus.RUNNING).ownerNodeId("node-b").build();
+        when(repository.findByGroupIdAndSourceAndStatus(GROUP_ID, "GITHUB", SyncStatus.RUNNING))
+                .thenReturn(Optional.of(orphan));
+        when(repository.expireLeases(eq(1L), any(), any(), anyString(), eq(SyncStatus.RUNNING), eq(SyncStatus.FAILED)))
+                .thenReturn(1);
+
+        SyncLog started = service.begin(GROUP_ID, "GITHUB");
+
+        ArgumentCaptor<SyncLog> captor = ArgumentCaptor.forClass(SyncLog.class);
+        verify(repository).saveAndFlush(captor.capture());
+        assertEquals(100L, started.getId());
+        assertEquals("node-a", captor.getValue().getOwnerNodeId());
+        assertNotNull(captor.getValue().getHeartbeatAt());
+    }
+
+    @Test
+    void begin_ShouldRejectWhileLeaseIsAlive() {
+        when(repository.findByGroupIdAndSourceAndStatus(GROUP_ID, "JIRA", SyncStatus.RUNNING))
+                .thenReturn(Optional.of(SyncLog.builder().id(1L).status(SyncStatus.RUNNING).build()));
+        when(repository.expireLeases(eq(1L), any(), any(), anyString(), any(), any())).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.begin(GROUP_ID, "JIRA"));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void renewLeases_ShouldStopSyncWhoseLeaseWasTakenOver() {
+        when(repository.findByGroupIdAndSourceAndStatus(any(), any(), any())).thenReturn(Optional.empty());
+        service.begin(GROUP_ID, "GITHUB");
+        when(repository.renewLease(eq(100L), eq("node-a"), any(), eq(SyncStatus.RUNNING))).thenReturn(0);
+
+        service.renewLeases();
+
+        assertThrows(ResponseStatusException.class,
+                () -> service.progress(100L, SyncPhase.FETCHING, 2, 10, 0, 0));
+
+        // end() của node cũ không ghi đè FAILED do node khác đặt
+        SyncLog takenOver = SyncLog.builder().id(100L).groupId(GROUP_ID).source("GITHUB")
+                .status(SyncStatus.FAILED).build();
+        when(repository.findById(100L)).thenReturn(Optional.of(takenOver));
+        SyncLog result = service.end(100L, SyncStatus.SUCCESS, 10, 0, "done");
+
+        assertEquals(SyncStatus.FAILED, result.getStatus());
+        verify(repository, never()).save(any());
+    }
+}
@@ -0,0 +1,64 @@
+package com.swp391.backend.service.sync;
+
+import com.swp391.backend.dto.response.SyncProgressResponse;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.entity.SyncStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tiến độ trong RAM phủ lên SyncLog khi phiên đang chạy, gỡ đi khi kết thúc.
+ */
+class SyncProgressTrackerTest {
+
+    private final SyncProgressTracker tracker = new SyncProgressTracker();
+
+    @Test
+    void snapshot_ShouldOverlayLiveProgressWhileRunning() {
+        SyncLog running = syncLog(SyncStatus.RUNNING);
+        tracker.started(running);
+        assertEquals("QUEUED", tracker.snapshot(running).getPhase());
+
+        tracker.progress(7L, SyncPhase.FETCHING, 3, 120, 4, 30);
+
+        SyncProgressResponse progress = tracker.snapshot(running);
+        assertEquals("FETCHING", progress.getPhase());
+        assertEquals("RUNNING", progress.getStatus());
+        assertEquals(3, progress.getPagesFetched());
+        assertEquals(120, progress.getInsertedCount());
+        assertEquals(30, progress.getUnchangedCount());
+    }
+
+    @Test
+    void finished_ShouldFallBackToSyncLogAndIgnoreLateProgress() {
+        SyncLog running = syncLog(SyncStatus.RUNNING);
+        tracker.started(running);
+        tracker.progress(7L, SyncPhase.RESOLVING, 2, 10, 1, 5);
+
+        SyncLog done = syncLog(SyncStatus.SUCCESS);
+        done.setInsertedCount(10);
+        done.setUpdatedCount(1);
+        done.setEndedAt(LocalDateTime.now());
+        tracker.finished(done);
+        tracker.progress(7L, SyncPhase.FETCHING, 9, 99, 99, 99);
+
+        SyncProgressResponse snapshot = tracker.snapshot(done);
+        assertEquals("COMPLETED", snapshot.getPhase());
+        assertEquals(10, snapshot.getInsertedCount());
+        assertEquals(0, snapshot.getUnchangedCount());
+        assertNotNull(tracker.subscribe(done)); // phiên đã xong → một event rồi đóng
+    }
+
+    private static SyncLog syncLog(SyncStatus status) {
+        return SyncLog.builder()
+                .id(7L)
+                .groupId(1L)
+                .source("JIRA")
+                .status(status)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.swp391.backend.service.sync;
+
+import com.swp391.backend.config.SyncSchedulerConfig;
+import com.swp391.backend.dto.response.SyncProgressResponse;
+import com.swp391.backend.dto.response.SyncResultResponse;
+import com.swp391.backend.entity.SyncLog;
+import com.swp391.backend.repository.IntegrationConfigRepository;
+import com.swp391.backend.repository.UserRepository;
+import com.swp391.backend.service.GitHubSyncService;
+import com.swp391.backend.service.JiraManualSyncService;
+import com.swp391.backend.service.SyncLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sync thủ công đồng bộ không giữ request quá hạn chờ khi worker đang bận.
+ */
+class SyncSchedulerTest {
+
+    private final SyncSchedulerConfig config = new SyncSchedulerConfig();
+    private final SyncLogService syncLogService = mock(SyncLogService.class);
+    private final SyncProgressTracker progressTracker = mock(SyncProgressTracker.class);
+
+    private SyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        config.setWorkers(1);
+        scheduler = new SyncScheduler(config, mock(IntegrationConfigRepository.class), mock(UserRepository.class),
+                mock(GitHubSyncService.class), mock(JiraManualSyncService.class), syncLogService, progressTracker,
+                mock(TaskScheduler.class));
+        scheduler.start();
+        SyncLog syncLog = SyncLog.builder().id(100L).groupId(1L).source("GITHUB").build();
+        when(syncLogService.begin(1L, "GITHUB")).thenReturn(syncLog);
+        when(syncLogService.findById(100L)).thenReturn(Optional.of(syncLog));
+        when(progressTracker.snapshot(any())).thenReturn(SyncProgressResponse.builder().syncId(100L).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void runManual_FinishedInTime_ShouldReturnResult() {
+        config.setManualWaitSeconds(5);
+        SyncResultResponse done = SyncResultResponse.builder().status("SUCCESS").build();
+
+        SyncScheduler.ManualRun run = scheduler.runManual(1L, "GITHUB", syncLog -> done);
+
+        assertTrue(run.finished());
+        assertSame(done, run.result());
+    }
+
+    @Test
+    void runManual_StillRunningAfterWait_ShouldHandOverSyncId() {
+        config.setManualWaitSeconds(0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        SyncScheduler.ManualRun run = scheduler.runManual(1L, "GITHUB", syncLog -> {
+            awaitQuietly(release);
+            return SyncResultResponse.builder().status("SUCCESS").build();
+        });
+        release.countDown();
+
+        assertFalse(run.finished());
+        assertEquals(100L, run.pending().getSyncId());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.swp391.backend.service.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hàng đợi sync: job thủ công trước, job nền chia lượt theo lớp, không trùng key,
+ * có giới hạn.
+ */
+class SyncWorkQueueTest {
+
+    @Test
+    void take_ShouldServeManualFirstThenRoundRobinAcrossClasses() throws InterruptedException {
+        SyncWorkQueue queue = new SyncWorkQueue(10);
+        queue.offer(background(1L, 10L));
+        queue.offer(background(2L, 10L));
+        queue.offer(background(3L, 10L));
+        queue.offer(background(4L, 20L));
+        queue.offer(manual(5L));
+
+        List<Long> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            order.add(queue.take().getGroupId());
+        }
+
+        assertEquals(List.of(5L, 1L, 4L, 2L, 3L), order);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void offer_ShouldBumpQueuedBackgroundJobAndRejectDuplicates() throws InterruptedException {
+        SyncWorkQueue queue = new SyncWorkQueue(10);
+        assertEquals(SyncWorkQueue.Offer.QUEUED, queue.offer(background(1L, 10L)));
+        assertEquals(SyncWorkQueue.Offer.QUEUED, queue.offer(background(2L, 10L)));
+        assertEquals(SyncWorkQueue.Offer.DUPLICATE, queue.offer(background(2L, 10L)));
+
+        SyncJob bumped = manual(2L);
+        assertEquals(SyncWorkQueue.Offer.BUMPED, queue.offer(bumped));
+        assertEquals(SyncWorkQueue.Offer.DUPLICATE, queue.offer(manual(2L)));
+
+        assertSame(bumped, queue.take());
+        assertEquals(1L, queue.take().getGroupId());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void offer_ShouldRejectWhenFull() {
+        SyncWorkQueue queue = new SyncWorkQueue(2);
+        queue.offer(background(1L, 10L));
+        queue.offer(background(2L, 20L));
+
+        assertEquals(SyncWorkQueue.Offer.FULL, queue.offer(background(3L, 30L)));
+        assertEquals(SyncWorkQueue.Offer.FULL, queue.offer(manual(4L)));
+        assertEquals(2, queue.size());
+    }
+
+    private static SyncJob background(Long groupId, Long classId) {
+        return new SyncJob(groupId, classId, SyncScheduler.SOURCE_GITHUB, false, () -> null);
+    }
+
+    private static SyncJob manual(Long groupId) {
+        return new SyncJob(groupId, null, SyncScheduler.SOURCE_GITHUB, true, () -> null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.swp391.backend.utils;
+
+import com.swp391.backend.dto.request.UpdateProfileRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubLoginTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void githubUsername_ShouldFollowGitHubLoginRule() {
+        assertTrue(isValid("alice-dev"));
+        assertTrue(isValid("A1"));
+        assertTrue(isValid(""), "empty clears the link");
+        assertTrue(isValid(null));
+
+        assertFalse(isValid("%"));
+        assertFalse(isValid("a_b"));
+        assertFalse(isValid("-alice"));
+        assertFalse(isValid("a".repeat(40)));
+    }
+
+    private boolean isValid(String githubUsername) {
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setGithubUsername(githubUsername);
+        return validator.validateProperty(request, "githubUsername").isEmpty();
+    }
+}